@@ -4,28 +4,37 @@ import android.app.AlertDialog;
 import android.content.DialogInterface;
 import android.os.Bundle;
 import android.view.View;
-import android.widget.AdapterView;
-import android.widget.ArrayAdapter;
-import android.widget.ListView;
+import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
-import java.util.ArrayList;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 
 /**
  * This class represents the activity for managing all orders in the cafe application.
  * It displays a list of all orders and allows users to cancel orders.
+ * The list is loaded a page at a time as it is scrolled, and orders placed or cancelled while the
+ * screen is open are inserted or removed one row at a time. Each row shows a one line summary of its
+ * order; the full receipt is shown when an order is picked for cancelling. Under the title, the
+ * number of orders ever placed and cancelled is read from the order archive each time the screen
+ * is shown.
  * @author Priyansh Parikh, Siddarth Seloth
  */
 public class AllOrdersActivityManager extends AppCompatActivity {
-    private ListView allOrders;
-    private static ArrayAdapter<Order> allOrdersAdapter;
+    private RecyclerView allOrders;
+    private TextView orderHistory;
+    private OrderHistoryPager pager;
+    private OrderHistoryAdapter allOrdersAdapter;
+    private final ReceiptRenderer receiptRenderer = new ReceiptRenderer();
+    private OrderSingleton.OrderListener orderListener;
 
-    private static OrderSingleton orders = OrderSingleton.getInstance();
+    private final OrderService service = CafeServices.getOrderService();
+    private final OrderSingleton orders = service.getStore();
 
     /**
      * Called when the activity is starting. Initializes the layout of the activity,
-     * sets up the ListView to display all orders, and sets listeners for canceling orders.
+     * sets up the RecyclerView to display all orders, and sets listeners for canceling orders.
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being shut down,
      *                           this Bundle contains the data it most recently supplied in onSaveInstanceState(Bundle).
@@ -37,63 +46,161 @@ public class AllOrdersActivityManager extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_all_orders);
         allOrders = findViewById(R.id.allOrders);
+        orderHistory = findViewById(R.id.orderHistory);
 
-        allOrdersAdapter = new ArrayAdapter<Order>(this, android.R.layout.simple_list_item_1, new ArrayList(orders.getOrders()));
+        pager = new OrderHistoryPager(orders, OrderHistoryPager.DEFAULT_PAGE_SIZE);
+        allOrdersAdapter = new OrderHistoryAdapter(pager, receiptRenderer);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        allOrders.setLayoutManager(layoutManager);
         allOrders.setAdapter(allOrdersAdapter);
-        storeOrdersListViewListener(allOrders);
+        pager.loadNextPage();
+        pagingScrollListener(allOrders, layoutManager);
+        storeOrdersListener();
+        storeOrdersClickListener(allOrdersAdapter);
     }
 
     /**
-     * Method to place an order. Adds the provided order to the list of orders.
-     *
-     * @param order The order to be placed.
+     * Shows the order history counts each time the activity comes to the front.
      */
-    public static void placeOrder(Order order)
-    {
-        orders.addOrder(new Order(order));
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showOrderHistory();
+    }
 
+    /**
+     * Stops listening for order changes when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        orders.removeListener(orderListener);
+        super.onDestroy();
     }
 
     /**
-     * Method to cancel an order. Removes the provided order from the list of orders
-     * and updates the ListView adapter.
+     * Method to cancel an order. Removes the provided order from the list of orders; the list
+     * drops its row when the store reports the removal, and shows it again if the store puts the
+     * order back because the cancel could not be saved.
      *
      * @param order The order to be cancelled.
      */
     public void cancelOrder(Order order)
     {
-        orders.removeOrder(order);
-        allOrdersAdapter.remove(order);
+        service.cancelOrder(order);
+    }
+
+    /**
+     * Shows how many orders the order archive holds and how many of them were cancelled. Both counts
+     * are read from the archive index without decoding any order. Nothing is shown if the archive
+     * could not be opened.
+     */
+    private void showOrderHistory()
+    {
+        OrderArchive archive = service.getArchive();
+        if (archive == null)
+        {
+            orderHistory.setVisibility(View.GONE);
+            return;
+        }
+        orderHistory.setVisibility(View.VISIBLE);
+        orderHistory.setText("History: " + archive.size() + " orders, "
+                + archive.getCancelledCount() + " cancelled");
+    }
+
+    /**
+     * Loads the next page of orders when the list is scrolled close to the last loaded order.
+     *
+     * @param storeOrders   The RecyclerView showing the orders.
+     * @param layoutManager The layout manager of the RecyclerView.
+     */
+    private void pagingScrollListener(RecyclerView storeOrders, final LinearLayoutManager layoutManager)
+    {
+        storeOrders.addOnScrollListener(new RecyclerView.OnScrollListener()
+        {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy)
+            {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (!pager.isComplete() && lastVisible >= pager.size() - pager.getPageSize() / 2)
+                {
+                    recyclerView.post(new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            pager.loadNextPage();
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Listens for orders added to or removed from the store and applies them to the list on the
+     * main thread.
+     */
+    private void storeOrdersListener()
+    {
+        orderListener = new OrderSingleton.OrderListener()
+        {
+            @Override
+            public void orderAdded(final Order order)
+            {
+                runOnUiThread(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        pager.orderAdded(order);
+                    }
+                });
+            }
+
+            @Override
+            public void orderRemoved(final Order order)
+            {
+                runOnUiThread(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        pager.orderRemoved(order);
+                    }
+                });
+            }
+        };
+        orders.addListener(orderListener);
     }
 
     /**
-     * Sets a listener for ListView items to prompt the user for confirmation when clicking on an order.
+     * Sets a listener for order rows to prompt the user for confirmation when clicking on an order.
      * If confirmed, cancels the order.
      *
-     * @param storeOrders The ListView to which the listener is attached.
+     * @param adapter The adapter showing the orders.
      */
-    private void storeOrdersListViewListener(ListView storeOrders)
+    private void storeOrdersClickListener(OrderHistoryAdapter adapter)
     {
-        storeOrders.setOnItemClickListener(new AdapterView.OnItemClickListener()
+        adapter.setOnOrderClickListener(new OrderHistoryAdapter.OnOrderClickListener()
         {
             @Override
-            public void onItemClick(AdapterView<?> adapterView, View view, int i, long l)
+            public void onOrderClick(final Order order)
             {
-                AlertDialog.Builder alert = new AlertDialog.Builder(view.getContext());
+                AlertDialog.Builder alert = new AlertDialog.Builder(AllOrdersActivityManager.this);
                 alert.setTitle("Cancel Order");
-                alert.setMessage("Confirming cancelling order");
+                alert.setMessage("Confirming cancelling order\n\n" + receiptRenderer.renderReceipt(order));
                 alert.setPositiveButton("yes", new DialogInterface.OnClickListener()
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        cancelOrder(allOrdersAdapter.getItem(i));
-                        Toast.makeText(view.getContext(), " Order cancelled.", Toast.LENGTH_LONG).show();
+                        cancelOrder(order);
+                        Toast.makeText(AllOrdersActivityManager.this, " Order cancelled.", Toast.LENGTH_LONG).show();
                     }
                 }).setNegativeButton("no", new DialogInterface.OnClickListener()
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        Toast.makeText(view.getContext(),
+                        Toast.makeText(AllOrdersActivityManager.this,
                                 " Order not cancelled.", Toast.LENGTH_LONG).show();
                     }
                 });
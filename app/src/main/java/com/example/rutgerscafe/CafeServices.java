@@ -0,0 +1,113 @@
+package com.example.rutgerscafe;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * This class holds the order service shared by the activities of the app. The service works on the
+ * shared order store and runs its placement callbacks on the main thread.
+ * The order journal and the order archive are opened on a background thread, since replaying a long
+ * history would hold up the main thread; the outcome is posted back to the main thread like the
+ * placement callbacks.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class CafeServices {
+    private static final Handler MAIN_THREAD = new Handler(Looper.getMainLooper());
+    private static final ExecutorService STORAGE = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cafe-storage");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private static OrderService orderService;
+
+    /**
+     * Receives the outcome of opening the order journal and the order archive, on the main thread.
+     */
+    public interface StorageCallback {
+
+        /**
+         * Called once the journal and the archive have been opened or have failed to open.
+         *
+         * @param journalError Why the saved orders could not be loaded, or null if they were.
+         * @param archiveError Why the order history could not be opened, or null if it was.
+         */
+        void onStorageOpened(IOException journalError, IOException archiveError);
+    }
+
+    private CafeServices() {
+    }
+
+    /**
+     * Gets the order service, creating it on first use.
+     *
+     * @return The order service.
+     */
+    public static synchronized OrderService getOrderService()
+    {
+        if (orderService == null) {
+            orderService = new OrderService(OrderSingleton.getInstance(), new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    MAIN_THREAD.post(command);
+                }
+            });
+        }
+        return orderService;
+    }
+
+    /**
+     * Opens the order journal and the order archive kept in a directory. The journal is replayed and
+     * the archive opened on a background thread; the restored cart is put back on the main thread,
+     * where the screens watch it, before the callback runs. Opening again does no work twice.
+     *
+     * @param directory The directory holding the journal and the archive.
+     * @param callback  Told on the main thread once both are open or have failed.
+     */
+    public static void openStorage(final File directory, final StorageCallback callback)
+    {
+        final OrderService service = getOrderService();
+        STORAGE.execute(new Runnable() {
+            @Override
+            public void run() {
+                final File journal = new File(directory, "orders.journal");
+                IOException replayError = null;
+                IOException archiveError = null;
+                try {
+                    service.getStore().openJournal(journal);
+                } catch (IOException e) {
+                    replayError = e;
+                }
+                try {
+                    service.openArchive(new File(directory, "orders.archive"));
+                } catch (IOException e) {
+                    archiveError = e;
+                }
+                final IOException journalFailure = replayError;
+                final IOException archiveFailure = archiveError;
+                MAIN_THREAD.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        IOException journalError = journalFailure;
+                        if (journalError == null) {
+                            try {
+                                service.openJournal(journal);
+                            } catch (IOException e) {
+                                journalError = e;
+                            }
+                        }
+                        callback.onStorageOpened(journalError, archiveFailure);
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.rutgerscafe;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a RecyclerView adapter that shows the menu items of the current order.
+ * Every row gets an id when its item is added, so rows keep their id while items before them are
+ * added or removed. Items added or removed are passed on as single inserts and removals, so only the
+ * changed row is laid out again.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class CartAdapter extends RecyclerView.Adapter<CartAdapter.ViewHolder> {
+    private final List<Long> itemIds = new ArrayList<>();
+    private Order order;
+    private long nextItemId;
+    private OnItemClickListener onItemClickListener;
+
+    /**
+     * Receives clicks on a menu item row.
+     */
+    public interface OnItemClickListener {
+
+        /**
+         * Called when a menu item row is clicked.
+         *
+         * @param position The position of the clicked item.
+         */
+        void onItemClick(int position);
+    }
+
+    /**
+     * Constructor for the CartAdapter.
+     *
+     * @param order The order whose items are shown.
+     */
+    public CartAdapter(Order order) {
+        setHasStableIds(true);
+        this.order = order;
+        for (int i = 0; i < order.getMenuItems().size(); i++) {
+            itemIds.add(nextItemId++);
+        }
+    }
+
+    /**
+     * Shows a different order, removing the rows of the old one and inserting the rows of the new one.
+     *
+     * @param order The order to show.
+     */
+    public void setOrder(Order order) {
+        int removed = itemIds.size();
+        itemIds.clear();
+        this.order = order;
+        if (removed > 0) {
+            notifyItemRangeRemoved(0, removed);
+        }
+        int added = order.getMenuItems().size();
+        for (int i = 0; i < added; i++) {
+            itemIds.add(nextItemId++);
+        }
+        if (added > 0) {
+            notifyItemRangeInserted(0, added);
+        }
+    }
+
+    /**
+     * Inserts the row of a menu item added to the order.
+     *
+     * @param position The position of the added item.
+     */
+    public void itemAdded(int position) {
+        itemIds.add(position, nextItemId++);
+        notifyItemInserted(position);
+    }
+
+    /**
+     * Removes the row of a menu item removed from the order.
+     *
+     * @param position The position the item had.
+     */
+    public void itemRemoved(int position) {
+        itemIds.remove(position);
+        notifyItemRemoved(position);
+    }
+
+    /**
+     * Sets the listener told when a menu item row is clicked.
+     *
+     * @param onItemClickListener The listener.
+     */
+    public void setOnItemClickListener(OnItemClickListener onItemClickListener) {
+        this.onItemClickListener = onItemClickListener;
+    }
+
+    /**
+     * Called when RecyclerView needs a new viewHolder to represent a menu item.
+     *
+     * @param parent   The ViewGroup into which the new View will be added.
+     * @param viewType The view type of the new View.
+     * @return A new ViewHolder for a menu item row.
+     */
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View itemView = LayoutInflater.from(parent.getContext())
+                .inflate(android.R.layout.simple_list_item_1, parent, false);
+        return new ViewHolder(itemView);
+    }
+
+    /**
+     * Called by RecyclerView to show the menu item at the given position.
+     *
+     * @param holder   The ViewHolder to update.
+     * @param position The position of the menu item.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.text.setText(order.getMenuItems().get(position).toString());
+    }
+
+    /**
+     * Gets the number of menu items in the order.
+     *
+     * @return The number of rows.
+     */
+    @Override
+    public int getItemCount() {
+        return itemIds.size();
+    }
+
+    /**
+     * Gets the stable id of a row, given to its item when it was added.
+     *
+     * @param position The position of the menu item.
+     * @return The row id.
+     */
+    @Override
+    public long getItemId(int position) {
+        return itemIds.get(position);
+    }
+
+    /**
+     * ViewHolder class for holding the text view of a menu item row.
+     */
+    public class ViewHolder extends RecyclerView.ViewHolder {
+        private final TextView text;
+
+        /**
+         * Constructor for the ViewHolder class.
+         *
+         * @param itemView The root view of the menu item row.
+         */
+        public ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            text = itemView.findViewById(android.R.id.text1);
+            itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    int position = getAdapterPosition();
+                    if (onItemClickListener != null && position != RecyclerView.NO_POSITION) {
+                        onItemClickListener.onItemClick(position);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -1,33 +1,38 @@
 package com.example.rutgerscafe;
 
 import android.app.AlertDialog;
+import android.content.Context;
 import android.content.DialogInterface;
 import android.os.Bundle;
 import android.view.View;
-import android.widget.AdapterView;
-import android.widget.ArrayAdapter;
 import android.widget.Button;
-import android.widget.ListView;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
-import java.util.Collection;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the activity for managing the current order in the cafe application.
- * It allows users to add items to the order, cancel items from the order, and place the order.
+ * It allows users to cancel items from the order and place the order. The order is the cart of the
+ * order service, which records every change to it in the order journal.
+ * The list and the cost labels follow the order's item events, so adding or cancelling an item
+ * updates one row and the three labels instead of rebuilding the list.
  * @author Priyansh Parikh, Siddarth Seloth
  */
 public class CurrentOrderActivityManager extends AppCompatActivity {
-    private ListView orders;
-    private static ArrayAdapter<MenuItem> adapter;
-    private static Order order = new Order();
+    private RecyclerView orders;
+    private CartAdapter adapter;
+    private final OrderService service = CafeServices.getOrderService();
+    private Order order;
     private TextView orderSubtotal, salesTax, total;
+    private final CurrencyFormat currencyFormat = new CurrencyFormat();
     private Button placeOrder;
 
     /**
      * Called when the activity is starting. Initializes the layout of the activity,
-     * sets up the ListView to display the current order, and sets listeners for managing the order.
+     * sets up the RecyclerView to display the current order, and sets listeners for managing the order.
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being shut down,
      *                           this Bundle contains the data it most recently supplied in onSaveInstanceState(Bundle).
@@ -39,35 +44,49 @@ public class CurrentOrderActivityManager extends AppCompatActivity {
         setContentView(R.layout.activity_current_order);
         initializeFields();
 
-        adapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, order.getMenuItems());
+        order = service.getCart();
+        adapter = new CartAdapter(order);
+        orders.setLayoutManager(new LinearLayoutManager(this));
         orders.setAdapter(adapter);
-        manageListView(orders);
+        manageListView(adapter);
         placeOrderButtonListener(placeOrder);
+        listenToOrder(order);
         updateOrderCosts();
 
     }
 
     /**
-     * Adds menu items to the current order.
-     *
-     * @param orderItems The collection of menu items to add to the order.
+     * Stops listening to the current order when the activity is destroyed.
      */
-    public static void addToOrder(Collection<? extends MenuItem> orderItems)
-    {
-        addToOrder(orderItems.toArray(new MenuItem[0]));
+    @Override
+    protected void onDestroy() {
+        order.setItemListener(null);
+        super.onDestroy();
     }
 
     /**
-     * Adds to items ListView based on passed in MenuItems array
-     * @param orderItems - Array of MenuItems
+     * Keeps the list and the cost labels in step with the items added to and removed from an order.
+     *
+     * @param current The order to listen to.
      */
-    public static void addToOrder(MenuItem... orderItems) {
-        for (MenuItem orderItem : orderItems) {
-            if (orderItem != null) {
-                order.addMenuItem(orderItem);
+    private void listenToOrder(Order current)
+    {
+        current.setItemListener(new Order.ItemListener()
+        {
+            @Override
+            public void onItemAdded(int position, MenuItem menuItem)
+            {
+                adapter.itemAdded(position);
+                updateOrderCosts();
+            }
 
+            @Override
+            public void onItemRemoved(int position, MenuItem menuItem)
+            {
+                adapter.itemRemoved(position);
+                updateOrderCosts();
             }
-        }
+        });
     }
 
     /**
@@ -75,51 +94,49 @@ public class CurrentOrderActivityManager extends AppCompatActivity {
      */
     private void updateOrderCosts()
     {
-        orderSubtotal.setText(MainActivity.formatPrice(order.getOrderSubTotal()));
-        salesTax.setText(MainActivity.formatPrice(order.getSalesTax()));
-        total.setText(MainActivity.formatPrice(order.getTotal()));
+        orderSubtotal.setText(currencyFormat.format(order.getOrderSubTotalCents()));
+        salesTax.setText(currencyFormat.format(order.getSalesTaxCents()));
+        total.setText(currencyFormat.format(order.getTotalCents()));
     }
 
     /**
-     * Cancels an item from the current order.
+     * Cancels an item from the current order. The list and the costs are updated by the order's
+     * item listener.
      *
-     * @param item The item to cancel.
+     * @param position The position of the item to cancel.
      */
-    public void cancelItem(MenuItem item)
+    public void cancelItem(int position)
     {
-        if(item == null) return;
-        order.removeMenuItem(item);
-        adapter.remove(item);
+        service.removeFromCart(position);
     }
 
     /**
-     * Sets a listener for ListView items to prompt the user for confirmation when canceling an item.
+     * Sets a listener for item rows to prompt the user for confirmation when canceling an item.
      *
-     * @param orders The ListView to which the listener is attached.
+     * @param cart The adapter showing the items.
      */
-    private void manageListView(ListView orders)
+    private void manageListView(CartAdapter cart)
     {
-        orders.setOnItemClickListener(new AdapterView.OnItemClickListener()
+        cart.setOnItemClickListener(new CartAdapter.OnItemClickListener()
         {
             @Override
-            public void onItemClick(AdapterView<?> adapterView, View view, int i, long l)
+            public void onItemClick(final int i)
             {
-                AlertDialog.Builder alert = new AlertDialog.Builder(view.getContext());
+                AlertDialog.Builder alert = new AlertDialog.Builder(CurrentOrderActivityManager.this);
                 alert.setTitle("Cancel Item");
                 alert.setMessage("Confirming cancelling item");
                 alert.setPositiveButton("yes", new DialogInterface.OnClickListener()
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        cancelItem(adapter.getItem(i));
-                        updateOrderCosts();
-                        Toast.makeText(view.getContext(), " Item cancelled.", Toast.LENGTH_LONG).show();
+                        cancelItem(i);
+                        Toast.makeText(CurrentOrderActivityManager.this, " Item cancelled.", Toast.LENGTH_LONG).show();
                     }
                 }).setNegativeButton("no", new DialogInterface.OnClickListener()
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        Toast.makeText(view.getContext(),
+                        Toast.makeText(CurrentOrderActivityManager.this,
                                 " Item not cancelled.", Toast.LENGTH_LONG).show();
                     }
                 });
@@ -141,7 +158,7 @@ public class CurrentOrderActivityManager extends AppCompatActivity {
             @Override
             public void onClick(View view)
             {
-                if(adapter.isEmpty())
+                if(order.getMenuItems().isEmpty())
                 {
                     Toast.makeText(view.getContext(), " No orders to be placed.", Toast.LENGTH_LONG).show();
                     return;
@@ -153,10 +170,13 @@ public class CurrentOrderActivityManager extends AppCompatActivity {
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        Order existingOrder = new Order(order);
-                        AllOrdersActivityManager.placeOrder(existingOrder);
+                        if (!service.placeCart(placementCallback()))
+                        {
+                            Toast.makeText(view.getContext(), " Too many orders waiting, try again.", Toast.LENGTH_LONG).show();
+                            return;
+                        }
                         resetOrder();
-                        Toast.makeText(view.getContext(), " Order placed.", Toast.LENGTH_SHORT).show();
+                        Toast.makeText(view.getContext(), " Placing order.", Toast.LENGTH_SHORT).show();
                     }
                 }).setNegativeButton("no", new DialogInterface.OnClickListener()
                 {
@@ -172,6 +192,32 @@ public class CurrentOrderActivityManager extends AppCompatActivity {
         });
     }
 
+    /**
+     * Creates the callback that reports a placed order, with the time it took to become durable.
+     *
+     * @return The placement callback.
+     */
+    private OrderPipeline.Callback placementCallback()
+    {
+        final Context context = getApplicationContext();
+        return new OrderPipeline.Callback()
+        {
+            @Override
+            public void onPlaced(Order placed, long latencyNanos)
+            {
+                Toast.makeText(context, " Order #" + placed.getOrderNumber() + " placed in "
+                        + TimeUnit.NANOSECONDS.toMillis(latencyNanos) + " ms.", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onFailed(Order failed, Throwable error)
+            {
+                Toast.makeText(context, " Order #" + failed.getOrderNumber() + " not placed: "
+                        + error.getMessage(), Toast.LENGTH_LONG).show();
+            }
+        };
+    }
+
     /**
      * Initializes the views used in the activity.
      */
@@ -185,13 +231,13 @@ public class CurrentOrderActivityManager extends AppCompatActivity {
     }
 
     /**
-     * Resets the current order.
+     * Shows the new, empty cart the service started after the order was placed.
      */
     public void resetOrder()
     {
-        order = new Order();
-        adapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, order.getMenuItems()); // Create a new adapter with the updated order
-        orders.setAdapter(adapter);
+        order = service.getCart();
+        adapter.setOrder(order);
+        listenToOrder(order);
         updateOrderCosts();
     }
 
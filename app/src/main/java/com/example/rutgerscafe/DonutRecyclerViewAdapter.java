@@ -1,5 +1,6 @@
 package com.example.rutgerscafe;
 
+import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,7 +13,6 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * This class is a RecyclerView adapter for displaying a list of donuts with their flavors, prices,
@@ -20,8 +20,10 @@ import java.util.Locale;
  * @author Priyansh Parikh, Siddarth Seloth
  */
 public class DonutRecyclerViewAdapter extends RecyclerView.Adapter<DonutRecyclerViewAdapter.ViewHolder> {
+    private static int[] flavorImages;
     private List<Donut> donuts;
     private TextView subtotalTextView;
+    private final CurrencyFormat currencyFormat = new CurrencyFormat();
 
     /**
      * Constructor for the DonutRecyclerViewAdapter.
@@ -61,7 +63,7 @@ public class DonutRecyclerViewAdapter extends RecyclerView.Adapter<DonutRecycler
         Donut donut = donuts.get(position);
         holder.bind(donut);
 
-        int imageResource = getImageResourceForDonut(donut);
+        int imageResource = getImageResourceForDonut(holder.itemView.getContext(), donut);
         holder.donut_Item.setImageResource(imageResource);
     }
 
@@ -104,7 +106,7 @@ public class DonutRecyclerViewAdapter extends RecyclerView.Adapter<DonutRecycler
          */
         public void bind(Donut donut) {
             d_flavor.setText(donut.getFlavor());
-            d_price.setText(String.format(Locale.US, "$%.2f", donut.getBasePrice()));
+            d_price.setText(currencyFormat.format("$", donut.getBasePriceCents()));
             setupSpinner(quantitySpinner, donut);
         }
 
@@ -151,66 +153,48 @@ public class DonutRecyclerViewAdapter extends RecyclerView.Adapter<DonutRecycler
          * Updates the subtotal text view based on the current order.
          */
         private void updateSubtotal() {
-            double subtotal = calculateSubtotal();
-            subtotalTextView.setText(String.format(Locale.US, "Subtotal: $%.2f", subtotal));
+            long subtotal = calculateSubtotalCents();
+            subtotalTextView.setText(currencyFormat.format("Subtotal: $", subtotal));
         }
 
 
         /**
-         * Calculates the subtotal of the current order.
+         * Calculates the subtotal of the current order in cents.
          *
-         * @return The subtotal.
+         * @return The subtotal in cents.
          */
-        private double calculateSubtotal() {
-            double subtotal = 0.0;
+        private long calculateSubtotalCents() {
+            long subtotal = 0;
             for (Donut donut : donuts) {
-                subtotal += donut.price();
+                subtotal += donut.priceCents();
             }
             return subtotal;
         }
     }
 
     /**
-     * Retrieves the drawable resource ID for the donut image based on its flavor.
+     * Retrieves the drawable resource ID for the donut image based on its flavor. The drawable names
+     * given by the menu are looked up once and kept in a table indexed by flavor.
      *
-     * @param donut The donut object.
+     * @param context The context used to look up drawables.
+     * @param donut   The donut object.
      * @return The drawable resource ID.
      */
-    private int getImageResourceForDonut(Donut donut) {
-        String donutFlavor = donut.getFlavor().toLowerCase();
-
-        switch (donutFlavor) {
-            case "boston cream":
-                return R.drawable.boston_cream;
-            case "glazed":
-                return R.drawable.glazed;
-            case "jelly":
-                return R.drawable.jelly_donut;
-            case "apple crumble":
-                return R.drawable.apple_crumble;
-            case "cinnamon":
-                return R.drawable.cinnamon_donut;
-            case "maple frosted":
-                return R.drawable.maple_frosted;
-            case "strawberry frosted":
-                return R.drawable.strawberry_frosted;
-            case "vanilla frosted":
-                return R.drawable.vanilla_frosted;
-            case "chocolate frosted":
-                return R.drawable.chocolate_frosted;
-            case "jelly holes":
-                return R.drawable.jelly_holes;
-            case "glazed holes":
-                return R.drawable.glazed_holes;
-            case "powdered holes":
-                return R.drawable.powdered_holes;
-            default:
-            return 0;
+    private static int getImageResourceForDonut(Context context, Donut donut) {
+        if (flavorImages == null) {
+            MenuCatalog menu = MenuCatalog.get();
+            DonutFlavor[] flavors = DonutFlavor.values();
+            int[] images = new int[flavors.length];
+            for (DonutFlavor flavor : flavors) {
+                String name = menu.getImageName(flavor);
+                if (name != null) {
+                    images[flavor.ordinal()] = context.getResources().getIdentifier(name, "drawable",
+                            context.getPackageName());
+                }
+            }
+            flavorImages = images;
         }
+        return flavorImages[donut.getDonutFlavor().ordinal()];
     }
-
-
-
-
 }
 
@@ -1,12 +1,15 @@
 package com.example.rutgerscafe;
 
-import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ImageButton;
+import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.PrintWriter;
 
 /**
  * This class connects all the activities together from the main page and makes sure that
@@ -14,9 +17,11 @@ import androidx.appcompat.app.AppCompatActivity;
  * @author Priyansh Parikh, Siddarth Seloth
  */
 public class MainActivity extends AppCompatActivity {
+    private static final int DUMPED_ROWS = 10;
 
     private ImageButton orderDonuts, orderCoffee, orderSandwich;
     private Button currentOrder, allOrders;
+    private final OrderService service = CafeServices.getOrderService();
 
     /**
      * Links all button of GUI to go the respective activities when button clicked
@@ -28,6 +33,7 @@ public class MainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
         initViews();
+        openOrderJournal();
 
 
         orderDonuts.setOnClickListener(new View.OnClickListener()
@@ -80,14 +86,81 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * Gives the formatted cost of a menu item
-     * @param value - double representing cost
-     * @return - String representing the formatted cost
+     * Adds the ordering metrics, the size of the order archive and its latest rows to the activity's
+     * dumpsys output, so the latencies and recent orders of a running register can be read with
+     * adb shell dumpsys activity com.example.rutgerscafe.
+     *
+     * @param prefix Text to put before each line.
+     * @param fd     The raw file descriptor the dump is written to.
+     * @param writer The writer the dump is written to.
+     * @param args   Extra arguments of the dump request.
      */
-    @SuppressLint("DefaultLocale")
-    public static String formatPrice(double value)
+    @Override
+    public void dump(String prefix, FileDescriptor fd, PrintWriter writer, String[] args)
+    {
+        super.dump(prefix, fd, writer, args);
+        writer.print(prefix);
+        writer.println("Ordering metrics:");
+        for (String line : MetricsRegistry.getInstance().dump().split("\n"))
+        {
+            writer.print(prefix);
+            writer.print("  ");
+            writer.println(line);
+        }
+        OrderArchive orderArchive = service.getArchive();
+        if (orderArchive != null)
+        {
+            writer.print(prefix);
+            writer.println("Order archive: " + orderArchive.size() + " orders, "
+                    + orderArchive.getCancelledCount() + " cancelled");
+            int size = orderArchive.size();
+            for (int position = size - 1; position >= Math.max(0, size - DUMPED_ROWS); position--)
+            {
+                StringBuilder row = new StringBuilder(prefix).append("  ");
+                orderArchive.appendRow(row, position);
+                if (orderArchive.isCancelled(position)) row.append(" (cancelled)");
+                writer.println(row);
+            }
+        }
+    }
+
+    /**
+     * Restores the placed orders and the cart from the order journal in the app's files directory,
+     * and opens the order archive that keeps the history of placed orders there. Both are opened in
+     * the background; the ordering buttons stay disabled until the cart has been restored, so no item
+     * is added to a cart that is not recorded yet
+     */
+    private void openOrderJournal()
+    {
+        setOrderingEnabled(false);
+        CafeServices.openStorage(getFilesDir(), new CafeServices.StorageCallback()
+        {
+            @Override
+            public void onStorageOpened(IOException journalError, IOException archiveError)
+            {
+                if (isDestroyed()) return;
+                if (journalError != null) {
+                    Toast.makeText(MainActivity.this, " Saved orders could not be loaded.", Toast.LENGTH_LONG).show();
+                }
+                if (archiveError != null) {
+                    Toast.makeText(MainActivity.this, " Order history could not be opened.", Toast.LENGTH_LONG).show();
+                }
+                setOrderingEnabled(true);
+            }
+        });
+    }
+
+    /**
+     * Enables or disables the buttons that lead to the ordering screens
+     * @param enabled - true to let orders be taken
+     */
+    private void setOrderingEnabled(boolean enabled)
     {
-        return String.format("%1$.2f", value);
+        orderDonuts.setEnabled(enabled);
+        orderCoffee.setEnabled(enabled);
+        orderSandwich.setEnabled(enabled);
+        currentOrder.setEnabled(enabled);
+        allOrders.setEnabled(enabled);
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.example.rutgerscafe;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * This class is a RecyclerView adapter that shows the orders loaded by an OrderHistoryPager.
+ * Rows are only built for the orders on screen, and changes from the pager are passed on as
+ * single inserts and removals so the rest of the list is left alone. Row text comes from a
+ * ReceiptRenderer, so binding a row again for an unchanged order reuses the text rendered before.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderHistoryAdapter extends RecyclerView.Adapter<OrderHistoryAdapter.ViewHolder> {
+    private final OrderHistoryPager pager;
+    private final ReceiptRenderer renderer;
+    private OnOrderClickListener onOrderClickListener;
+
+    /**
+     * Receives clicks on an order row.
+     */
+    public interface OnOrderClickListener {
+
+        /**
+         * Called when an order row is clicked.
+         *
+         * @param order The clicked order.
+         */
+        void onOrderClick(Order order);
+    }
+
+    /**
+     * Constructor for the OrderHistoryAdapter.
+     *
+     * @param pager    The pager holding the loaded orders.
+     * @param renderer Renders the row text of the orders.
+     */
+    public OrderHistoryAdapter(OrderHistoryPager pager, ReceiptRenderer renderer) {
+        this.pager = pager;
+        this.renderer = renderer;
+        setHasStableIds(true);
+        pager.setListener(new OrderHistoryPager.Listener() {
+            @Override
+            public void onInserted(int position, int count) {
+                notifyItemRangeInserted(position, count);
+            }
+
+            @Override
+            public void onRemoved(int position) {
+                notifyItemRemoved(position);
+            }
+        });
+    }
+
+    /**
+     * Sets the listener told when an order row is clicked.
+     *
+     * @param onOrderClickListener The listener.
+     */
+    public void setOnOrderClickListener(OnOrderClickListener onOrderClickListener) {
+        this.onOrderClickListener = onOrderClickListener;
+    }
+
+    /**
+     * Called when RecyclerView needs a new viewHolder to represent an order.
+     *
+     * @param parent   The ViewGroup into which the new View will be added.
+     * @param viewType The view type of the new View.
+     * @return A new ViewHolder for an order row.
+     */
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View itemView = LayoutInflater.from(parent.getContext())
+                .inflate(android.R.layout.simple_list_item_1, parent, false);
+        return new ViewHolder(itemView);
+    }
+
+    /**
+     * Called by RecyclerView to show the order at the given position.
+     *
+     * @param holder   The ViewHolder to update.
+     * @param position The position of the order.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.bind(pager.get(position));
+    }
+
+    /**
+     * Gets the number of orders loaded so far.
+     *
+     * @return The number of rows.
+     */
+    @Override
+    public int getItemCount() {
+        return pager.size();
+    }
+
+    /**
+     * Gets the stable id of a row, which is its order number.
+     *
+     * @param position The position of the order.
+     * @return The order number.
+     */
+    @Override
+    public long getItemId(int position) {
+        return pager.get(position).getOrderNumber();
+    }
+
+    /**
+     * ViewHolder class for holding the text view of an order row.
+     */
+    public class ViewHolder extends RecyclerView.ViewHolder {
+        private final TextView text;
+        private Order order;
+
+        /**
+         * Constructor for the ViewHolder class.
+         *
+         * @param itemView The root view of the order row.
+         */
+        public ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            text = itemView.findViewById(android.R.id.text1);
+            itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    if (onOrderClickListener != null && order != null) {
+                        onOrderClickListener.onOrderClick(order);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Shows an order in the row.
+         *
+         * @param order The order to show.
+         */
+        public void bind(Order order) {
+            this.order = order;
+            text.setText(renderer.renderRow(order));
+        }
+    }
+}
@@ -15,7 +15,6 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 
 
 /**
@@ -35,7 +34,10 @@ public class OrderingCoffee extends AppCompatActivity {
 
     private Coffee coffee;
     private CheckBox[] addIns;
-    private final String[] sizes = {"Short", "Tall", "Grande", "Venti"};
+    private final MenuCatalog menu = MenuCatalog.get();
+    private final CurrencyFormat currencyFormat = new CurrencyFormat();
+    private static final AddIn[] COFFEE_ADD_INS = {AddIn.MOCHA, AddIn.FRENCH_VANILLA, AddIn.IRISH_CREAM,
+            AddIn.SWEET_CREAM, AddIn.CARAMEL};
     private final List<Integer> quantities = Arrays.asList(1, 2, 3, 4, 5);
 
     /**
@@ -54,9 +56,15 @@ public class OrderingCoffee extends AppCompatActivity {
         setContentView(R.layout.activity_ordering_coffee);
         initializeFields();
         addIns = new CheckBox[]{mocha,frenchVanilla,irishCream,sweetCream,caramel};
-        size.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, sizes));
+        for (int i = 0; i < addIns.length; i++) {
+            if (!menu.isCoffeeAddIn(COFFEE_ADD_INS[i])) {
+                addIns[i].setVisibility(View.GONE);
+            }
+        }
+        size.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, menu.getCupSizes()));
         qty.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, quantities));
-        coffee = new Coffee((String) size.getSelectedItem(), 0,Integer.parseInt(String.valueOf(qty.getSelectedItem())));
+        coffee = new Coffee((CupSize) size.getSelectedItem(), (Integer) qty.getSelectedItem());
+        coffee_subTotalEditText.setText(currencyFormat.format("$", coffee.priceCents()));
         spinnerListeners(size,  qty);
         addCoffeeButtonHandler(addCoffeeToOrder);
     }
@@ -74,8 +82,6 @@ public class OrderingCoffee extends AppCompatActivity {
         frenchVanilla = findViewById(R.id.frenchVanilla);
         irishCream = findViewById(R.id.tomato);
         caramel = findViewById(R.id.lettuce);
-        coffee_subTotalEditText.setText(String.format(Locale.US, "$%.2f", 1.99));
-
     }
 
     /**
@@ -83,21 +89,21 @@ public class OrderingCoffee extends AppCompatActivity {
      *
      * @param view The checkbox view that triggered the listener.
      */
-    @SuppressLint("DefaultLocale")
     public void checkBoxListener(View view)
     {
-        for (CheckBox addIn : this.addIns)
+        for (int i = 0; i < this.addIns.length; i++)
         {
+            if (this.addIns[i] != view) continue;
             if(((CheckBox) view).isChecked())
             {
-                coffee.addAddIn((String) ((CheckBox) view).getText());
+                coffee.addAddIn(COFFEE_ADD_INS[i]);
             }
             else
             {
-                coffee.removeAddIn((String) ((CheckBox) view).getText());
+                coffee.removeAddIn(COFFEE_ADD_INS[i]);
             }
         }
-        coffee_subTotalEditText.setText(String.format(Locale.US, "$%.2f", coffee.price()));
+        coffee_subTotalEditText.setText(currencyFormat.format("$", coffee.priceCents()));
     }
 
     /**
@@ -106,8 +112,8 @@ public class OrderingCoffee extends AppCompatActivity {
     void selectSize()
     {
         if (size == null) return;
-        coffee.setCupSize((String) size.getSelectedItem());
-        coffee_subTotalEditText.setText(String.format(Locale.US, "$%.2f", coffee.price()));
+        coffee.setCupSize((CupSize) size.getSelectedItem());
+        coffee_subTotalEditText.setText(currencyFormat.format("$", coffee.priceCents()));
     }
 
     /**
@@ -117,7 +123,7 @@ public class OrderingCoffee extends AppCompatActivity {
     {
         if (qty == null) return;
         coffee.setQuantity((Integer) qty.getSelectedItem());
-        coffee_subTotalEditText.setText(String.format(Locale.US, "$%.2f", coffee.price()));
+        coffee_subTotalEditText.setText(currencyFormat.format("$", coffee.priceCents()));
     }
 
     /**
@@ -157,8 +163,8 @@ public class OrderingCoffee extends AppCompatActivity {
     {
         qty.setSelection(0);
         size.setSelection(0);
-        coffee = new Coffee((String) size.getSelectedItem(), 0,Integer.parseInt(String.valueOf(qty.getSelectedItem())));
-        coffee_subTotalEditText.setText(String.format(Locale.US, "$%.2f", coffee.price()));
+        coffee = new Coffee((CupSize) size.getSelectedItem(), (Integer) qty.getSelectedItem());
+        coffee_subTotalEditText.setText(currencyFormat.format("$", coffee.priceCents()));
         sweetCream.setChecked(false);
         caramel.setChecked(false);
         mocha.setChecked(false);
@@ -186,7 +192,7 @@ public class OrderingCoffee extends AppCompatActivity {
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        CurrentOrderActivityManager.addToOrder(new Coffee(coffee));
+                        CafeServices.getOrderService().addToCart(new Coffee(coffee));
                         reset();
                         Toast.makeText(view.getContext(), " Order added.", Toast.LENGTH_SHORT).show();
                     }
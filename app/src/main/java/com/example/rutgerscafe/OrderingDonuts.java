@@ -25,7 +25,7 @@ public class OrderingDonuts extends AppCompatActivity {
     private TextView subtotalTextView;
     private DonutRecyclerViewAdapter adapter;
     private Button addToOrder;
-    private static ArrayList<Donut> donuts = new ArrayList<>();
+    private final List<Donut> donuts = new ArrayList<>();
 
     /**
      * Called when the activity is starting. Initializes the layout of the activity,
@@ -45,18 +45,9 @@ public class OrderingDonuts extends AppCompatActivity {
         addToOrder = findViewById(R.id.addToOrder);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
 
-        donuts.add(new Donut("boston cream", 1.79));
-        donuts.add(new Donut("glazed", 1.79));
-        donuts.add(new Donut("jelly", 1.79));
-        donuts.add(new Donut("apple crumble", 1.79));
-        donuts.add(new Donut("cinnamon", 1.79));
-        donuts.add(new Donut("maple frosted", 1.79));
-        donuts.add(new Donut("strawberry frosted", 1.89));
-        donuts.add(new Donut("vanilla frosted", 1.89));
-        donuts.add(new Donut("chocolate frosted", 1.89));
-        donuts.add(new Donut("jelly holes", 0.39));
-        donuts.add(new Donut("glazed holes", 0.39));
-        donuts.add(new Donut("powdered holes", 0.39));
+        for (DonutFlavor flavor : MenuCatalog.get().getDonutFlavors()) {
+            donuts.add(new Donut(flavor));
+        }
 
         LinearLayoutManager layoutManager = new LinearLayoutManager(this);
         recyclerView.setLayoutManager(layoutManager);
@@ -101,7 +92,7 @@ public class OrderingDonuts extends AppCompatActivity {
                         selectedDonuts.add(new Donut(donut));
                     }
                 }
-                CurrentOrderActivityManager.addToOrder(selectedDonuts);
+                CafeServices.getOrderService().addToCart(selectedDonuts);
 
                 for (Donut donut : donuts) {
                     donut.setQuantity(0);
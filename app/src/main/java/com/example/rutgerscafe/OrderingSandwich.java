@@ -13,7 +13,6 @@ import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
-import java.util.Locale;
 
 /**
  * This class represents the activity for ordering sandwiches in the cafe application.
@@ -29,8 +28,9 @@ public class OrderingSandwich extends AppCompatActivity {
 
     private Sandwich sandwich;
     private CheckBox[] addIns;
-    private final String[] breads = {"Bagel", "Wheat Bread", "Sour Dough"};
-    private final String[] proteins = {"beef", "Chicken", "Fish"};
+    private final MenuCatalog menu = MenuCatalog.get();
+    private final CurrencyFormat currencyFormat = new CurrencyFormat();
+    private static final AddIn[] SANDWICH_ADD_ONS = {AddIn.LETTUCE, AddIn.TOMATO, AddIn.ONION, AddIn.CHEESE};
 
     /**
      * Called when the activity is starting. This is where most initialization should go:
@@ -48,9 +48,15 @@ public class OrderingSandwich extends AppCompatActivity {
         setContentView(R.layout.activity_ordering_sandwich);
         initializeFields();
         addIns = new CheckBox[]{lettuce, tomato, onion, cheese};
-        breadType.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, breads));
-        protein.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, proteins));
-        sandwich = new Sandwich((String) protein.getSelectedItem(), (String) breadType.getSelectedItem());
+        for (int i = 0; i < addIns.length; i++) {
+            if (!menu.isSandwichAddOn(SANDWICH_ADD_ONS[i])) {
+                addIns[i].setVisibility(View.GONE);
+            }
+        }
+        breadType.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, menu.getBreads()));
+        protein.setAdapter(new ArrayAdapter<>(this, androidx.appcompat.R.layout.support_simple_spinner_dropdown_item, menu.getProteins()));
+        sandwich = new Sandwich((Protein) protein.getSelectedItem(), (Bread) breadType.getSelectedItem());
+        sandwich_subTotalEditText.setText(currencyFormat.format("$", sandwich.priceCents()));
         spinnerListeners(breadType,  protein);
         addSandwichToOrder(addSandwichToOrder);
     }
@@ -67,8 +73,6 @@ public class OrderingSandwich extends AppCompatActivity {
         onion = findViewById(R.id.onion);
         tomato = findViewById(R.id.tomato);
         lettuce = findViewById(R.id.lettuce);
-        sandwich_subTotalEditText.setText(String.format(Locale.US, "$%.2f", 10.99));
-
     }
 
     /**
@@ -76,21 +80,21 @@ public class OrderingSandwich extends AppCompatActivity {
      *
      * @param view The checkbox view that triggered the listener.
      */
-    @SuppressLint("DefaultLocale")
     public void checkBoxListener(View view)
     {
-        for (CheckBox addIn : this.addIns)
+        for (int i = 0; i < this.addIns.length; i++)
         {
+            if (this.addIns[i] != view) continue;
             if(((CheckBox) view).isChecked())
             {
-                sandwich.addAddOn((String) ((CheckBox) view).getText());
+                sandwich.addAddOn(SANDWICH_ADD_ONS[i]);
             }
             else
             {
-                sandwich.removeAddOn((String) ((CheckBox) view).getText());
+                sandwich.removeAddOn(SANDWICH_ADD_ONS[i]);
             }
         }
-        sandwich_subTotalEditText.setText(String.format(Locale.US, "$%.2f", sandwich.price()));
+        sandwich_subTotalEditText.setText(currencyFormat.format("$", sandwich.priceCents()));
     }
 
     /**
@@ -99,8 +103,8 @@ public class OrderingSandwich extends AppCompatActivity {
     void selectBread()
     {
         if (breadType == null) return;
-        sandwich.setBread((String) breadType.getSelectedItem());
-        sandwich_subTotalEditText.setText(String.format(Locale.US, "$%.2f", sandwich.price()));
+        sandwich.setBread((Bread) breadType.getSelectedItem());
+        sandwich_subTotalEditText.setText(currencyFormat.format("$", sandwich.priceCents()));
     }
 
     /**
@@ -109,8 +113,8 @@ public class OrderingSandwich extends AppCompatActivity {
     void selectProtein()
     {
         if (protein == null) return;
-        sandwich.setProtein((String) protein.getSelectedItem());
-        sandwich_subTotalEditText.setText(String.format(Locale.US, "$%.2f", sandwich.price()));
+        sandwich.setProtein((Protein) protein.getSelectedItem());
+        sandwich_subTotalEditText.setText(currencyFormat.format("$", sandwich.priceCents()));
     }
 
 
@@ -151,8 +155,8 @@ public class OrderingSandwich extends AppCompatActivity {
     {
         breadType.setSelection(0);
         protein.setSelection(0);
-        sandwich = new Sandwich((String) protein.getSelectedItem(), (String) breadType.getSelectedItem());
-        sandwich_subTotalEditText.setText(String.format(Locale.US, "$%.2f", sandwich.price()));
+        sandwich = new Sandwich((Protein) protein.getSelectedItem(), (Bread) breadType.getSelectedItem());
+        sandwich_subTotalEditText.setText(currencyFormat.format("$", sandwich.priceCents()));
         lettuce.setChecked(false);
         tomato.setChecked(false);
         onion.setChecked(false);
@@ -179,7 +183,7 @@ public class OrderingSandwich extends AppCompatActivity {
                 {
                     public void onClick(DialogInterface dialog, int which)
                     {
-                        CurrentOrderActivityManager.addToOrder(new Sandwich(sandwich));
+                        CafeServices.getOrderService().addToCart(new Sandwich(sandwich));
                         reset();
                         Toast.makeText(view.getContext(), " Order added.", Toast.LENGTH_SHORT).show();
                     }
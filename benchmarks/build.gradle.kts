@@ -0,0 +1,44 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    implementation(project(":core"))
+    implementation(project(":server"))
+    jmh(libs.jmh.core)
+    jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("TEXT")
+    // ./gradlew :benchmarks:jmh -PjmhIncludes=Order runs only the matching benchmarks.
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+// ./gradlew :benchmarks:loadTest --args="--registers 8 --duration 30" runs simulated registers
+// against the order store and prints throughput, latency percentiles and allocation.
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the order load generator."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.rutgerscafe.LoadGenerator")
+}
+
+// ./gradlew :benchmarks:intakeLoadTest --args="--clients 32 --duration 30" posts carts to the HTTP
+// order intake and prints requests per second and latency percentiles.
+tasks.register<JavaExec>("intakeLoadTest") {
+    group = "verification"
+    description = "Runs the load test of the HTTP order intake."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.rutgerscafe.IntakeLoadTest")
+}
@@ -0,0 +1,89 @@
+package com.example.rutgerscafe;
+
+/**
+ * Builds the menu items and orders used by the benchmarks, cycling through coffee, sandwiches
+ * and donuts so every price path is exercised.
+ */
+final class BenchmarkData {
+    private static final String[] CUP_SIZES = {"Short", "Tall", "Grande", "Venti"};
+    private static final String[] COFFEE_ADD_INS = {"Sweet Cream", "Mocha", "French Vanilla", "Irish Cream", "Caramel"};
+    private static final String[] PROTEINS = {"beef", "Chicken", "Fish"};
+    private static final String[] BREADS = {"Bagel", "Wheat Bread", "Sour Dough"};
+    private static final String[] SANDWICH_ADD_ONS = {"Lettuce", "Tomato", "Onion", "Cheese"};
+    private static final String[] FLAVORS = {"boston cream", "glazed", "jelly", "strawberry frosted", "glazed holes"};
+    private static final double[] DONUT_PRICES = {1.79, 1.79, 1.79, 1.89, 0.39};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates the i-th sample menu item.
+     *
+     * @param i index of the item
+     * @return a coffee, sandwich or donut depending on the index
+     */
+    static MenuItem menuItem(int i) {
+        switch (i % 3) {
+            case 0:
+                return coffee(i);
+            case 1:
+                return sandwich(i);
+            default:
+                return donut(i);
+        }
+    }
+
+    /**
+     * Creates a sample coffee with up to two add-ins.
+     *
+     * @param i index of the item
+     * @return the coffee
+     */
+    static Coffee coffee(int i) {
+        Coffee coffee = new Coffee(CUP_SIZES[i % CUP_SIZES.length], 0, 1 + i % 5);
+        for (int a = 0; a < i % 3; a++) {
+            coffee.addAddIn(COFFEE_ADD_INS[(i + a) % COFFEE_ADD_INS.length]);
+        }
+        return coffee;
+    }
+
+    /**
+     * Creates a sample sandwich with up to three add-ons.
+     *
+     * @param i index of the item
+     * @return the sandwich
+     */
+    static Sandwich sandwich(int i) {
+        Sandwich sandwich = new Sandwich(PROTEINS[i % PROTEINS.length], BREADS[i % BREADS.length]);
+        for (int a = 0; a < i % 4; a++) {
+            sandwich.addAddOn(SANDWICH_ADD_ONS[(i + a) % SANDWICH_ADD_ONS.length]);
+        }
+        return sandwich;
+    }
+
+    /**
+     * Creates a sample donut with a quantity between one and six.
+     *
+     * @param i index of the item
+     * @return the donut
+     */
+    static Donut donut(int i) {
+        Donut donut = Donut.ofDollars(FLAVORS[i % FLAVORS.length], DONUT_PRICES[i % DONUT_PRICES.length]);
+        donut.setQuantity(1 + i % 6);
+        return donut;
+    }
+
+    /**
+     * Creates an order holding the given number of sample items.
+     *
+     * @param size number of items in the order
+     * @return the order
+     */
+    static Order order(int size) {
+        Order order = new Order();
+        for (int i = 0; i < size; i++) {
+            order.addMenuItem(menuItem(i));
+        }
+        return order;
+    }
+}
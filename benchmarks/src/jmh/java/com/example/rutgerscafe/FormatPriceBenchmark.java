@@ -0,0 +1,65 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares price formatting with String.format, as the screens used to format prices, against
+ * CurrencyFormat writing the same text from cents into its reusable buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormatPriceBenchmark {
+    @Param({"1.99", "10.99", "1234.56"})
+    public double value;
+
+    private long cents;
+    private CurrencyFormat currencyFormat;
+
+    /**
+     * Converts the price to cents for the CurrencyFormat benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        cents = Math.round(value * 100);
+        currencyFormat = new CurrencyFormat();
+    }
+
+    @Benchmark
+    public String formatPrice() {
+        return String.format("%1$.2f", value);
+    }
+
+    @Benchmark
+    public String formatSubtotal() {
+        return String.format(Locale.US, "Subtotal: $%.2f", value);
+    }
+
+    /**
+     * Formats into the reusable buffer, as the screens do before handing the text to a view.
+     */
+    @Benchmark
+    public CharSequence currencyFormat() {
+        return currencyFormat.format(cents);
+    }
+
+    @Benchmark
+    public CharSequence currencyFormatSubtotal() {
+        return currencyFormat.format("Subtotal: $", cents);
+    }
+
+    @Benchmark
+    public String currencyFormatToString() {
+        return currencyFormat.format(cents).toString();
+    }
+}
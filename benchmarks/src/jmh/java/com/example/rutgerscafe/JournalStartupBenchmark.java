@@ -0,0 +1,78 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening the order journal, as a register does on a cold start, after a day's history of
+ * cart edits, placed orders and cancellations. With snapshots the time follows the number of live
+ * orders and the events since the last snapshot; without them every event is replayed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JournalStartupBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int events;
+
+    @Param({"true", "false"})
+    public boolean snapshots;
+
+    private File file;
+    private int snapshotInterval;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = File.createTempFile("startup", ".journal");
+        snapshotInterval = snapshots ? OrderJournal.DEFAULT_SNAPSHOT_INTERVAL : Integer.MAX_VALUE;
+        OrderJournal journal = new OrderJournal(file, snapshotInterval);
+        CompletableFuture<Void> last = null;
+        Order cart = new Order();
+        int written = 0;
+        while (written < events) {
+            MenuItem item = BenchmarkData.menuItem(written);
+            cart.addMenuItem(item);
+            last = journal.appendCartAdd(item);
+            written++;
+            if (cart.getMenuItems().size() == 4) {
+                Order placed = new Order(cart);
+                placed.setPlacedAtMillis(System.currentTimeMillis());
+                journal.appendAdd(placed);
+                last = journal.appendCartClear();
+                written += 2;
+                if (placed.getOrderNumber() % 10 == 0) {
+                    last = journal.appendRemove(placed);
+                    written++;
+                }
+                cart = new Order();
+            }
+        }
+        last.get();
+        journal.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + ".snapshot").delete();
+    }
+
+    @Benchmark
+    public long openJournal() throws IOException {
+        OrderJournal journal = new OrderJournal(file, snapshotInterval);
+        journal.close();
+        return journal.getReplayedRecords();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the menu file into a catalog, the one-time cost paid when the app first prices
+ * an item, and the lookups the screens make afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MenuCatalogBenchmark {
+    private byte[] menuFile;
+    private MenuCatalog catalog;
+
+    /**
+     * Reads the bundled menu file into memory so parsing is measured without resource lookup.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        InputStream in = MenuCatalog.class.getResourceAsStream("menu.properties");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int n; (n = in.read(buffer)) > 0; ) {
+            out.write(buffer, 0, n);
+        }
+        in.close();
+        menuFile = out.toByteArray();
+        catalog = MenuCatalog.get();
+    }
+
+    @Benchmark
+    public MenuCatalog load() throws IOException {
+        return MenuCatalog.parse(new ByteArrayInputStream(menuFile));
+    }
+
+    @Benchmark
+    public long donutPriceLookup() {
+        return catalog.priceCents(DonutFlavor.POWDERED_HOLES);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the cost of recording a metric on a hot path, alone and with four threads recording into
+ * the same metrics, against a single shared atomic counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+    private LongAdder counter;
+    private AtomicLong atomic;
+    private LatencyHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry registry = new MetricsRegistry();
+        counter = registry.counter("benchmark.count");
+        atomic = new AtomicLong();
+        histogram = registry.histogram("benchmark.latency");
+    }
+
+    @Benchmark
+    public void counter() {
+        counter.increment();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void counterContended() {
+        counter.increment();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long atomicContended() {
+        return atomic.incrementAndGet();
+    }
+
+    /**
+     * Times an empty section and records it, the full cost a timed hot path pays.
+     */
+    @Benchmark
+    public void timedSection() {
+        histogram.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timedSectionContended() {
+        histogram.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+}
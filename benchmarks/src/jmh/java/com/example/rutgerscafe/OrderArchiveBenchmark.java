@@ -0,0 +1,82 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a register restarting mid-shift pays to show the number of orders and the latest
+ * rows: opening the memory-mapped archive, against decoding every stored order as replaying them
+ * does. Run with -prof gc to compare the bytes allocated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderArchiveBenchmark {
+    private static final int ROWS = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int orders;
+
+    private File file;
+    private List<byte[]> encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("history", ".archive");
+        List<Order> history = new ArrayList<>(orders);
+        encoded = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Order order = BenchmarkData.order(1 + i % 6);
+            order.setPlacedAtMillis(1700000000000L + i * 1000L);
+            history.add(order);
+            encoded.add(OrderCodec.encode(order));
+        }
+        OrderArchive archive = new OrderArchive(file);
+        archive.appendAll(history);
+        archive.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + ".index").delete();
+    }
+
+    @Benchmark
+    public int openArchiveAndLatestRows() throws IOException {
+        OrderArchive archive = new OrderArchive(file);
+        StringBuilder rows = new StringBuilder();
+        int size = archive.size();
+        for (int position = size - 1; position >= Math.max(0, size - ROWS); position--) {
+            archive.appendRow(rows, position).append('\n');
+        }
+        archive.close();
+        return size + rows.length();
+    }
+
+    @Benchmark
+    public int decodeEveryOrder() {
+        List<Order> decoded = new ArrayList<>(encoded.size());
+        for (int i = 0; i < encoded.size(); i++) {
+            decoded.add(OrderCodec.decode(encoded.get(i)));
+        }
+        StringBuilder rows = new StringBuilder();
+        for (int i = decoded.size() - 1; i >= Math.max(0, decoded.size() - ROWS); i--) {
+            ReceiptRenderer.appendRow(rows, decoded.get(i)).append('\n');
+        }
+        return decoded.size() + rows.length();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the total and rendering an order for carts of different sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int cartSize;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(cartSize);
+    }
+
+    @Benchmark
+    public double getTotal() {
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public String orderToString() {
+        return order.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding an order with OrderCodec against plain Java serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderCodecBenchmark {
+    @Param({"1", "10", "100"})
+    public int cartSize;
+
+    private Order order;
+    private byte[] codecBytes;
+    private byte[] javaBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        order = BenchmarkData.order(cartSize);
+        codecBytes = OrderCodec.encode(order);
+        javaBytes = javaSerialize(order);
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        return OrderCodec.encode(order);
+    }
+
+    @Benchmark
+    public Order codecDecode() {
+        return OrderCodec.decode(codecBytes);
+    }
+
+    @Benchmark
+    public byte[] javaEncode() throws IOException {
+        return javaSerialize(order);
+    }
+
+    @Benchmark
+    public Object javaDecode() throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaBytes));
+        return in.readObject();
+    }
+
+    private static byte[] javaSerialize(Order order) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(order);
+        out.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares placing a batch of orders one at a time with importing it in one step, both into a store
+ * with an open journal and waiting until every order is durable. Each invocation starts from an
+ * empty store and journal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderImportBenchmark {
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private List<Order> batch;
+    private File file;
+    private OrderSingleton store;
+
+    /**
+     * Builds the batch of orders to place.
+     */
+    @Setup(Level.Trial)
+    public void setUpBatch() {
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(BenchmarkData.order(1 + i % 4));
+        }
+    }
+
+    /**
+     * Opens an empty store and journal.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        file = File.createTempFile("import-benchmark", ".journal");
+        store = new OrderSingleton();
+        store.openJournal(file);
+    }
+
+    /**
+     * Closes the journal and deletes its file.
+     */
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        store.closeJournal();
+        file.delete();
+    }
+
+    @Benchmark
+    public void addOneByOne() throws Exception {
+        CompletableFuture<Void> last = null;
+        for (Order order : batch) {
+            last = store.addOrder(order);
+        }
+        last.get();
+    }
+
+    @Benchmark
+    public List<Order> importBatch() throws Exception {
+        return store.importOrders(batch).get();
+    }
+}
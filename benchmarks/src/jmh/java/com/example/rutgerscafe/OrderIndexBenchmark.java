@@ -0,0 +1,81 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the indexed lookups of the order store with scanning every order for the same answer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderIndexBenchmark {
+    private static final long START = 1700000000000L;
+    private static final long HOUR = 3600000L;
+
+    @Param({"10000", "100000"})
+    public int historySize;
+
+    private OrderSingleton store;
+
+    /**
+     * Fills a store with small orders placed ten minutes apart.
+     */
+    @Setup
+    public void setUp() {
+        store = new OrderSingleton();
+        for (int i = 0; i < historySize; i++) {
+            Order placed = BenchmarkData.order(1 + i % 4);
+            placed.setPlacedAtMillis(START + i * 600000L);
+            store.addOrder(placed);
+        }
+    }
+
+    @Benchmark
+    public List<Order> lastHourIndexed() {
+        return store.getOrdersPlacedBetween(START + historySize * 600000L - HOUR, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Order> lastHourScanned() {
+        long from = START + historySize * 600000L - HOUR;
+        List<Order> found = new ArrayList<>();
+        for (Order order : store.getOrders()) {
+            if (order.getPlacedAtMillis() >= from) {
+                found.add(order);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<Order> narrowTotalIndexed() {
+        return store.getOrdersByTotal(2000, 2050);
+    }
+
+    @Benchmark
+    public List<Order> narrowTotalScanned() {
+        List<Order> found = new ArrayList<>();
+        for (Order order : store.getOrders()) {
+            if (order.getTotalCents() >= 2000 && order.getTotalCents() <= 2050) {
+                found.add(order);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<Order> flavorIndexed() {
+        return store.getOrdersContaining(DonutFlavor.JELLY);
+    }
+}
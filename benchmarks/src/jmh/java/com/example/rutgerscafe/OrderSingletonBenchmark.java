@@ -0,0 +1,77 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding orders to and reading all orders from the order store for different history sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderSingletonBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int historySize;
+
+    private OrderSingleton store;
+    private List<Order> history;
+    private Order order;
+
+    /**
+     * Fills the store with the given number of small orders.
+     */
+    @Setup
+    public void setUp() {
+        store = OrderSingleton.getInstance();
+        history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            Order placed = BenchmarkData.order(1 + i % 4);
+            store.addOrder(placed);
+            history.add(placed);
+        }
+        order = BenchmarkData.order(3);
+    }
+
+    /**
+     * Removes the orders added during set up so the next parameter starts from an empty store.
+     */
+    @TearDown
+    public void tearDown() {
+        for (Order placed : history) {
+            store.removeOrder(placed);
+        }
+        store.removeOrder(order);
+    }
+
+    /**
+     * Adds an order and removes it again so the history size stays constant.
+     */
+    @Benchmark
+    public void addOrder() {
+        store.addOrder(order);
+        store.removeOrder(order);
+    }
+
+    /**
+     * Reads all orders and sums their totals, the way a history screen or report walks them.
+     */
+    @Benchmark
+    public long getOrders() {
+        long sum = 0;
+        for (Order placed : store.getOrders()) {
+            sum += placed.getTotalCents();
+        }
+        return sum;
+    }
+}
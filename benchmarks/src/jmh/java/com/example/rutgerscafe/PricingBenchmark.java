@@ -0,0 +1,48 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the price calculation of a single coffee, sandwich and donut.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingBenchmark {
+    private Coffee coffee;
+    private Sandwich sandwich;
+    private Donut donut;
+
+    /**
+     * Builds a venti coffee with two add-ins, a beef sandwich with two add-ons and three donuts.
+     */
+    @Setup
+    public void setUp() {
+        coffee = BenchmarkData.coffee(11);
+        sandwich = BenchmarkData.sandwich(6);
+        donut = BenchmarkData.donut(2);
+    }
+
+    @Benchmark
+    public double coffeePrice() {
+        return coffee.price();
+    }
+
+    @Benchmark
+    public double sandwichPrice() {
+        return sandwich.price();
+    }
+
+    @Benchmark
+    public double donutPrice() {
+        return donut.price();
+    }
+}
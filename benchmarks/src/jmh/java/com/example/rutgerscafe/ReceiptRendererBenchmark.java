@@ -0,0 +1,68 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering an order receipt with String.format, as Order.toString used to, against the
+ * receipt renderer, both when the text must be rendered and when the cached text is reused.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReceiptRendererBenchmark {
+    @Param({"1", "5", "20"})
+    public int orderSize;
+
+    private Order order;
+    private ReceiptRenderer renderer;
+    private StringBuilder buffer;
+
+    /**
+     * Builds the order and renders it once so the cached benchmarks start warm.
+     */
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(orderSize);
+        renderer = new ReceiptRenderer();
+        renderer.renderRow(order);
+        renderer.renderReceipt(order);
+        buffer = new StringBuilder(256);
+    }
+
+    @Benchmark
+    public String formatReceipt() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Order #").append(order.getOrderNumber());
+        sb.append("\n Price=").append(String.format(Locale.US, "%1$.2f", order.getOrderSubTotal()));
+        sb.append(";\n Tax=").append(String.format(Locale.US, "%1$.2f", order.getSalesTax()));
+        sb.append(";\n Total=").append(String.format(Locale.US, "%1$.2f", order.getTotal()));
+        sb.append(";\n Items=").append(order.getMenuItems());
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String renderReceipt() {
+        buffer.setLength(0);
+        return ReceiptRenderer.appendReceipt(buffer, order).toString();
+    }
+
+    @Benchmark
+    public String cachedReceipt() {
+        return renderer.renderReceipt(order);
+    }
+
+    @Benchmark
+    public String cachedRow() {
+        return renderer.renderRow(order);
+    }
+}
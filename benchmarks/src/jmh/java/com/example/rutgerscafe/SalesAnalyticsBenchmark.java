@@ -0,0 +1,61 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full fork-join recompute of the sales totals and the incremental update for one order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SalesAnalyticsBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int historySize;
+
+    private List<Order> history;
+    private SalesAnalytics analytics;
+    private Order order;
+
+    /**
+     * Builds a history of small orders spread over a week.
+     */
+    @Setup
+    public void setUp() {
+        history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            Order placed = BenchmarkData.order(1 + i % 4);
+            placed.setPlacedAtMillis(1700000000000L + i * 600000L % (7 * 24 * 3600000L));
+            history.add(placed);
+        }
+        analytics = new SalesAnalytics();
+        analytics.recompute(history);
+        order = history.get(0);
+    }
+
+    @Benchmark
+    public SalesAnalytics recompute() {
+        analytics.recompute(history);
+        return analytics;
+    }
+
+    /**
+     * Counts an order and takes it off again, the work done for a placed and a cancelled order.
+     */
+    @Benchmark
+    public SalesAnalytics placeAndCancel() {
+        analytics.orderAdded(order);
+        analytics.orderRemoved(order);
+        return analytics;
+    }
+}
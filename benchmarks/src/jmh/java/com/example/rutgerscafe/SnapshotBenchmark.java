@@ -0,0 +1,60 @@
+package com.example.rutgerscafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares snapshotting an order, which shares its persistent item vector, with copying its items
+ * into a new list, as the copy constructor used to. Run with -prof gc to see the bytes allocated
+ * per snapshot next to the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotBenchmark {
+    @Param({"10", "100", "1000"})
+    public int cartSize;
+
+    private Order order;
+    private MenuItem extra;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(cartSize);
+        extra = BenchmarkData.menuItem(cartSize);
+    }
+
+    @Benchmark
+    public Order persistentSnapshot() {
+        return new Order(order);
+    }
+
+    @Benchmark
+    public List<MenuItem> fullCopy() {
+        return new ArrayList<>(order.getMenuItems());
+    }
+
+    @Benchmark
+    public Order persistentSnapshotThenEdit() {
+        Order copy = new Order(order);
+        copy.addMenuItem(extra);
+        return copy;
+    }
+
+    @Benchmark
+    public List<MenuItem> fullCopyThenEdit() {
+        List<MenuItem> copy = new ArrayList<>(order.getMenuItems());
+        copy.add(extra);
+        return copy;
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.rutgerscafe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the HTTP order intake with concurrent clients, each posting one cart after another over a
+ * kept-alive connection, and reports requests per second and the latency percentiles seen by the
+ * clients. Carts are random mixes of coffee, sandwiches and donuts, drawn before the run from a
+ * fixed set so building them does not slow the clients, and sent as JSON, binary or both.
+ * Without --url a server is started in this process on a free port, on an order store of its own
+ * that keeps the latest --max-orders orders.
+ * Run it with ./gradlew :benchmarks:intakeLoadTest --args="--clients 32 --duration 30".
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class IntakeLoadTest {
+    static final String USAGE = "Options:\n"
+            + "  --clients N          concurrent clients, one thread each (default 16)\n"
+            + "  --duration SECONDS   measured time (default 20)\n"
+            + "  --warmup SECONDS     time before measuring (default 5)\n"
+            + "  --format F           json, binary or mixed (default json)\n"
+            + "  --items MIN-MAX      items per cart (default 1-5)\n"
+            + "  --workers N          worker threads of the in-process server (default one per processor)\n"
+            + "  --max-orders N       orders the in-process store keeps (default 50000)\n"
+            + "  --url URL            post to a running server instead of starting one";
+    private static final int CARTS = 512;
+    private static final int[] MIX = {50, 30, 20};
+
+    private final List<String> contentTypes = new ArrayList<>(CARTS);
+    private final List<byte[]> bodies = new ArrayList<>(CARTS);
+    private volatile Phase phase = new Phase();
+    private volatile boolean running = true;
+
+    /**
+     * Parses the options, runs the clients and prints the report.
+     *
+     * @param args The command line options; --help lists them.
+     * @throws Exception If the run fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = 16;
+        int durationSeconds = 20;
+        int warmupSeconds = 5;
+        String format = "json";
+        int minItems = 1;
+        int maxItems = 5;
+        int workers = OrderIntakeServer.DEFAULT_WORKERS;
+        int maxOrders = 50000;
+        String url = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--help")) {
+                    System.out.println(USAGE);
+                    return;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String name = args[i];
+                String value = args[++i];
+                if (name.equals("--clients")) {
+                    clients = Integer.parseInt(value);
+                } else if (name.equals("--duration")) {
+                    durationSeconds = Integer.parseInt(value);
+                } else if (name.equals("--warmup")) {
+                    warmupSeconds = Integer.parseInt(value);
+                } else if (name.equals("--format")) {
+                    format = value;
+                    if (!format.equals("json") && !format.equals("binary") && !format.equals("mixed")) {
+                        throw new IllegalArgumentException("Unknown format " + value);
+                    }
+                } else if (name.equals("--items")) {
+                    String[] range = value.split("-");
+                    minItems = Integer.parseInt(range[0]);
+                    maxItems = range.length > 1 ? Integer.parseInt(range[1]) : minItems;
+                } else if (name.equals("--workers")) {
+                    workers = Integer.parseInt(value);
+                } else if (name.equals("--max-orders")) {
+                    maxOrders = Integer.parseInt(value);
+                } else if (name.equals("--url")) {
+                    url = value;
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + name);
+                }
+            }
+            if (clients <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || minItems <= 0
+                    || maxItems < minItems || maxItems > CartReader.MAX_ITEMS || workers <= 0 || maxOrders <= 0) {
+                throw new IllegalArgumentException("Counts must be positive and items 1 to " + CartReader.MAX_ITEMS);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        // keep one idle connection per client, so every request reuses its connection
+        System.setProperty("http.maxConnections", String.valueOf(clients));
+
+        OrderIntakeServer server = null;
+        OrderSingleton store = null;
+        if (url == null) {
+            store = new OrderSingleton();
+            server = new OrderIntakeServer(store, new InetSocketAddress("localhost", 0), workers);
+            server.start();
+            url = "http://localhost:" + server.getPort() + OrderIntakeServer.PATH;
+        }
+        IntakeLoadTest test = new IntakeLoadTest(format, minItems, maxItems);
+        String report = test.run(new URL(url), clients, warmupSeconds, durationSeconds, store, maxOrders);
+        if (server != null) {
+            server.close();
+        }
+        System.out.println("Posting " + format + " carts of " + minItems + "-" + maxItems + " items to " + url
+                + (server != null ? " (" + workers + " workers)" : ""));
+        System.out.println(report);
+    }
+
+    /**
+     * Creates a load test and draws its carts.
+     *
+     * @param format   json, binary or mixed.
+     * @param minItems The fewest items in a cart.
+     * @param maxItems The most items in a cart.
+     */
+    IntakeLoadTest(String format, int minItems, int maxItems) {
+        Random random = new Random(1);
+        for (int i = 0; i < CARTS; i++) {
+            List<MenuItem> items = new ArrayList<>();
+            int count = minItems + random.nextInt(maxItems - minItems + 1);
+            for (int n = 0; n < count; n++) {
+                items.add(LoadGenerator.randomItem(random, MIX));
+            }
+            boolean binary = format.equals("binary") || (format.equals("mixed") && i % 2 == 1);
+            if (binary) {
+                contentTypes.add("application/octet-stream");
+                bodies.add(OrderCodec.encodeCart(items));
+            } else {
+                contentTypes.add("application/json");
+                bodies.add(toJson(items).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Runs the clients through the warm-up and the measured period.
+     *
+     * @param url             The intake address.
+     * @param clients         The number of clients.
+     * @param warmupSeconds   The time before measuring.
+     * @param durationSeconds The measured time.
+     * @param store           The in-process order store to keep bounded, or null.
+     * @param maxOrders       The number of orders the in-process store keeps.
+     * @return The report of the measured period.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    String run(URL url, int clients, int warmupSeconds, int durationSeconds, OrderSingleton store, int maxOrders)
+            throws InterruptedException {
+        final Queue<Order> placed = new ConcurrentLinkedQueue<>();
+        OrderSingleton.OrderListener pickUp = null;
+        if (store != null) {
+            pickUp = new OrderSingleton.OrderListener() {
+                @Override
+                public void orderAdded(Order order) {
+                    placed.add(order);
+                }
+
+                @Override
+                public void orderRemoved(Order order) {
+                    // removed orders are skipped when they reach the head of the queue
+                }
+            };
+            store.addListener(pickUp);
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread client = new Thread(new Client(url, i), "intake-client-" + i);
+            client.setDaemon(true);
+            threads.add(client);
+            client.start();
+        }
+        keepBounded(store, placed, maxOrders, warmupSeconds * 1000L);
+        Phase measured = new Phase();
+        long start = System.nanoTime();
+        phase = measured;
+        keepBounded(store, placed, maxOrders, durationSeconds * 1000L);
+        phase = new Phase();
+        long elapsedNanos = System.nanoTime() - start;
+        running = false;
+        for (Thread client : threads) {
+            client.join();
+        }
+        if (store != null) {
+            store.removeListener(pickUp);
+        }
+        return measured.report(elapsedNanos);
+    }
+
+    /**
+     * Waits for a while, removing the oldest orders of the in-process store once it holds more than
+     * maxOrders, so long runs keep a steady heap.
+     *
+     * @param store     The in-process order store, or null.
+     * @param placed    The orders in the order they were placed.
+     * @param maxOrders The number of orders to keep.
+     * @param millis    The time to wait.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    private static void keepBounded(OrderSingleton store, Queue<Order> placed, int maxOrders, long millis)
+            throws InterruptedException {
+        long end = System.currentTimeMillis() + millis;
+        long left;
+        while ((left = end - System.currentTimeMillis()) > 0) {
+            Thread.sleep(Math.min(left, 100));
+            while (store != null && store.size() > maxOrders) {
+                Order oldest = placed.poll();
+                if (oldest == null) break;
+                store.removeOrder(oldest);
+            }
+        }
+    }
+
+    /**
+     * Writes a cart in the JSON form the intake reads.
+     *
+     * @param items The items of the cart.
+     * @return The cart as JSON.
+     */
+    static String toJson(List<MenuItem> items) {
+        StringBuilder sb = new StringBuilder(64 * items.size()).append("{\"items\":[");
+        for (int i = 0; i < items.size(); i++) {
+            MenuItem item = items.get(i);
+            if (i > 0) sb.append(',');
+            if (item instanceof Coffee) {
+                Coffee coffee = (Coffee) item;
+                sb.append("{\"kind\":\"coffee\",\"size\":\"").append(coffee.getCupSize())
+                        .append("\",\"quantity\":").append(coffee.getQuantity());
+                appendNames(sb, "addIns", coffee.getAddIns());
+            } else if (item instanceof Sandwich) {
+                Sandwich sandwich = (Sandwich) item;
+                sb.append("{\"kind\":\"sandwich\",\"protein\":\"").append(sandwich.getProtein())
+                        .append("\",\"bread\":\"").append(sandwich.getBread()).append('"');
+                appendNames(sb, "addOns", sandwich.getAddOns());
+            } else {
+                Donut donut = (Donut) item;
+                sb.append("{\"kind\":\"donut\",\"flavor\":\"").append(donut.getFlavor())
+                        .append("\",\"quantity\":").append(donut.getQuantity());
+            }
+            sb.append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static void appendNames(StringBuilder sb, String member, Iterable<String> names) {
+        sb.append(",\"").append(member).append("\":[");
+        boolean first = true;
+        for (String name : names) {
+            if (!first) sb.append(',');
+            sb.append('"').append(name).append('"');
+            first = false;
+        }
+        sb.append(']');
+    }
+
+    /**
+     * The requests recorded during one period of the run.
+     */
+    private static final class Phase {
+        final LatencyHistogram latency = new LatencyHistogram("request");
+        final LongAdder placed = new LongAdder();
+        final LongAdder refused = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        /**
+         * Writes the throughput and latency of the period.
+         *
+         * @param elapsedNanos The length of the period.
+         * @return The report text.
+         */
+        String report(long elapsedNanos) {
+            LatencyHistogram.Snapshot snapshot = latency.snapshot();
+            double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.US,
+                    "%.1f s measured: %d requests, %.1f requests/s, %.1f orders placed/s, %d refused (503), %d failed%n"
+                            + "latency ms: mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f",
+                    seconds, snapshot.getCount(), snapshot.getCount() / seconds, placed.sum() / seconds,
+                    refused.sum(), failed.sum(), snapshot.getMeanNanos() / 1e6,
+                    snapshot.getPercentileNanos(50) / 1e6, snapshot.getPercentileNanos(90) / 1e6,
+                    snapshot.getPercentileNanos(99) / 1e6, snapshot.getPercentileNanos(99.9) / 1e6,
+                    snapshot.getMaxNanos() / 1e6);
+        }
+    }
+
+    /**
+     * One client posting carts back to back.
+     */
+    private final class Client implements Runnable {
+        private final URL url;
+        private final Random random;
+        private final byte[] buffer = new byte[1024];
+
+        private Client(URL url, long seed) {
+            this.url = url;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                int cart = random.nextInt(bodies.size());
+                Phase current = phase;
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = post(contentTypes.get(cart), bodies.get(cart));
+                } catch (IOException e) {
+                    status = -1;
+                }
+                current.latency.recordSince(start);
+                if (status == 201) {
+                    current.placed.increment();
+                } else if (status == 503) {
+                    current.refused.increment();
+                } else {
+                    current.failed.increment();
+                }
+            }
+        }
+
+        /**
+         * Posts one cart and reads the whole response, so the connection is kept for the next one.
+         *
+         * @param contentType The content type of the cart.
+         * @param body        The cart.
+         * @return The HTTP status.
+         * @throws IOException If the request fails.
+         */
+        private int post(String contentType, byte[] body) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", contentType);
+            connection.setFixedLengthStreamingMode(body.length);
+            OutputStream out = connection.getOutputStream();
+            out.write(body);
+            out.close();
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (in != null) {
+                while (in.read(buffer) != -1) {
+                    // drain the response
+                }
+                in.close();
+            }
+            return status;
+        }
+    }
+}
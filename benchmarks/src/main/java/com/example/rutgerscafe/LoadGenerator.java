@@ -0,0 +1,487 @@
+package com.example.rutgerscafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulates a rush at the registers without the screens. Each simulated register runs on its own
+ * thread against one order store: it builds a cart item by item, as OrderService.addToCart
+ * does, places a copy of it, as the placement pipeline does, and now and then cancels one of its
+ * placed orders. Between steps a register waits a random think time. Items are drawn from a
+ * configurable mix of coffee, sandwiches and donuts with random sizes, proteins, flavors and extras.
+ * To keep long runs from filling the heap, the oldest orders are picked up, that is removed, once
+ * the store holds more than a set number.
+ * After a warm-up the run is measured for a set duration, and the report gives the throughput and
+ * the latency percentiles of each step, the allocation rate of the whole process and the garbage
+ * collections during the run.
+ * Run it with ./gradlew :benchmarks:loadTest --args="--registers 8 --duration 30"; --help lists
+ * every option.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class LoadGenerator {
+    private static final AddIn[] COFFEE_ADD_INS = {AddIn.SWEET_CREAM, AddIn.MOCHA, AddIn.FRENCH_VANILLA,
+            AddIn.IRISH_CREAM, AddIn.CARAMEL};
+    private static final AddIn[] SANDWICH_ADD_ONS = {AddIn.LETTUCE, AddIn.TOMATO, AddIn.ONION, AddIn.CHEESE};
+    private static final CupSize[] CUP_SIZES = CupSize.values();
+    private static final Protein[] PROTEINS = Protein.values();
+    private static final Bread[] BREADS = Bread.values();
+    private static final DonutFlavor[] FLAVORS = DonutFlavor.values();
+
+    private final Options options;
+    private final OrderSingleton store = new OrderSingleton();
+    private final AtomicInteger liveOrders = new AtomicInteger();
+    private volatile Phase phase = new Phase();
+    private volatile boolean running = true;
+
+    /**
+     * Creates a load generator.
+     *
+     * @param options The run settings.
+     */
+    public LoadGenerator(Options options) {
+        this.options = options;
+    }
+
+    /**
+     * Parses the options, runs the load and prints the report.
+     *
+     * @param args The command line options; --help lists them.
+     * @throws Exception If the run fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options == null) {
+            System.out.println(Options.USAGE);
+            return;
+        }
+        System.out.println(new LoadGenerator(options).run());
+    }
+
+    /**
+     * Runs the warm-up and the measured period and stops the registers.
+     *
+     * @return The report of the measured period.
+     * @throws IOException          If the journal cannot be opened or closed.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    public Report run() throws IOException, InterruptedException {
+        if (options.journal != null) {
+            store.openJournal(options.journal);
+        }
+        List<Thread> registers = new ArrayList<>();
+        for (int i = 0; i < options.registers; i++) {
+            Thread register = new Thread(new Register(options.seed + i), "register-" + i);
+            register.setDaemon(true);
+            registers.add(register);
+            register.start();
+        }
+        Thread.sleep(options.warmupSeconds * 1000L);
+
+        Phase measured = new Phase();
+        long allocatedBefore = allocatedBytes();
+        long[] gcBefore = garbageCollections();
+        long start = System.nanoTime();
+        phase = measured;
+        Thread.sleep(options.durationSeconds * 1000L);
+        phase = new Phase();
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long[] gcAfter = garbageCollections();
+
+        running = false;
+        for (Thread register : registers) {
+            register.join();
+        }
+        store.closeJournal();
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return new Report(options, measured, elapsedNanos, allocated,
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], store.size());
+    }
+
+    /**
+     * Sums the bytes allocated so far by every live thread, where the JVM can tell.
+     *
+     * @return The allocated bytes, or -1 if the JVM does not report them.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) return -1;
+        long total = 0;
+        for (long bytes : hotspot.getThreadAllocatedBytes(hotspot.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Sums the garbage collections so far over every collector.
+     *
+     * @return The number of collections and the milliseconds spent in them.
+     */
+    private static long[] garbageCollections() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, collector.getCollectionCount());
+            totals[1] += Math.max(0, collector.getCollectionTime());
+        }
+        return totals;
+    }
+
+    /**
+     * The latencies recorded during one period of the run.
+     */
+    static final class Phase {
+        final LatencyHistogram addToCart = new LatencyHistogram("addToCart");
+        final LatencyHistogram placeOrder = new LatencyHistogram("placeOrder");
+        final LatencyHistogram cancelOrder = new LatencyHistogram("cancelOrder");
+        final LatencyHistogram pickUp = new LatencyHistogram("pickUp");
+    }
+
+    /**
+     * One simulated register.
+     */
+    private final class Register implements Runnable {
+        private final Random random;
+        private final Deque<Order> placed = new ArrayDeque<>();
+
+        private Register(long seed) {
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    Order cart = new Order();
+                    int items = options.minItems + random.nextInt(options.maxItems - options.minItems + 1);
+                    for (int i = 0; i < items && running; i++) {
+                        think();
+                        long start = System.nanoTime();
+                        MenuItem item = randomItem(random, options.mix);
+                        cart.addMenuItem(item);
+                        store.recordCartItemAdded(item);
+                        phase.addToCart.recordSince(start);
+                    }
+                    think();
+                    long start = System.nanoTime();
+                    Order order = new Order(cart);
+                    store.addOrder(order).join();
+                    store.recordCartCleared();
+                    phase.placeOrder.recordSince(start);
+                    placed.addLast(order);
+                    if (liveOrders.incrementAndGet() > options.maxLiveOrders) {
+                        pickUpOldest();
+                    }
+                    if (random.nextInt(100) < options.cancelPercent) {
+                        think();
+                        cancelNewest();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Removes this register's oldest placed order, as if it was picked up.
+         */
+        private void pickUpOldest() {
+            Order oldest = placed.pollFirst();
+            if (oldest == null) return;
+            long start = System.nanoTime();
+            store.removeOrder(oldest);
+            phase.pickUp.recordSince(start);
+            liveOrders.decrementAndGet();
+        }
+
+        /**
+         * Cancels this register's newest placed order.
+         */
+        private void cancelNewest() {
+            Order newest = placed.pollLast();
+            if (newest == null) return;
+            long start = System.nanoTime();
+            store.removeOrder(newest);
+            phase.cancelOrder.recordSince(start);
+            liveOrders.decrementAndGet();
+        }
+
+        /**
+         * Waits a random, exponentially distributed think time.
+         *
+         * @throws InterruptedException If the register is interrupted.
+         */
+        private void think() throws InterruptedException {
+            if (options.thinkMillis <= 0) return;
+            long millis = (long) (-Math.log(1 - random.nextDouble()) * options.thinkMillis);
+            if (millis > 0) Thread.sleep(millis);
+        }
+    }
+
+    /**
+     * Draws a menu item with random options from a mix of coffee, sandwiches and donuts.
+     *
+     * @param random The random source.
+     * @param mix    The weights of coffee, sandwiches and donuts, in ItemKind order.
+     * @return The item.
+     */
+    static MenuItem randomItem(Random random, int[] mix) {
+        int pick = random.nextInt(mix[0] + mix[1] + mix[2]);
+        if (pick < mix[ItemKind.COFFEE.ordinal()]) {
+            Coffee coffee = new Coffee(CUP_SIZES[random.nextInt(CUP_SIZES.length)], 1 + random.nextInt(3));
+            for (int i = random.nextInt(3); i > 0; i--) {
+                coffee.addAddIn(COFFEE_ADD_INS[random.nextInt(COFFEE_ADD_INS.length)]);
+            }
+            return coffee;
+        }
+        pick -= mix[ItemKind.COFFEE.ordinal()];
+        if (pick < mix[ItemKind.SANDWICH.ordinal()]) {
+            Sandwich sandwich = new Sandwich(PROTEINS[random.nextInt(PROTEINS.length)],
+                    BREADS[random.nextInt(BREADS.length)]);
+            for (int i = random.nextInt(4); i > 0; i--) {
+                sandwich.addAddOn(SANDWICH_ADD_ONS[random.nextInt(SANDWICH_ADD_ONS.length)]);
+            }
+            return sandwich;
+        }
+        Donut donut = new Donut(FLAVORS[random.nextInt(FLAVORS.length)]);
+        donut.setQuantity(1 + random.nextInt(6));
+        return donut;
+    }
+
+    /**
+     * The settings of a run.
+     */
+    public static final class Options {
+        static final String USAGE = "Options:\n"
+                + "  --registers N        simulated registers, one thread each (default 4)\n"
+                + "  --duration SECONDS   measured time (default 30)\n"
+                + "  --warmup SECONDS     time before measuring (default 5)\n"
+                + "  --think MILLIS       mean think time between steps, 0 for none (default 0)\n"
+                + "  --mix C,S,D          weights of coffee, sandwiches and donuts (default 50,30,20)\n"
+                + "  --items MIN-MAX      items per cart (default 1-5)\n"
+                + "  --cancel PERCENT     share of placed orders cancelled (default 5)\n"
+                + "  --max-orders N       orders kept before the oldest are picked up (default 50000)\n"
+                + "  --journal FILE       record every change in an order journal at FILE\n"
+                + "  --seed N             random seed (default 1)";
+
+        int registers = 4;
+        int durationSeconds = 30;
+        int warmupSeconds = 5;
+        int thinkMillis;
+        final int[] mix = {50, 30, 20};
+        int minItems = 1;
+        int maxItems = 5;
+        int cancelPercent = 5;
+        int maxLiveOrders = 50000;
+        File journal;
+        long seed = 1;
+
+        /**
+         * Parses command line options.
+         *
+         * @param args The options.
+         * @return The settings, or null if --help was asked for.
+         * @throws IllegalArgumentException If an option is unknown or its value is invalid.
+         */
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (name.equals("--help")) return null;
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+                String value = args[++i];
+                if (name.equals("--registers")) {
+                    options.registers = positive(name, value);
+                } else if (name.equals("--duration")) {
+                    options.durationSeconds = positive(name, value);
+                } else if (name.equals("--warmup")) {
+                    options.warmupSeconds = atLeastZero(name, value);
+                } else if (name.equals("--think")) {
+                    options.thinkMillis = atLeastZero(name, value);
+                } else if (name.equals("--mix")) {
+                    String[] weights = value.split(",");
+                    if (weights.length != options.mix.length) {
+                        throw new IllegalArgumentException("--mix needs three weights: " + value);
+                    }
+                    for (int k = 0; k < weights.length; k++) {
+                        options.mix[k] = atLeastZero(name, weights[k].trim());
+                    }
+                    if (options.mixTotal() == 0) {
+                        throw new IllegalArgumentException("--mix weights are all zero");
+                    }
+                } else if (name.equals("--items")) {
+                    String[] range = value.split("-");
+                    options.minItems = positive(name, range[0]);
+                    options.maxItems = range.length > 1 ? positive(name, range[1]) : options.minItems;
+                    if (options.maxItems < options.minItems) {
+                        throw new IllegalArgumentException("--items range is empty: " + value);
+                    }
+                } else if (name.equals("--cancel")) {
+                    options.cancelPercent = atLeastZero(name, value);
+                    if (options.cancelPercent > 100) {
+                        throw new IllegalArgumentException("--cancel is over 100: " + value);
+                    }
+                } else if (name.equals("--max-orders")) {
+                    options.maxLiveOrders = positive(name, value);
+                } else if (name.equals("--journal")) {
+                    options.journal = new File(value);
+                } else if (name.equals("--seed")) {
+                    options.seed = Long.parseLong(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + name);
+                }
+            }
+            return options;
+        }
+
+        /**
+         * Sums the weights of the menu mix.
+         *
+         * @return The total weight.
+         */
+        int mixTotal() {
+            int total = 0;
+            for (int weight : mix) {
+                total += weight;
+            }
+            return total;
+        }
+
+        private static int positive(String name, String value) {
+            int number = atLeastZero(name, value);
+            if (number == 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return number;
+        }
+
+        private static int atLeastZero(String name, String value) {
+            try {
+                int number = Integer.parseInt(value);
+                if (number >= 0) return number;
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            throw new IllegalArgumentException(name + " needs a number of zero or more: " + value);
+        }
+    }
+
+    /**
+     * The results of the measured period of a run.
+     */
+    public static final class Report {
+        private final Options options;
+        private final List<LatencyHistogram.Snapshot> steps = new ArrayList<>();
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+        private final long collections;
+        private final long collectionMillis;
+        private final int ordersLeft;
+
+        private Report(Options options, Phase phase, long elapsedNanos, long allocatedBytes,
+                       long collections, long collectionMillis, int ordersLeft) {
+            this.options = options;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.collections = collections;
+            this.collectionMillis = collectionMillis;
+            this.ordersLeft = ordersLeft;
+            steps.add(phase.addToCart.snapshot());
+            steps.add(phase.placeOrder.snapshot());
+            steps.add(phase.cancelOrder.snapshot());
+            steps.add(phase.pickUp.snapshot());
+        }
+
+        /**
+         * Gets the number of orders placed per second.
+         *
+         * @return The placement throughput.
+         */
+        public double getOrdersPerSecond() {
+            return perSecond(steps.get(1).getCount());
+        }
+
+        /**
+         * Gets the latencies of one step of the run.
+         *
+         * @param name The step: addToCart, placeOrder, cancelOrder or pickUp.
+         * @return The latencies, or null for an unknown step.
+         */
+        public LatencyHistogram.Snapshot getStep(String name) {
+            for (LatencyHistogram.Snapshot step : steps) {
+                if (step.getName().equals(name)) return step;
+            }
+            return null;
+        }
+
+        /**
+         * Gets the bytes allocated per second by the whole process during the run.
+         *
+         * @return The allocation rate, or -1 if the JVM does not report allocations.
+         */
+        public double getAllocatedBytesPerSecond() {
+            return allocatedBytes < 0 ? -1 : perSecond(allocatedBytes);
+        }
+
+        private double perSecond(long count) {
+            return count * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Writes the report as a table of steps followed by the totals.
+         *
+         * @return The report text.
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.US,
+                    "%d registers, %.1f s measured after %d s warm-up, think %d ms, mix %d/%d/%d, "
+                            + "%d-%d items, %d%% cancelled, journal %s%n",
+                    options.registers, elapsedNanos / 1e9, options.warmupSeconds, options.thinkMillis,
+                    options.mix[0], options.mix[1], options.mix[2], options.minItems, options.maxItems,
+                    options.cancelPercent, options.journal == null ? "off" : options.journal.getPath()));
+            sb.append(String.format(Locale.US, "%-12s %10s %12s %10s %10s %10s %10s %10s %10s%n",
+                    "step", "count", "per second", "mean us", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+            for (LatencyHistogram.Snapshot step : steps) {
+                sb.append(String.format(Locale.US, "%-12s %10d %12.1f %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                        step.getName(), step.getCount(), perSecond(step.getCount()),
+                        step.getMeanNanos() / 1e3, step.getPercentileNanos(50) / 1e3,
+                        step.getPercentileNanos(90) / 1e3, step.getPercentileNanos(99) / 1e3,
+                        step.getPercentileNanos(99.9) / 1e3, step.getMaxNanos() / 1e3));
+            }
+            long orders = steps.get(1).getCount();
+            if (allocatedBytes < 0) {
+                sb.append("allocation: not reported by this JVM\n");
+            } else {
+                sb.append(String.format(Locale.US, "allocation: %.1f MB/s, %d bytes per placed order%n",
+                        getAllocatedBytesPerSecond() / 1e6, orders == 0 ? 0 : allocatedBytes / orders));
+            }
+            sb.append(String.format(Locale.US, "gc: %d collections, %d ms%n", collections, collectionMillis));
+            sb.append(String.format(Locale.US, "orders in the store at the end: %d", ordersLeft));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+plugins {
+    `java-library`
+}
+
+// The order engine: menu items, pricing, orders, the order store and its journal and archive, and
+// the order service the screens call. It is plain Java with no Android dependency, so it runs and is
+// tested on any JVM.
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,123 @@
+package com.example.rutgerscafe;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The AddIn enum is the fixed vocabulary of coffee add-ins and sandwich add-ons.
+ * Each add-in owns one bit, so the add-ins chosen for an item are stored as a single int mask.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public enum AddIn implements MenuOption {
+    SWEET_CREAM("Sweet Cream"),
+    MOCHA("Mocha"),
+    FRENCH_VANILLA("French Vanilla"),
+    IRISH_CREAM("Irish Cream"),
+    CARAMEL("Caramel"),
+    LETTUCE("Lettuce"),
+    TOMATO("Tomato"),
+    ONION("Onion"),
+    CHEESE("Cheese");
+
+    private static final AddIn[] VALUES = values();
+    private final String displayName;
+
+    /**
+     * Constructs an add-in with the name shown on screen.
+     *
+     * @param displayName The name shown on screen.
+     */
+    AddIn(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the bit that marks this add-in in a mask.
+     *
+     * @return The bit of this add-in.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Finds the add-in with the given display name, ignoring case.
+     *
+     * @param name The display name.
+     * @return The add-in.
+     * @throws IllegalArgumentException If no add-in has that name.
+     */
+    public static AddIn fromName(String name) {
+        return MenuCatalog.find(VALUES, name);
+    }
+
+    /**
+     * Returns the display name.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * Builds the mask of a set of add-in names.
+     *
+     * @param names The display names.
+     * @return The mask with a bit set for each name.
+     */
+    public static int maskOf(Iterable<String> names) {
+        int mask = 0;
+        for (String name : names) {
+            mask |= fromName(name).mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Lists the display names of the add-ins in a mask, in declaration order.
+     *
+     * @param mask The add-in mask.
+     * @return The display names.
+     */
+    public static Set<String> namesOf(int mask) {
+        Set<String> names = new LinkedHashSet<>();
+        for (AddIn addIn : VALUES) {
+            if ((mask & addIn.mask()) != 0) {
+                names.add(addIn.displayName);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Appends the display names of the add-ins in a mask as " [a, b]", or nothing if the mask is empty.
+     *
+     * @param sb   The builder to append to.
+     * @param mask The add-in mask.
+     */
+    static void appendNames(StringBuilder sb, int mask) {
+        if (mask == 0) return;
+        sb.append(" [");
+        boolean first = true;
+        for (AddIn addIn : VALUES) {
+            if ((mask & addIn.mask()) != 0) {
+                if (!first) sb.append(", ");
+                sb.append(addIn.displayName);
+                first = false;
+            }
+        }
+        sb.append("]");
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rutgerscafe;
+
+/**
+ * The Bread enum lists the sandwich breads.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public enum Bread implements MenuOption {
+    BAGEL("Bagel"),
+    WHEAT_BREAD("Wheat Bread"),
+    SOUR_DOUGH("Sour Dough");
+
+    private static final Bread[] VALUES = values();
+    private final String displayName;
+
+    /**
+     * Constructs a bread with the name shown on screen.
+     *
+     * @param displayName The name shown on screen.
+     */
+    Bread(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Finds the bread with the given display name, ignoring case.
+     *
+     * @param name The display name.
+     * @return The bread.
+     * @throws IllegalArgumentException If no bread has that name.
+     */
+    public static Bread fromName(String name) {
+        return MenuCatalog.find(VALUES, name);
+    }
+
+    /**
+     * Returns the display name, so spinners can show the values directly.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.rutgerscafe;
+
+import java.util.Set;
+
+/**
+ * This class handles all the functions of a coffee object and allows for its creation
+ * The add-ins are stored as an AddIn bit mask, so pricing and copying take constant time.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class Coffee extends MenuItem{
+    private static final long serialVersionUID = 1L;
+    private CupSize cupSize;
+    private int addInMask;
+    private int quantity;
+
+    /**
+     * Constructs a Coffee object with the specified cup size, number of additional ingredients, and quantity.
+     *
+     * @param cupSize         The size of the coffee cup (e.g., short, tall, grande, venti)
+     * @param numberOfAddIns  Unused; the number of additional ingredients follows the add-ins added
+     * @param quantity        The quantity of coffee ordered
+     */
+    public Coffee(String cupSize, int numberOfAddIns, int quantity) {
+        this(CupSize.fromName(cupSize), quantity);
+    }
+
+    /**
+     * Constructs a Coffee object with the specified cup size and quantity and no add-ins.
+     *
+     * @param cupSize  The size of the coffee cup
+     * @param quantity The quantity of coffee ordered
+     */
+    public Coffee(CupSize cupSize, int quantity) {
+        this.cupSize = cupSize;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Constructs a Coffee object copy of another coffee object
+     * @param other --> coffe to be copied
+     */
+    public Coffee(Coffee other){
+        this.cupSize = other.cupSize;
+        this.quantity = other.quantity;
+        this.addInMask = other.addInMask;
+    }
+
+
+
+    /**
+     * Calculates the price of the coffee in cents based on its size, additional ingredients, and quantity.
+     *
+     * @return The total price of the coffee in cents
+     */
+    @Override
+    public long priceCents() {
+        MenuCatalog menu = MenuCatalog.get();
+        long sizePrice = menu.priceCents(cupSize);
+        long addInPrice = menu.coffeeAddInsPriceCents(addInMask);
+        return (menu.getCoffeeBasePriceCents() + sizePrice + addInPrice) * quantity;
+    }
+
+    /**
+     * Gets the kind of the menu item.
+     *
+     * @return ItemKind.COFFEE
+     */
+    @Override
+    public ItemKind getKind() {
+        return ItemKind.COFFEE;
+    }
+
+    /**
+     * Adds an additional ingredient to the coffee by adding to the Set of AddIns.
+     *
+     * @param addIn The additional ingredient to add
+     */
+    public void addAddIn(String addIn){
+        addAddIn(AddIn.fromName(addIn));
+    }
+
+    /**
+     * Adds an additional ingredient to the coffee.
+     *
+     * @param addIn The additional ingredient to add
+     */
+    public void addAddIn(AddIn addIn){
+        this.addInMask |= addIn.mask();
+    }
+
+    /**
+     * Removes an additional ingredient from the coffee.
+     *
+     * @param addIn The additional ingredient to remove
+     */
+    public void removeAddIn(String addIn){
+        removeAddIn(AddIn.fromName(addIn));
+    }
+
+    /**
+     * Removes an additional ingredient from the coffee.
+     *
+     * @param addIn The additional ingredient to remove
+     */
+    public void removeAddIn(AddIn addIn){
+        this.addInMask &= ~addIn.mask();
+    }
+
+
+    /**
+     * Appends the description of the coffee item to a builder.
+     *
+     * @param sb The builder to append to
+     * @return The builder
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append("Coffee ").append("(").append(this.quantity).append(")").append(" ").append(cupSize.getDisplayName());
+        AddIn.appendNames(sb, addInMask);
+        return sb;
+    }
+
+    /**
+     * Generates a string representation of the coffee item.
+     *
+     * @return A string representation of the coffee item
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Gets the names of the additional ingredients.
+     *
+     * @return A new set holding the names of the additional ingredients
+     */
+    public Set<String> getAddIns() {
+        return AddIn.namesOf(addInMask);
+    }
+
+    /**
+     * Sets the additional ingredients by name.
+     *
+     * @param addIns The names of the additional ingredients to set
+     */
+    public void setAddIns(Set<String > addIns){
+
+        this.addInMask = AddIn.maskOf(addIns);
+    }
+
+    /**
+     * Gets the additional ingredients as an AddIn bit mask.
+     *
+     * @return The add-in mask
+     */
+    public int getAddInMask() {
+        return addInMask;
+    }
+
+    /**
+     * Sets the additional ingredients from an AddIn bit mask.
+     *
+     * @param addInMask The add-in mask
+     */
+    public void setAddInMask(int addInMask) {
+        this.addInMask = addInMask;
+    }
+
+    /**
+     * Gets the name of the cup size of the coffee.
+     *
+     * @return The cup size name
+     */
+    public String getCupSize() {
+        return cupSize.getDisplayName();
+    }
+
+    /**
+     * Gets the cup size of the coffee.
+     *
+     * @return The cup size
+     */
+    public CupSize getSize() {
+        return cupSize;
+    }
+
+    /**
+     * Sets the cup size of the coffee by name.
+     *
+     * @param cupSize The cup size to set
+     */
+    public void setCupSize(String cupSize) {
+        this.cupSize = CupSize.fromName(cupSize);
+    }
+
+    /**
+     * Sets the cup size of the coffee.
+     *
+     * @param cupSize The cup size to set
+     */
+    public void setCupSize(CupSize cupSize) {
+        this.cupSize = cupSize;
+    }
+
+    /**
+     * Gets the number of additional ingredients.
+     *
+     * @return The number of additional ingredients
+     */
+    public int getNumberOfAddIns() {
+        return Integer.bitCount(addInMask);
+    }
+
+    /**
+     * Gets the quantity of coffee ordered.
+     *
+     * @return The quantity
+     */
+    @Override
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the quantity of coffee ordered.
+     *
+     * @param quantity The quantity to set
+     */
+    public void setQuantity(int quantity){
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rutgerscafe;
+
+/**
+ * The CupSize enum lists the coffee cup sizes; its ordinal indexes the size price table of MenuCatalog.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public enum CupSize implements MenuOption {
+    SHORT("Short"),
+    TALL("Tall"),
+    GRANDE("Grande"),
+    VENTI("Venti");
+
+    private static final CupSize[] VALUES = values();
+    private final String displayName;
+
+    /**
+     * Constructs a cup size with the name shown on screen.
+     *
+     * @param displayName The name shown on screen.
+     */
+    CupSize(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Finds the cup size with the given display name, ignoring case.
+     *
+     * @param name The display name.
+     * @return The cup size.
+     * @throws IllegalArgumentException If no cup size has that name.
+     */
+    public static CupSize fromName(String name) {
+        return MenuCatalog.find(VALUES, name);
+    }
+
+    /**
+     * Returns the display name, so spinners can show the values directly.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.rutgerscafe;
+
+/**
+ * This class formats amounts of money for the screens: dollars with two decimals, such as 12.05,
+ * optionally after a prefix such as "$" or "Subtotal: $".
+ * Amounts are written from cents into a reusable buffer, so formatting parses no pattern and, once
+ * the buffer has grown to fit, allocates nothing. For any amount under ten trillion dollars the text
+ * is the same as String.format("%.2f") of the amount in dollars in the US locale, whatever the locale
+ * of the device.
+ * An instance is not thread safe; each screen keeps its own and uses it from the main thread.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class CurrencyFormat {
+    private final StringBuilder buffer = new StringBuilder(32);
+
+    /**
+     * Formats an amount.
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount, valid until this instance formats again.
+     */
+    public CharSequence format(long cents) {
+        buffer.setLength(0);
+        return appendCents(buffer, cents);
+    }
+
+    /**
+     * Formats an amount after a prefix.
+     *
+     * @param prefix The text before the amount, such as "$".
+     * @param cents  The amount in cents.
+     * @return The formatted text, valid until this instance formats again.
+     */
+    public CharSequence format(String prefix, long cents) {
+        buffer.setLength(0);
+        return appendCents(buffer.append(prefix), cents);
+    }
+
+    /**
+     * Appends an amount in cents as dollars with two decimals.
+     *
+     * @param sb    The builder to append to.
+     * @param cents The amount in cents.
+     * @return The builder.
+     */
+    public static StringBuilder appendCents(StringBuilder sb, long cents) {
+        long dollars = cents / 100;
+        int fraction = (int) Math.abs(cents % 100);
+        if (cents < 0) {
+            sb.append('-');
+        }
+        sb.append(Math.abs(dollars)).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.rutgerscafe;
+
+/**
+ * The Donut class represents a donut item in the menu.
+ * It extends MenuItem class.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class Donut extends MenuItem {
+    private static final long serialVersionUID = 1L;
+    private DonutFlavor flavor;
+    private long basePriceCents;
+    private int quantity;
+
+    /**
+     * Constructs a Donut object with the specified flavor and base price in cents.
+     *
+     * @param flavor         The flavor of the donut
+     * @param basePriceCents The base price of donut ordered in cents
+     */
+    public Donut(String flavor, long basePriceCents) {
+        this(DonutFlavor.fromName(flavor), basePriceCents);
+    }
+
+    /**
+     * Constructs a Donut object of the specified flavor at its catalog price.
+     *
+     * @param flavor The flavor of the donut
+     */
+    public Donut(DonutFlavor flavor) {
+        this(flavor, MenuCatalog.get().priceCents(flavor));
+    }
+
+    /**
+     * Constructs a Donut object with the specified flavor and base price in cents.
+     *
+     * @param flavor         The flavor of the donut
+     * @param basePriceCents The base price of donut ordered in cents
+     */
+    public Donut(DonutFlavor flavor, long basePriceCents) {
+        this.flavor = flavor;
+        this.basePriceCents = basePriceCents;
+        this.quantity = 0;
+    }
+
+    /**
+     * Creates a Donut with its base price given in dollars. A factory instead of a constructor, so a
+     * whole number price cannot be mistaken for cents.
+     *
+     * @param flavor    The flavor of the donut
+     * @param basePrice The base price of donut ordered in dollars
+     * @return The donut.
+     */
+    public static Donut ofDollars(String flavor, double basePrice) {
+        return new Donut(flavor, Math.round(basePrice * 100));
+    }
+
+    /**
+     * Constructs a Donut object copy of an other donut object.
+     *
+     * @param other donut to be copied
+     */
+    public Donut(Donut other)
+    {
+        this.flavor = other.flavor;
+        this.quantity = other.quantity;
+        this.basePriceCents = other.basePriceCents;
+    }
+
+    /**
+     * Gets the flavor of the donut.
+     *
+     * @return The flavor of the donut
+     */
+    public String getFlavor() {
+        return flavor.getDisplayName();
+    }
+
+    /**
+     * Gets the flavor of the donut as a catalog value.
+     *
+     * @return The flavor of the donut
+     */
+    public DonutFlavor getDonutFlavor() {
+        return flavor;
+    }
+
+    /**
+     * Gets the base price of the donut.
+     *
+     * @return The base price of the donut
+     */
+    public double getBasePrice() {
+        return basePriceCents / 100.0;
+    }
+
+    /**
+     * Gets the base price of the donut in cents.
+     *
+     * @return The base price of the donut in cents
+     */
+    public long getBasePriceCents() {
+        return basePriceCents;
+    }
+
+    /**
+     * Gets the qty of the donut.
+     *
+     * @return The quantity of the donut type
+     */
+    @Override
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * sets the qty of the donut.
+     *
+     * @param  quantity --> quantity of donut to be set to
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Calculates the price of the donut in cents based on its type and quantity.
+     *
+     * @return The total price of the donut in cents
+     */
+    @Override
+    public long priceCents() {
+        return basePriceCents * quantity;
+    }
+
+    /**
+     * Gets the kind of the menu item.
+     *
+     * @return ItemKind.DONUT
+     */
+    @Override
+    public ItemKind getKind() {
+        return ItemKind.DONUT;
+    }
+
+
+
+    /**
+     * Generates a string representation of the donut item.
+     *
+     * @return A string representation of the donut item
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the description of the donut item to a builder.
+     *
+     * @param sb The builder to append to
+     * @return The builder
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(flavor.getDisplayName()).append(" (").append(quantity).append(")");
+    }
+}
\ No newline at end of file
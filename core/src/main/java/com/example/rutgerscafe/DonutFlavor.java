@@ -0,0 +1,64 @@
+package com.example.rutgerscafe;
+
+/**
+ * The DonutFlavor enum lists the donut flavors; its ordinal indexes the donut price and image
+ * tables of MenuCatalog.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public enum DonutFlavor implements MenuOption {
+    BOSTON_CREAM("boston cream"),
+    GLAZED("glazed"),
+    JELLY("jelly"),
+    APPLE_CRUMBLE("apple crumble"),
+    CINNAMON("cinnamon"),
+    MAPLE_FROSTED("maple frosted"),
+    STRAWBERRY_FROSTED("strawberry frosted"),
+    VANILLA_FROSTED("vanilla frosted"),
+    CHOCOLATE_FROSTED("chocolate frosted"),
+    JELLY_HOLES("jelly holes"),
+    GLAZED_HOLES("glazed holes"),
+    POWDERED_HOLES("powdered holes");
+
+    private static final DonutFlavor[] VALUES = values();
+    private final String displayName;
+
+    /**
+     * Constructs a flavor with the name shown on screen.
+     *
+     * @param displayName The name shown on screen.
+     */
+    DonutFlavor(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Finds the flavor with the given display name, ignoring case.
+     *
+     * @param name The display name.
+     * @return The flavor.
+     * @throws IllegalArgumentException If no flavor has that name.
+     */
+    public static DonutFlavor fromName(String name) {
+        return MenuCatalog.find(VALUES, name);
+    }
+
+    /**
+     * Returns the display name, so spinners can show the values directly.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rutgerscafe;
+
+/**
+ * The ItemKind enum lists the kinds of menu items, which are also the sales categories of the cafe.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public enum ItemKind implements MenuOption {
+    COFFEE("Coffee"),
+    SANDWICH("Sandwich"),
+    DONUT("Donut");
+
+    private static final ItemKind[] VALUES = values();
+    private final String displayName;
+
+    /**
+     * Constructs an item kind with the name shown on screen.
+     *
+     * @param displayName The name shown on screen.
+     */
+    ItemKind(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Finds the item kind with the given display name, ignoring case.
+     *
+     * @param name The display name.
+     * @return The item kind.
+     * @throws IllegalArgumentException If no item kind has that name.
+     */
+    public static ItemKind fromName(String name) {
+        return MenuCatalog.find(VALUES, name);
+    }
+
+    /**
+     * Returns the display name, so spinners can show the values directly.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,509 @@
+package com.example.rutgerscafe;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class sequences the kitchen. Every placed order is split into work items, one per unit of each
+ * menu item, and each work item is queued at the station of its kind: the coffee bar, the sandwich
+ * line or the donut counter. Each station has its own worker threads and its own prep time estimate
+ * per unit.
+ * An order is ready when its last work item is done, so a station always works on the items of the
+ * oldest scheduled order first, even when orders are scheduled from several threads at once; an
+ * order is never held back by items of later orders, and splitting by unit lets several workers
+ * share a large item. Cancelled orders are
+ * dropped from the queues as their items come up.
+ * Each station reports its queue depth, its peak queue depth, the units it finished, its throughput
+ * and the estimated time to clear its queue.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class KitchenScheduler implements OrderSingleton.OrderListener, Closeable {
+    static final int[] DEFAULT_WORKERS = {2, 1, 1};
+    static final long[] DEFAULT_PREP_MILLIS = {45000, 120000, 5000};
+
+    /**
+     * Prepares work items by sleeping for their prep time estimate, standing in for the kitchen.
+     */
+    public static final Preparer SIMULATED = new Preparer() {
+        @Override
+        public void prepare(MenuItem item, long estimateNanos) throws InterruptedException {
+            TimeUnit.NANOSECONDS.sleep(estimateNanos);
+        }
+    };
+
+    private final Station[] stations = new Station[ItemKind.values().length];
+    private final Map<Integer, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Preparer preparer;
+    private final Listener listener;
+    private final Executor listenerExecutor;
+
+    /**
+     * Makes one unit of a menu item at its station.
+     */
+    public interface Preparer {
+
+        /**
+         * Called on a station worker thread to make one unit of a menu item.
+         *
+         * @param item          The menu item.
+         * @param estimateNanos The prep time estimate of one unit at the item's station.
+         * @throws InterruptedException If the scheduler is closed while the unit is made.
+         */
+        void prepare(MenuItem item, long estimateNanos) throws InterruptedException;
+    }
+
+    /**
+     * Receives the orders the kitchen has finished.
+     */
+    public interface Listener {
+
+        /**
+         * Called once every work item of an order is done.
+         *
+         * @param order        The finished order.
+         * @param latencyNanos The time from scheduling the order until it was finished.
+         */
+        void orderReady(Order order, long latencyNanos);
+    }
+
+    /**
+     * Creates a kitchen with the default number of workers and prep time estimates.
+     *
+     * @param preparer         Makes the work items.
+     * @param listener         Told when orders are finished.
+     * @param listenerExecutor Runs the listener, for example on the main thread.
+     */
+    public KitchenScheduler(Preparer preparer, Listener listener, Executor listenerExecutor) {
+        this(DEFAULT_WORKERS, DEFAULT_PREP_MILLIS, preparer, listener, listenerExecutor);
+    }
+
+    /**
+     * Creates a kitchen and starts the workers of every station.
+     *
+     * @param workers          The number of workers of each station, indexed by ItemKind ordinal.
+     * @param prepMillis       The prep time estimate of one unit at each station, indexed by ItemKind
+     *                         ordinal.
+     * @param preparer         Makes the work items.
+     * @param listener         Told when orders are finished.
+     * @param listenerExecutor Runs the listener, for example on the main thread.
+     */
+    public KitchenScheduler(int[] workers, long[] prepMillis, Preparer preparer, Listener listener,
+                            Executor listenerExecutor) {
+        if (workers.length != stations.length || prepMillis.length != stations.length) {
+            throw new IllegalArgumentException("Expected one worker count and prep time per station");
+        }
+        this.preparer = preparer;
+        this.listener = listener;
+        this.listenerExecutor = listenerExecutor;
+        for (ItemKind kind : ItemKind.values()) {
+            int i = kind.ordinal();
+            if (workers[i] <= 0 || prepMillis[i] < 0) {
+                throw new IllegalArgumentException("Invalid station " + kind + ": " + workers[i]
+                        + " workers, " + prepMillis[i] + " ms");
+            }
+            stations[i] = new Station(kind, workers[i], TimeUnit.MILLISECONDS.toNanos(prepMillis[i]));
+        }
+    }
+
+    /**
+     * Creates a kitchen that prepares every order placed in a store and drops cancelled ones.
+     *
+     * @param store            The order store.
+     * @param preparer         Makes the work items.
+     * @param listener         Told when orders are finished.
+     * @param listenerExecutor Runs the listener.
+     * @return The kitchen.
+     */
+    public static KitchenScheduler attach(OrderSingleton store, Preparer preparer, Listener listener,
+                                          Executor listenerExecutor) {
+        KitchenScheduler kitchen = new KitchenScheduler(preparer, listener, listenerExecutor);
+        store.addListener(kitchen);
+        return kitchen;
+    }
+
+    /**
+     * Schedules a placed order.
+     *
+     * @param order The added order.
+     */
+    @Override
+    public void orderAdded(Order order) {
+        schedule(order);
+    }
+
+    /**
+     * Drops the remaining work items of a cancelled order.
+     *
+     * @param order The removed order.
+     */
+    @Override
+    public void orderRemoved(Order order) {
+        Ticket ticket = tickets.remove(order.getOrderNumber());
+        if (ticket != null) {
+            ticket.cancelled = true;
+        }
+    }
+
+    /**
+     * Splits an order into work items and queues them at their stations. An order without items is
+     * ready at once; an order that is already scheduled is not queued again.
+     *
+     * @param order The order to prepare.
+     * @return False if the order was already scheduled and not finished yet.
+     */
+    public boolean schedule(Order order) {
+        List<MenuItem> items = order.getMenuItems();
+        int units = 0;
+        for (int i = 0; i < items.size(); i++) {
+            units += Math.max(items.get(i).getQuantity(), 0);
+        }
+        Ticket ticket = new Ticket(order, nextSequence.getAndIncrement(), units);
+        if (tickets.putIfAbsent(order.getOrderNumber(), ticket) != null) return false;
+        if (units == 0) {
+            finish(ticket);
+            return true;
+        }
+        int unit = 0;
+        for (int i = 0; i < items.size(); i++) {
+            MenuItem item = items.get(i);
+            Station station = stations[item.getKind().ordinal()];
+            for (int q = 0; q < item.getQuantity(); q++) {
+                station.enqueue(new WorkItem(station, ticket, item, unit++));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the statistics of a station.
+     *
+     * @param kind The kind of menu item the station prepares.
+     * @return The station statistics at this moment.
+     */
+    public StationStats getStats(ItemKind kind) {
+        return stations[kind.ordinal()].stats();
+    }
+
+    /**
+     * Gets the estimated time until every order scheduled so far is finished: the longest time any
+     * station needs to clear its queue.
+     *
+     * @return The estimate in nanoseconds.
+     */
+    public long getEstimatedBacklogNanos() {
+        long backlog = 0;
+        for (Station station : stations) {
+            backlog = Math.max(backlog, station.estimatedBacklogNanos());
+        }
+        return backlog;
+    }
+
+    /**
+     * Stops every station. Work items still queued are dropped and units being made are interrupted.
+     */
+    @Override
+    public void close() {
+        for (Station station : stations) {
+            station.workers.shutdownNow();
+        }
+        try {
+            for (Station station : stations) {
+                station.workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reports a finished order to the listener.
+     *
+     * @param ticket The ticket of the finished order.
+     */
+    private void finish(final Ticket ticket) {
+        if (!tickets.remove(ticket.order.getOrderNumber(), ticket)) return;
+        final long latencyNanos = System.nanoTime() - ticket.scheduledNanos;
+        listenerExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.orderReady(ticket.order, latencyNanos);
+            }
+        });
+    }
+
+    /**
+     * A scheduled order and the number of its work items still to be done.
+     */
+    private static final class Ticket {
+        private final Order order;
+        private final long sequence;
+        private final long scheduledNanos = System.nanoTime();
+        private final AtomicInteger remaining;
+        private volatile boolean cancelled;
+
+        private Ticket(Order order, long sequence, int units) {
+            this.order = order;
+            this.sequence = sequence;
+            this.remaining = new AtomicInteger(units);
+        }
+    }
+
+    /**
+     * One unit of a menu item to be made at a station. Work items run oldest order first, and in
+     * item order within an order.
+     */
+    private final class WorkItem implements Runnable, Comparable<WorkItem> {
+        private final Station station;
+        private final Ticket ticket;
+        private final MenuItem item;
+        private final int unit;
+
+        private WorkItem(Station station, Ticket ticket, MenuItem item, int unit) {
+            this.station = station;
+            this.ticket = ticket;
+            this.item = item;
+            this.unit = unit;
+        }
+
+        @Override
+        public void run() {
+            if (ticket.cancelled) {
+                station.dropped.incrementAndGet();
+                return;
+            }
+            long start = System.nanoTime();
+            station.waitNanos.addAndGet(start - ticket.scheduledNanos);
+            try {
+                preparer.prepare(item, station.prepNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            station.busyNanos.addAndGet(System.nanoTime() - start);
+            station.completed.incrementAndGet();
+            if (ticket.remaining.decrementAndGet() == 0) {
+                finish(ticket);
+            }
+        }
+
+        @Override
+        public int compareTo(WorkItem other) {
+            if (ticket.sequence != other.ticket.sequence) {
+                return ticket.sequence < other.ticket.sequence ? -1 : 1;
+            }
+            return Integer.compare(unit, other.unit);
+        }
+    }
+
+    /**
+     * A station: its workers, its queue of work items and its counters.
+     */
+    private final class Station {
+        private final ItemKind kind;
+        private final int workerCount;
+        private final long prepNanos;
+        private final ThreadPoolExecutor workers;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+        private final AtomicInteger peakDepth = new AtomicInteger();
+
+        private Station(ItemKind kind, int workerCount, long prepNanos) {
+            this.kind = kind;
+            this.workerCount = workerCount;
+            this.prepNanos = prepNanos;
+            final String name = "kitchen-" + kind.name().toLowerCase() + "-";
+            final AtomicInteger threadNumber = new AtomicInteger();
+            this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                    new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, name + threadNumber.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            this.workers.prestartAllCoreThreads();
+        }
+
+        /**
+         * Queues a work item and records the queue depth.
+         *
+         * @param workItem The work item.
+         */
+        private void enqueue(WorkItem workItem) {
+            workers.execute(workItem);
+            int depth = workers.getQueue().size();
+            int peak = peakDepth.get();
+            while (depth > peak && !peakDepth.compareAndSet(peak, depth)) {
+                peak = peakDepth.get();
+            }
+        }
+
+        /**
+         * Estimates how long the workers need to clear the queue.
+         *
+         * @return The estimate in nanoseconds.
+         */
+        private long estimatedBacklogNanos() {
+            long units = workers.getQueue().size() + workers.getActiveCount();
+            return (units + workerCount - 1) / workerCount * prepNanos;
+        }
+
+        /**
+         * Takes a copy of the station counters.
+         *
+         * @return The statistics.
+         */
+        private StationStats stats() {
+            return new StationStats(kind, workerCount, prepNanos, workers.getQueue().size(), peakDepth.get(),
+                    completed.get(), dropped.get(), busyNanos.get(), waitNanos.get(),
+                    System.nanoTime() - startNanos, estimatedBacklogNanos());
+        }
+    }
+
+    /**
+     * A copy of the counters of one station.
+     */
+    public static final class StationStats {
+        private final ItemKind kind;
+        private final int workers;
+        private final long prepNanos;
+        private final int queueDepth;
+        private final int peakQueueDepth;
+        private final long completedUnits;
+        private final long droppedUnits;
+        private final long busyNanos;
+        private final long waitNanos;
+        private final long elapsedNanos;
+        private final long backlogNanos;
+
+        private StationStats(ItemKind kind, int workers, long prepNanos, int queueDepth, int peakQueueDepth,
+                             long completedUnits, long droppedUnits, long busyNanos, long waitNanos,
+                             long elapsedNanos, long backlogNanos) {
+            this.kind = kind;
+            this.workers = workers;
+            this.prepNanos = prepNanos;
+            this.queueDepth = queueDepth;
+            this.peakQueueDepth = peakQueueDepth;
+            this.completedUnits = completedUnits;
+            this.droppedUnits = droppedUnits;
+            this.busyNanos = busyNanos;
+            this.waitNanos = waitNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.backlogNanos = backlogNanos;
+        }
+
+        /**
+         * Gets the kind of menu item the station prepares.
+         *
+         * @return The item kind.
+         */
+        public ItemKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Gets the number of workers of the station.
+         *
+         * @return The number of workers.
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * Gets the prep time estimate of one unit.
+         *
+         * @return The estimate in nanoseconds.
+         */
+        public long getPrepNanos() {
+            return prepNanos;
+        }
+
+        /**
+         * Gets the number of work items waiting for a worker.
+         *
+         * @return The queue depth.
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * Gets the largest queue depth seen since the station started.
+         *
+         * @return The peak queue depth.
+         */
+        public int getPeakQueueDepth() {
+            return peakQueueDepth;
+        }
+
+        /**
+         * Gets the number of units made.
+         *
+         * @return The completed units.
+         */
+        public long getCompletedUnits() {
+            return completedUnits;
+        }
+
+        /**
+         * Gets the number of units dropped because their order was cancelled.
+         *
+         * @return The dropped units.
+         */
+        public long getDroppedUnits() {
+            return droppedUnits;
+        }
+
+        /**
+         * Gets the units made per second since the station started.
+         *
+         * @return The throughput.
+         */
+        public double getThroughputPerSecond() {
+            return elapsedNanos == 0 ? 0 : completedUnits * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the share of worker time spent making units since the station started.
+         *
+         * @return The utilization, 0 to 1.
+         */
+        public double getUtilization() {
+            return elapsedNanos == 0 ? 0 : (double) busyNanos / ((double) elapsedNanos * workers);
+        }
+
+        /**
+         * Gets the average time a completed unit waited between its order being scheduled and a
+         * worker starting it.
+         *
+         * @return The average wait in nanoseconds.
+         */
+        public long getAverageWaitNanos() {
+            return completedUnits == 0 ? 0 : waitNanos / completedUnits;
+        }
+
+        /**
+         * Gets the estimated time for the workers to clear the queue.
+         *
+         * @return The estimate in nanoseconds.
+         */
+        public long getEstimatedBacklogNanos() {
+            return backlogNanos;
+        }
+    }
+}
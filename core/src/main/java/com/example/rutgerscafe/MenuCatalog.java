@@ -0,0 +1,404 @@
+package com.example.rutgerscafe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class is the menu of the cafe: which cup sizes, proteins, breads, donut flavors and add-ins are
+ * offered, in what order, at what price and with which donut images. It is read once from the
+ * menu.properties resource into an immutable catalog shared by every screen.
+ * Prices are kept in cents in tables indexed by the ordinals of the catalog enums, so pricing an item
+ * is an array read instead of a string comparison. Options left out of the menu file are not offered
+ * and are priced at zero.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class MenuCatalog {
+    private static final String RESOURCE = "menu.properties";
+    private static final int PROTEIN_SLOTS = CupSize.values().length;
+    private static final int FLAVOR_SLOTS = PROTEIN_SLOTS + Protein.values().length;
+    static final int OPTION_SLOTS = FLAVOR_SLOTS + DonutFlavor.values().length;
+
+    private final long coffeeBasePriceCents;
+    private final long[] cupSizePriceCents = new long[CupSize.values().length];
+    private final long[] coffeeAddInPriceCents = new long[AddIn.values().length];
+    private final long[] proteinPriceCents = new long[Protein.values().length];
+    private final long[] sandwichAddOnPriceCents = new long[AddIn.values().length];
+    private final long[] donutPriceCents = new long[DonutFlavor.values().length];
+    private final String[] donutImages = new String[DonutFlavor.values().length];
+    private final List<CupSize> cupSizes;
+    private final List<AddIn> coffeeAddIns;
+    private final List<Protein> proteins;
+    private final List<Bread> breads;
+    private final List<AddIn> sandwichAddOns;
+    private final List<DonutFlavor> donutFlavors;
+    private final int coffeeAddInMask;
+    private final int sandwichAddOnMask;
+    private long loadTimeNanos;
+
+    /**
+     * Holds the shared catalog so the menu file is read the first time the catalog is used.
+     */
+    private static final class Holder {
+        private static final MenuCatalog INSTANCE = load();
+    }
+
+    /**
+     * Builds the catalog from the entries of a menu file.
+     *
+     * @param menu The menu entries.
+     */
+    private MenuCatalog(Properties menu) {
+        coffeeBasePriceCents = Long.parseLong(require(menu, "coffee.basePrice").trim());
+        cupSizes = parseOptions(menu, "coffee.sizes", CupSize.values(), cupSizePriceCents, null);
+        coffeeAddIns = parseOptions(menu, "coffee.addIns", AddIn.values(), coffeeAddInPriceCents, null);
+        proteins = parseOptions(menu, "sandwich.proteins", Protein.values(), proteinPriceCents, null);
+        breads = parseOptions(menu, "sandwich.breads", Bread.values(), null, null);
+        sandwichAddOns = parseOptions(menu, "sandwich.addOns", AddIn.values(), sandwichAddOnPriceCents, null);
+        donutFlavors = parseOptions(menu, "donut.flavors", DonutFlavor.values(), donutPriceCents, donutImages);
+        coffeeAddInMask = maskOf(coffeeAddIns);
+        sandwichAddOnMask = maskOf(sandwichAddOns);
+    }
+
+    /**
+     * Gets the shared catalog, reading the menu file on first use.
+     *
+     * @return The menu catalog.
+     */
+    public static MenuCatalog get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Reads a catalog from a menu file.
+     *
+     * @param in The menu file contents.
+     * @return The catalog.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a valid menu.
+     */
+    public static MenuCatalog parse(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Properties menu = new Properties();
+        menu.load(new InputStreamReader(in, "UTF-8"));
+        MenuCatalog catalog = new MenuCatalog(menu);
+        catalog.loadTimeNanos = System.nanoTime() - start;
+        return catalog;
+    }
+
+    /**
+     * Reads the catalog from the menu.properties resource.
+     *
+     * @return The catalog.
+     */
+    private static MenuCatalog load() {
+        InputStream in = MenuCatalog.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException("Missing menu resource " + RESOURCE);
+        }
+        try {
+            try {
+                return parse(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read menu resource " + RESOURCE, e);
+        }
+    }
+
+    /**
+     * Gets how long reading and indexing the menu file took.
+     *
+     * @return The load time in nanoseconds.
+     */
+    public long getLoadTimeNanos() {
+        return loadTimeNanos;
+    }
+
+    /**
+     * Gets the price of a coffee before size and add-ins.
+     *
+     * @return The base price in cents.
+     */
+    public long getCoffeeBasePriceCents() {
+        return coffeeBasePriceCents;
+    }
+
+    /**
+     * Gets the extra price of a cup size over the base coffee price.
+     *
+     * @param cupSize The cup size.
+     * @return The extra price in cents.
+     */
+    public long priceCents(CupSize cupSize) {
+        return cupSizePriceCents[cupSize.ordinal()];
+    }
+
+    /**
+     * Gets the base price of a sandwich with the given protein.
+     *
+     * @param protein The protein.
+     * @return The base price in cents.
+     */
+    public long priceCents(Protein protein) {
+        return proteinPriceCents[protein.ordinal()];
+    }
+
+    /**
+     * Gets the price of one donut of the given flavor.
+     *
+     * @param flavor The donut flavor.
+     * @return The price in cents.
+     */
+    public long priceCents(DonutFlavor flavor) {
+        return donutPriceCents[flavor.ordinal()];
+    }
+
+    /**
+     * Gets the price of the coffee add-ins in a mask.
+     *
+     * @param addInMask The AddIn mask.
+     * @return The price in cents.
+     */
+    public long coffeeAddInsPriceCents(int addInMask) {
+        return sumPrices(coffeeAddInPriceCents, addInMask);
+    }
+
+    /**
+     * Gets the price of the sandwich add-ons in a mask.
+     *
+     * @param addOnMask The AddIn mask.
+     * @return The price in cents.
+     */
+    public long sandwichAddOnsPriceCents(int addOnMask) {
+        return sumPrices(sandwichAddOnPriceCents, addOnMask);
+    }
+
+    /**
+     * Checks whether an add-in is offered for coffee.
+     *
+     * @param addIn The add-in.
+     * @return True if coffee can have this add-in.
+     */
+    public boolean isCoffeeAddIn(AddIn addIn) {
+        return (coffeeAddInMask & addIn.mask()) != 0;
+    }
+
+    /**
+     * Checks whether an add-on is offered for sandwiches.
+     *
+     * @param addIn The add-on.
+     * @return True if sandwiches can have this add-on.
+     */
+    public boolean isSandwichAddOn(AddIn addIn) {
+        return (sandwichAddOnMask & addIn.mask()) != 0;
+    }
+
+    /**
+     * Gets the name of the drawable that shows a donut flavor.
+     *
+     * @param flavor The donut flavor.
+     * @return The drawable name, or null if the menu gives none.
+     */
+    public String getImageName(DonutFlavor flavor) {
+        return donutImages[flavor.ordinal()];
+    }
+
+    /**
+     * Gets the cup sizes offered, in menu order.
+     *
+     * @return A read only list of cup sizes.
+     */
+    public List<CupSize> getCupSizes() {
+        return cupSizes;
+    }
+
+    /**
+     * Gets the coffee add-ins offered, in menu order.
+     *
+     * @return A read only list of add-ins.
+     */
+    public List<AddIn> getCoffeeAddIns() {
+        return coffeeAddIns;
+    }
+
+    /**
+     * Gets the sandwich proteins offered, in menu order.
+     *
+     * @return A read only list of proteins.
+     */
+    public List<Protein> getProteins() {
+        return proteins;
+    }
+
+    /**
+     * Gets the sandwich breads offered, in menu order.
+     *
+     * @return A read only list of breads.
+     */
+    public List<Bread> getBreads() {
+        return breads;
+    }
+
+    /**
+     * Gets the sandwich add-ons offered, in menu order.
+     *
+     * @return A read only list of add-ons.
+     */
+    public List<AddIn> getSandwichAddOns() {
+        return sandwichAddOns;
+    }
+
+    /**
+     * Gets the donut flavors offered, in menu order.
+     *
+     * @return A read only list of donut flavors.
+     */
+    public List<DonutFlavor> getDonutFlavors() {
+        return donutFlavors;
+    }
+
+    /**
+     * Gets the option slot of a cup size. Cup sizes, proteins and donut flavors share one range of
+     * slots, so tables kept per menu item can be a single array of OPTION_SLOTS entries.
+     *
+     * @param cupSize The cup size.
+     * @return The slot.
+     */
+    static int slotOf(CupSize cupSize) {
+        return cupSize.ordinal();
+    }
+
+    /**
+     * Gets the option slot of a sandwich protein.
+     *
+     * @param protein The protein.
+     * @return The slot.
+     */
+    static int slotOf(Protein protein) {
+        return PROTEIN_SLOTS + protein.ordinal();
+    }
+
+    /**
+     * Gets the option slot of a donut flavor.
+     *
+     * @param flavor The donut flavor.
+     * @return The slot.
+     */
+    static int slotOf(DonutFlavor flavor) {
+        return FLAVOR_SLOTS + flavor.ordinal();
+    }
+
+    /**
+     * Gets the option slot of a menu item: its cup size, protein or flavor.
+     *
+     * @param item The menu item.
+     * @return The slot.
+     */
+    static int slotOf(MenuItem item) {
+        switch (item.getKind()) {
+            case COFFEE:
+                return slotOf(((Coffee) item).getSize());
+            case SANDWICH:
+                return slotOf(((Sandwich) item).getProteinType());
+            default:
+                return slotOf(((Donut) item).getDonutFlavor());
+        }
+    }
+
+    /**
+     * Finds the option with the given display name, ignoring case.
+     *
+     * @param values The options to search.
+     * @param name   The display name.
+     * @param <E>    The option type.
+     * @return The matching option.
+     * @throws IllegalArgumentException If no option has that name.
+     */
+    static <E extends MenuOption> E find(E[] values, String name) {
+        for (E value : values) {
+            if (value.getDisplayName().equalsIgnoreCase(name)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown menu option " + name);
+    }
+
+    /**
+     * Parses a comma separated list of NAME[:price[:image]] entries into a list of enum values, filling
+     * the ordinal-indexed price and image tables on the way.
+     *
+     * @param menu   The menu entries.
+     * @param key    The key of the list.
+     * @param values The values of the enum, in ordinal order.
+     * @param prices The price table to fill, or null if the entries have no price.
+     * @param images The image table to fill, or null if the entries have no image.
+     * @param <E>    The enum type.
+     * @return A read only list of the listed values, in the order listed.
+     */
+    private static <E extends Enum<E>> List<E> parseOptions(Properties menu, String key, E[] values,
+                                                           long[] prices, String[] images) {
+        List<E> options = new ArrayList<>();
+        for (String entry : require(menu, key).split(",")) {
+            String[] parts = entry.trim().split(":");
+            E option = null;
+            for (E value : values) {
+                if (value.name().equals(parts[0])) {
+                    option = value;
+                }
+            }
+            if (option == null || options.contains(option)) {
+                throw new IllegalArgumentException("Bad entry '" + entry.trim() + "' in " + key);
+            }
+            int expected = 1 + (prices == null ? 0 : 1) + (images == null ? 0 : 1);
+            if (parts.length != expected) {
+                throw new IllegalArgumentException("Bad entry '" + entry.trim() + "' in " + key);
+            }
+            if (prices != null) {
+                prices[option.ordinal()] = Long.parseLong(parts[1]);
+            }
+            if (images != null) {
+                images[option.ordinal()] = parts[2];
+            }
+            options.add(option);
+        }
+        return Collections.unmodifiableList(options);
+    }
+
+    private static String require(Properties menu, String key) {
+        String value = menu.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Menu has no " + key);
+        }
+        return value;
+    }
+
+    private static int maskOf(List<AddIn> addIns) {
+        int mask = 0;
+        for (AddIn addIn : addIns) {
+            mask |= addIn.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Adds up the prices of the add-ins set in a mask.
+     *
+     * @param prices The add-in prices indexed by ordinal.
+     * @param mask   The AddIn mask.
+     * @return The total price in cents.
+     */
+    private static long sumPrices(long[] prices, int mask) {
+        long sum = 0;
+        while (mask != 0) {
+            sum += prices[Integer.numberOfTrailingZeros(mask)];
+            mask &= mask - 1;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rutgerscafe;
+
+import java.io.Serializable;
+
+/**
+ * The abstract class MenuItem represents an item on a menu.
+ * Subclasses of MenuItem must implement the priceCents() method to calculate the price of the item
+ * in whole cents; price() is a view of the same amount in dollars.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public abstract class MenuItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Calculates the price of the menu item in cents.
+     *
+     * @return The price of the menu item in cents.
+     */
+    public abstract long priceCents();
+
+    /**
+     * Calculates the price of the menu item.
+     *
+     * @return The price of the menu item in dollars.
+     */
+    public double price() {
+        return priceCents() / 100.0;
+    }
+
+    /**
+     * Gets the kind of the menu item.
+     *
+     * @return The item kind.
+     */
+    public abstract ItemKind getKind();
+
+    /**
+     * Gets how many units of the menu item were ordered.
+     *
+     * @return The quantity; 1 for items that are not ordered in multiples.
+     */
+    public int getQuantity() {
+        return 1;
+    }
+
+    /**
+     * Appends the description of the menu item, as returned by toString, to a builder without
+     * building an intermediate string.
+     *
+     * @param sb The builder to append to.
+     * @return The builder.
+     */
+    public abstract StringBuilder appendTo(StringBuilder sb);
+
+}
\ No newline at end of file
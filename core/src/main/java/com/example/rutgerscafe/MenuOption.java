@@ -0,0 +1,16 @@
+package com.example.rutgerscafe;
+
+/**
+ * The MenuOption interface is implemented by the enums of the menu catalog (cup sizes, proteins,
+ * breads, donut flavors and add-ins) so they can be looked up by the name shown on screen.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public interface MenuOption {
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    String getDisplayName();
+}
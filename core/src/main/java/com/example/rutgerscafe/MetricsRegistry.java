@@ -0,0 +1,156 @@
+package com.example.rutgerscafe;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class holds the named counters and latency histograms of the app. The ordering hot paths look
+ * up their metrics once, when their class is loaded, and afterwards record into them directly.
+ * Counters are striped, so threads counting at the same time do not contend, and histograms have
+ * fixed buckets, so recording costs a few array increments and can stay on in production.
+ * A snapshot copies every metric at once; dump writes it as text, with the p50 and p99 latencies of
+ * each histogram, for example from MainActivity's dumpsys output of a running register.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor kept package-private so the app records into the shared registry; tests may
+     * create a registry of their own.
+     */
+    MetricsRegistry() {
+    }
+
+    /**
+     * Gets the shared registry.
+     *
+     * @return The registry.
+     */
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the counter with a name, creating it the first time.
+     *
+     * @param name The metric name.
+     * @return The counter.
+     */
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            LongAdder created = new LongAdder();
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) counter = created;
+        }
+        return counter;
+    }
+
+    /**
+     * Gets the latency histogram with a name, creating it the first time.
+     *
+     * @param name The metric name.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram(name);
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null) histogram = created;
+        }
+        return histogram;
+    }
+
+    /**
+     * Copies every metric.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().sum());
+        }
+        Map<String, LatencyHistogram.Snapshot> histogramValues = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            histogramValues.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new Snapshot(counterValues, histogramValues);
+    }
+
+    /**
+     * Writes a snapshot of every metric as text, one metric per line, sorted by name.
+     *
+     * @return The text.
+     */
+    public String dump() {
+        return snapshot().toString();
+    }
+
+    /**
+     * A copy of every metric of a registry.
+     */
+    public static final class Snapshot {
+        private final Map<String, Long> counters;
+        private final Map<String, LatencyHistogram.Snapshot> histograms;
+
+        private Snapshot(Map<String, Long> counters, Map<String, LatencyHistogram.Snapshot> histograms) {
+            this.counters = Collections.unmodifiableMap(counters);
+            this.histograms = Collections.unmodifiableMap(histograms);
+        }
+
+        /**
+         * Gets the counter values by name.
+         *
+         * @return A read only map sorted by name.
+         */
+        public Map<String, Long> getCounters() {
+            return counters;
+        }
+
+        /**
+         * Gets the histogram snapshots by name.
+         *
+         * @return A read only map sorted by name.
+         */
+        public Map<String, LatencyHistogram.Snapshot> getHistograms() {
+            return histograms;
+        }
+
+        /**
+         * Writes the metrics as text: each counter with its value, and each histogram with its count
+         * and its mean, p50, p99 and maximum latencies in microseconds with one decimal.
+         *
+         * @return The text.
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                sb.append(entry.getKey()).append(" count=").append(entry.getValue()).append('\n');
+            }
+            for (LatencyHistogram.Snapshot histogram : histograms.values()) {
+                sb.append(histogram.getName()).append(" count=").append(histogram.getCount());
+                appendMicros(sb.append(" mean="), histogram.getMeanNanos());
+                appendMicros(sb.append(" p50="), histogram.getPercentileNanos(50));
+                appendMicros(sb.append(" p99="), histogram.getPercentileNanos(99));
+                appendMicros(sb.append(" max="), histogram.getMaxNanos());
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+
+        private static void appendMicros(StringBuilder sb, long nanos) {
+            sb.append(nanos / 1000).append('.').append(nanos % 1000 / 100).append("us");
+        }
+    }
+}
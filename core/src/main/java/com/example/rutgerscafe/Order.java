@@ -0,0 +1,334 @@
+package com.example.rutgerscafe;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Order class represents an order containing a list of menu items.
+ * It provides methods to add and remove menu items, calculate subtotal, sales tax, and total,
+ * and retrieve information about the order.
+ * The subtotal, sales tax and total are kept up to date as items are added and removed, so reading
+ * them does not walk the item list. Items must not be modified after they are added to an order.
+ * An item listener can be set to hear about each item added or removed, with its position, so a
+ * screen showing the order can update one row and the totals instead of redrawing everything.
+ * Every change to the items bumps the order's version, so text rendered from an order can be reused
+ * for as long as the version stays the same.
+ * The items are kept in a persistent vector: a change makes a new version of the list that shares
+ * everything but one path with the old one. Copying an order and reading its items therefore take
+ * constant time, and a copy or a list read earlier never sees later changes.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class Order implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final AtomicInteger nextOrderNumber = new AtomicInteger(1);
+    private static final LongAdder TOTAL_READS = MetricsRegistry.getInstance().counter("order.getTotal");
+    private int orderNumber;
+    private PersistentVector<MenuItem> menuItems;
+    private long subTotalCents;
+    private long salesTaxCents;
+    private long placedAtMillis;
+    private transient int version;
+    public static final float taxRate = 6.625f/100;
+    private static final long TAX_RATE_NUMERATOR = 6625;
+    private static final long TAX_RATE_DENOMINATOR = 100000;
+    private transient ItemListener itemListener;
+
+    /**
+     * Receives the menu items added to and removed from an order. The methods are called after the
+     * totals have been updated.
+     */
+    public interface ItemListener {
+
+        /**
+         * Called after a menu item has been added.
+         *
+         * @param position The position of the added item.
+         * @param menuItem The added item.
+         */
+        void onItemAdded(int position, MenuItem menuItem);
+
+        /**
+         * Called after a menu item has been removed.
+         *
+         * @param position The position the item had.
+         * @param menuItem The removed item.
+         */
+        void onItemRemoved(int position, MenuItem menuItem);
+    }
+
+    /**
+     * Constructs a new Order object with a unique order number and an empty list of menu items.
+     */
+    public Order() {
+        this.orderNumber = nextOrderNumber.getAndIncrement();
+        this.menuItems = PersistentVector.empty();
+    }
+
+    /**
+     * Constructs an empty order with a given order number, used when orders are restored from storage.
+     * Order numbers handed out afterwards are always greater than the restored number.
+     *
+     * @param orderNumber The number of the restored order.
+     */
+    Order(int orderNumber) {
+        this.orderNumber = orderNumber;
+        this.menuItems = PersistentVector.empty();
+        reserveOrderNumbers(orderNumber + 1);
+    }
+
+    /**
+     * Constructs an empty order with a given order number without reserving any numbers.
+     *
+     * @param orderNumber The number of the order.
+     * @param menuItems   The items of the order.
+     */
+    private Order(int orderNumber, PersistentVector<MenuItem> menuItems) {
+        this.orderNumber = orderNumber;
+        this.menuItems = menuItems;
+    }
+
+    /**
+     * Creates an empty cart. A cart has no order number, 0, and uses none up; it takes one when it is
+     * placed.
+     *
+     * @return The empty cart.
+     */
+    static Order newCart() {
+        return new Order(0, PersistentVector.<MenuItem>empty());
+    }
+
+    /**
+     * Makes sure that order numbers handed out from now on are at least the given number.
+     *
+     * @param next The lowest order number that may be handed out next.
+     */
+    static void reserveOrderNumbers(int next) {
+        int current = nextOrderNumber.get();
+        while (current < next && !nextOrderNumber.compareAndSet(current, next)) {
+            current = nextOrderNumber.get();
+        }
+    }
+
+    /**
+     * Hands out a block of consecutive order numbers in one step.
+     *
+     * @param count The number of order numbers needed.
+     * @return The first number of the block.
+     */
+    static int allocateOrderNumbers(int count) {
+        return nextOrderNumber.getAndAdd(count);
+    }
+
+    /**
+     * Constructs a copy of another order under a new order number. The copy shares the items of the
+     * order as they are now; changes to either order afterwards do not show in the other.
+     *
+     * @param orderNumber The number of the copy, allocated by allocateOrderNumbers.
+     * @param order       The order to copy.
+     */
+    Order(int orderNumber, Order order) {
+        this.orderNumber = orderNumber;
+        this.menuItems = order.menuItems;
+        this.subTotalCents = order.subTotalCents;
+        this.salesTaxCents = order.salesTaxCents;
+        this.placedAtMillis = order.placedAtMillis;
+    }
+
+    /**
+     * Constructs an order object copy of another order object. The copy takes constant time and is
+     * a snapshot: items added to or removed from either order afterwards do not show in the other.
+     * @param  order --> order to be copied
+     */
+    public Order(Order order){
+        this.orderNumber = order.orderNumber;
+        this.menuItems = order.menuItems;
+        this.subTotalCents = order.subTotalCents;
+        this.salesTaxCents = order.salesTaxCents;
+        this.placedAtMillis = order.placedAtMillis;
+    }
+    /**
+     * Adds a menu item to the order and adds its price to the running totals.
+     *
+     * @param menuItem The menu item to add to the order.
+     */
+    public void addMenuItem(MenuItem menuItem) {
+        menuItems = menuItems.append(menuItem);
+        updateTotals(menuItem.priceCents());
+        if (itemListener != null) {
+            itemListener.onItemAdded(menuItems.size() - 1, menuItem);
+        }
+    }
+
+    /**
+     * Removes a menu item from the order and takes its price off the running totals.
+     *
+     * @param menuItem The menu item to remove from the order.
+     */
+    public void removeMenuItem(MenuItem menuItem) {
+        int position = menuItems.indexOf(menuItem);
+        if (position >= 0) {
+            removeMenuItemAt(position);
+        }
+    }
+
+    /**
+     * Removes the menu item at a position from the order and takes its price off the running totals.
+     *
+     * @param position The position of the menu item to remove.
+     * @return The removed menu item.
+     */
+    public MenuItem removeMenuItemAt(int position) {
+        MenuItem menuItem = menuItems.get(position);
+        menuItems = menuItems.without(position);
+        updateTotals(-menuItem.priceCents());
+        if (itemListener != null) {
+            itemListener.onItemRemoved(position, menuItem);
+        }
+        return menuItem;
+    }
+
+    /**
+     * Sets the listener told about menu items added to or removed from this order.
+     *
+     * @param itemListener The listener, or null for none.
+     */
+    public void setItemListener(ItemListener itemListener) {
+        this.itemListener = itemListener;
+    }
+
+    /**
+     * Applies a change in cents to the running subtotal and recomputes the sales tax from it.
+     *
+     * @param deltaCents The amount in cents to add to the subtotal.
+     */
+    private void updateTotals(long deltaCents) {
+        subTotalCents += deltaCents;
+        salesTaxCents = calculateSalesTaxCents(subTotalCents);
+        version++;
+    }
+
+    /**
+     * Gets the version of the order, which changes every time an item is added or removed.
+     *
+     * @return The version.
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the order number.
+     *
+     * @return The order number.
+     */
+    public int getOrderNumber() {
+        return orderNumber;
+    }
+
+    /**
+     * Gets the time the order was placed.
+     *
+     * @return The time in milliseconds since the epoch, or 0 if the order has not been placed.
+     */
+    public long getPlacedAtMillis() {
+        return placedAtMillis;
+    }
+
+    /**
+     * Sets the time the order was placed. Called by the order store and when orders are restored.
+     *
+     * @param placedAtMillis The time in milliseconds since the epoch.
+     */
+    void setPlacedAtMillis(long placedAtMillis) {
+        this.placedAtMillis = placedAtMillis;
+    }
+
+    /**
+     * Gets the list of menu items in the order. The list is read only; use addMenuItem and
+     * removeMenuItem so the running totals stay correct. It is a snapshot of the items at the time
+     * of the call and does not change when the order does.
+     *
+     * @return A read only list of menu items.
+     */
+    public List<MenuItem> getMenuItems() {
+        return menuItems;
+    }
+
+    /**
+     * Gets the subtotal cost of all the menu items in the order in cents.
+     *
+     * @return The subtotal cost in cents.
+     */
+    public long getOrderSubTotalCents() {
+        return subTotalCents;
+    }
+
+    /**
+     * Gets the sales tax amount on the subtotal in cents, rounded half up to the nearest cent.
+     *
+     * @return The sales tax amount in cents.
+     */
+    public long getSalesTaxCents() {
+        return salesTaxCents;
+    }
+
+    /**
+     * Gets the total cost of the order after applying sales tax in cents.
+     *
+     * @return The total cost of the order in cents.
+     */
+    public long getTotalCents() {
+        return subTotalCents + salesTaxCents;
+    }
+
+    /**
+     * Calculates the subtotal cost of all the menu items in the order.
+     *
+     * @return The subtotal cost.
+     */
+    public double getOrderSubTotal() {
+        return getOrderSubTotalCents() / 100.0;
+    }
+
+    /**
+     * Calculates the sales tax amount on the subtotal.
+     *
+     * @return The sales tax amount.
+     */
+    public double getSalesTax() {
+        return getSalesTaxCents() / 100.0;
+    }
+
+    /**
+     * Calculates the total cost of the order after applying sales tax. Calls are counted in the
+     * shared MetricsRegistry as order.getTotal.
+     *
+     * @return The total cost of the order.
+     */
+    public double getTotal() {
+        TOTAL_READS.increment();
+        return getTotalCents() / 100.0;
+    }
+
+    /**
+     * Calculates the sales tax in cents on an amount in cents, rounded half up to the nearest cent.
+     *
+     * @param subTotalCents The taxable amount in cents.
+     * @return The sales tax in cents.
+     */
+    public static long calculateSalesTaxCents(long subTotalCents) {
+        return (subTotalCents * TAX_RATE_NUMERATOR + TAX_RATE_DENOMINATOR / 2) / TAX_RATE_DENOMINATOR;
+    }
+
+    /**
+     * Returns a string representation of the order, including subtotal, sales tax, total, and list of items.
+     *
+     * @return A string representation of the order.
+     */
+    @Override
+    public String toString() {
+        return ReceiptRenderer.appendReceipt(new StringBuilder(), this).toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,739 @@
+package com.example.rutgerscafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is the history of placed orders on disk, kept in two files: the orders encoded with
+ * OrderCodec one after another, and an index with one fixed size entry per order holding its number,
+ * where its bytes are, its total, placement time and item count, and whether it was cancelled.
+ * Entries are in the order the orders were archived, which is the order they were placed.
+ * Both files are read through memory maps, so opening the archive reads only the end of the index,
+ * and counts and order rows come straight from the index. An Order is decoded only when it is asked
+ * for, and the most recently decoded orders are kept for rows drawn again, so heap use and opening
+ * time stay flat however many orders are on disk. The maps are kept across writes and only mapped
+ * again when a read reaches past them.
+ * The data of an order is synced before its index entry, so the index never points past the data;
+ * an entry or data left half written by a crash is dropped when the archive is opened.
+ * Once attached to the order store, the archive queues every placed and cancelled order and leaves
+ * the store's thread at once. A writer thread waits until the journal has made the queued changes
+ * durable and then writes them all, syncing each file once for the whole batch. An order the
+ * journal could not record is taken back out of the store, so it is archived as cancelled.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderArchive implements OrderSingleton.OrderListener, Closeable {
+    public static final int DEFAULT_CACHE_SIZE = 64;
+    static final int ENTRY_SIZE = 40;
+    private static final int NUMBER = 0;
+    private static final int LENGTH = 4;
+    private static final int OFFSET = 8;
+    private static final int TOTAL = 16;
+    private static final int PLACED_AT = 24;
+    private static final int ITEMS = 32;
+    private static final int FLAGS = 36;
+    private static final int CANCELLED = 1;
+    private static final LongAdder FAILED_WRITES = MetricsRegistry.getInstance().counter("archive.failedWrites");
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private final Map<Integer, Order> decoded;
+    private final Object writeLock = new Object();
+    private final Map<Integer, Integer> cancelledPositions = new HashMap<>();
+    private final Object queueLock = new Object();
+    private final ArrayDeque<Change> pending = new ArrayDeque<>();
+    private MappedByteBuffer dataMap;
+    private MappedByteBuffer indexMap;
+    private int size;
+    private long dataSize;
+    private int cancelled = -1;
+    private long decodeCount;
+    private Set<Integer> caughtUp;
+    private Thread writer;
+    private boolean writing;
+    private boolean closing;
+
+    /**
+     * An order placed or cancelled in the store, waiting to be archived.
+     */
+    private static final class Change {
+        private final Order order;
+        private final boolean added;
+
+        private Change(Order order, boolean added) {
+            this.order = order;
+            this.added = added;
+        }
+    }
+
+    /**
+     * Opens an archive, creating its files if they do not exist, and keeps the last
+     * DEFAULT_CACHE_SIZE decoded orders.
+     *
+     * @param file The data file; the index is kept next to it, with ".index" appended to the name.
+     * @throws IOException If the files cannot be read or written.
+     */
+    public OrderArchive(File file) throws IOException {
+        this(file, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens an archive.
+     *
+     * @param file      The data file.
+     * @param cacheSize The number of decoded orders kept.
+     * @throws IOException If the files cannot be read or written.
+     */
+    public OrderArchive(File file, final int cacheSize) throws IOException {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + cacheSize);
+        }
+        decoded = new LinkedHashMap<Integer, Order>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Order> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        data = new RandomAccessFile(file, "rw").getChannel();
+        index = new RandomAccessFile(new File(file.getPath() + ".index"), "rw").getChannel();
+        recover();
+    }
+
+    /**
+     * Opens an archive and attaches it to an order store. Orders the store holds that were placed
+     * since the last archived order and are not archived yet, for example because the app was killed
+     * before they were written, are appended first, and the cancelled orders are counted, so both
+     * are done before the archive is handed out.
+     *
+     * @param store The order store.
+     * @param file  The data file.
+     * @return The attached archive.
+     * @throws IOException If the files cannot be read or written.
+     */
+    public static OrderArchive attach(OrderSingleton store, File file) throws IOException {
+        OrderArchive archive = new OrderArchive(file);
+        try {
+            store.addListener(archive);
+            archive.catchUp(store);
+            archive.getCancelledCount();
+        } catch (IOException | RuntimeException e) {
+            store.removeListener(archive);
+            archive.close();
+            throw e;
+        }
+        archive.startWriter(store);
+        return archive;
+    }
+
+    /**
+     * Appends the orders of a store that are missing from the end of the archive. Orders the store
+     * announces meanwhile stay queued; the ones appended here are skipped when they are written.
+     *
+     * @param store The order store.
+     * @throws IOException If the orders cannot be written.
+     */
+    void catchUp(OrderSingleton store) throws IOException {
+        synchronized (writeLock) {
+            long since = size == 0 ? Long.MIN_VALUE : getPlacedAtMillis(size - 1);
+            Set<Integer> archived = new HashSet<>();
+            for (int position = size - 1; position >= 0 && getPlacedAtMillis(position) >= since; position--) {
+                archived.add(getOrderNumber(position));
+            }
+            List<Order> missing = new ArrayList<>();
+            for (Order order : store.getOrdersPlacedBetween(since, Long.MAX_VALUE)) {
+                if (archived.add(order.getOrderNumber())) {
+                    missing.add(order);
+                }
+            }
+            writeOrders(missing, Collections.<Integer>emptySet());
+            caughtUp = archived;
+        }
+    }
+
+    /**
+     * Queues a placed order to be appended.
+     *
+     * @param order The added order.
+     */
+    @Override
+    public void orderAdded(Order order) {
+        queue(new Change(order, true));
+    }
+
+    /**
+     * Queues a cancelled order to be marked.
+     *
+     * @param order The removed order.
+     */
+    @Override
+    public void orderRemoved(Order order) {
+        queue(new Change(order, false));
+    }
+
+    /**
+     * Appends an order.
+     *
+     * @param order The order.
+     * @throws IOException If the order cannot be written.
+     */
+    public void append(Order order) throws IOException {
+        appendAll(Collections.singletonList(order));
+    }
+
+    /**
+     * Appends orders in the given order, syncing the data and the index once for all of them.
+     *
+     * @param orders The orders.
+     * @throws IOException If the orders cannot be written.
+     */
+    public void appendAll(List<Order> orders) throws IOException {
+        synchronized (writeLock) {
+            writeOrders(orders, Collections.<Integer>emptySet());
+        }
+    }
+
+    /**
+     * Marks an archived order as cancelled. The index is searched from the newest order back.
+     *
+     * @param orderNumber The number of the order.
+     * @return False if the order is not in the archive or was already cancelled.
+     * @throws IOException If the mark cannot be written.
+     */
+    public boolean markCancelled(int orderNumber) throws IOException {
+        synchronized (writeLock) {
+            return mark(Collections.singletonMap(orderNumber, true)) > 0;
+        }
+    }
+
+    /**
+     * Gets the number of archived orders, cancelled ones included.
+     *
+     * @return The number of orders.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of archived orders that were cancelled. The index is counted the first time;
+     * later calls are kept up to date.
+     *
+     * @return The number of cancelled orders.
+     */
+    public synchronized int getCancelledCount() {
+        if (cancelled < 0) {
+            int count = 0;
+            for (int position = 0; position < size; position++) {
+                if (isCancelled(position)) count++;
+            }
+            cancelled = count;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Finds an order, searching from the newest order back.
+     *
+     * @param orderNumber The number of the order.
+     * @return The position of the order, or -1 if it is not in the archive.
+     */
+    public synchronized int find(int orderNumber) {
+        Integer position = find(Collections.singleton(orderNumber)).get(orderNumber);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Finds orders, searching from the newest order back until all of them are found.
+     *
+     * @param orderNumbers The numbers of the orders.
+     * @return The positions of the orders that are in the archive, by order number.
+     */
+    private synchronized Map<Integer, Integer> find(Collection<Integer> orderNumbers) {
+        Map<Integer, Integer> found = new HashMap<>();
+        for (int position = size - 1; position >= 0 && found.size() < orderNumbers.size(); position--) {
+            int number = getOrderNumber(position);
+            if (orderNumbers.contains(number) && !found.containsKey(number)) {
+                found.put(number, position);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets the number of an archived order.
+     *
+     * @param position The position of the order, 0 for the oldest.
+     * @return The order number.
+     */
+    public synchronized int getOrderNumber(int position) {
+        return indexMap().getInt(entry(position) + NUMBER);
+    }
+
+    /**
+     * Gets the total of an archived order.
+     *
+     * @param position The position of the order.
+     * @return The total in cents, tax included.
+     */
+    public synchronized long getTotalCents(int position) {
+        return indexMap().getLong(entry(position) + TOTAL);
+    }
+
+    /**
+     * Gets the placement time of an archived order.
+     *
+     * @param position The position of the order.
+     * @return The time in milliseconds since the epoch.
+     */
+    public synchronized long getPlacedAtMillis(int position) {
+        return indexMap().getLong(entry(position) + PLACED_AT);
+    }
+
+    /**
+     * Gets the number of items of an archived order.
+     *
+     * @param position The position of the order.
+     * @return The number of items.
+     */
+    public synchronized int getItemCount(int position) {
+        return indexMap().getInt(entry(position) + ITEMS);
+    }
+
+    /**
+     * Checks whether an archived order was cancelled.
+     *
+     * @param position The position of the order.
+     * @return True if the order was cancelled.
+     */
+    public synchronized boolean isCancelled(int position) {
+        return (indexMap().getInt(entry(position) + FLAGS) & CANCELLED) != 0;
+    }
+
+    /**
+     * Appends the one line row of an archived order, read from the index without decoding the order.
+     *
+     * @param sb       The builder to append to.
+     * @param position The position of the order.
+     * @return The builder.
+     */
+    public synchronized StringBuilder appendRow(StringBuilder sb, int position) {
+        return ReceiptRenderer.appendRow(sb, getOrderNumber(position), getItemCount(position),
+                getTotalCents(position));
+    }
+
+    /**
+     * Gets an archived order, decoding it unless it was decoded recently.
+     *
+     * @param position The position of the order.
+     * @return The order.
+     * @throws IllegalStateException If the stored order cannot be decoded.
+     */
+    public synchronized Order getOrder(int position) {
+        Order order = decoded.get(position);
+        if (order != null) return order;
+        int entry = entry(position);
+        long offset = indexMap().getLong(entry + OFFSET);
+        byte[] bytes = new byte[indexMap().getInt(entry + LENGTH)];
+        ByteBuffer slice = dataMap().duplicate();
+        slice.position((int) offset);
+        slice.get(bytes);
+        try {
+            order = OrderCodec.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Archived order at " + position + " is corrupt", e);
+        }
+        decodeCount++;
+        decoded.put(position, order);
+        return order;
+    }
+
+    /**
+     * Gets the newest archived orders that were not cancelled, decoding only those.
+     *
+     * @param count The largest number of orders to return.
+     * @return A read only list of the orders, newest first.
+     */
+    public synchronized List<Order> getLatest(int count) {
+        List<Order> latest = new ArrayList<>(Math.min(count, 64));
+        for (int position = size - 1; position >= 0 && latest.size() < count; position--) {
+            if (!isCancelled(position)) {
+                latest.add(getOrder(position));
+            }
+        }
+        return Collections.unmodifiableList(latest);
+    }
+
+    /**
+     * Gets the number of orders decoded since the archive was opened.
+     *
+     * @return The number of decodes.
+     */
+    synchronized long getDecodeCount() {
+        return decodeCount;
+    }
+
+    /**
+     * Closes the archive files.
+     *
+     * @throws IOException If the files cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread stopping;
+        synchronized (queueLock) {
+            closing = true;
+            queueLock.notifyAll();
+            stopping = writer;
+        }
+        if (stopping != null) {
+            try {
+                stopping.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            data.close();
+            index.close();
+            dataMap = null;
+            indexMap = null;
+        }
+    }
+
+    /**
+     * Waits until the writer thread has written every change queued so far.
+     *
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    void awaitWritten() throws InterruptedException {
+        synchronized (queueLock) {
+            while ((!pending.isEmpty() || writing) && writer != null && writer.isAlive()) {
+                queueLock.wait(100);
+            }
+        }
+    }
+
+    /**
+     * Queues a change for the writer thread. Changes that come after the archive was closed are
+     * counted as archive.failedWrites in the shared MetricsRegistry.
+     *
+     * @param change The change.
+     */
+    private void queue(Change change) {
+        synchronized (queueLock) {
+            if (closing) {
+                FAILED_WRITES.increment();
+                return;
+            }
+            pending.add(change);
+            queueLock.notifyAll();
+        }
+    }
+
+    /**
+     * Starts the thread that writes the queued changes.
+     *
+     * @param store The store whose journal the changes wait for.
+     */
+    private void startWriter(final OrderSingleton store) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop(store);
+            }
+        }, "order-archive");
+        thread.setDaemon(true);
+        synchronized (queueLock) {
+            writer = thread;
+        }
+        thread.start();
+    }
+
+    /**
+     * Writes every queued change in one batch, after the journal has made the changes durable, until
+     * the archive is closed and everything queued before has been written. Batches that cannot be
+     * written are counted as archive.failedWrites; the orders stay in the store and its journal.
+     *
+     * @param store The store whose journal the changes wait for.
+     */
+    private void writeLoop(OrderSingleton store) {
+        List<Change> batch = new ArrayList<>();
+        try {
+            while (true) {
+                synchronized (queueLock) {
+                    writing = false;
+                    queueLock.notifyAll();
+                    while (pending.isEmpty() && !closing) {
+                        queueLock.wait();
+                    }
+                    if (pending.isEmpty()) return;
+                    batch.addAll(pending);
+                    pending.clear();
+                    writing = true;
+                }
+                try {
+                    store.syncJournal().get();
+                } catch (ExecutionException e) {
+                    // the changes the journal lost are undone in the store and queued as changes of their own
+                }
+                try {
+                    writeBatch(batch);
+                } catch (IOException | RuntimeException e) {
+                    FAILED_WRITES.increment();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            FAILED_WRITES.increment();
+        } finally {
+            synchronized (queueLock) {
+                writing = false;
+                closing = true;
+                pending.clear();
+                queueLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of changes: new orders are appended together, with the ones cancelled within
+     * the batch already marked, and the marks of orders archived before are set or cleared together.
+     * An order put back after its cancel could not be recorded has its mark cleared.
+     *
+     * @param batch The changes, oldest first.
+     * @throws IOException If the changes cannot be written.
+     */
+    private void writeBatch(List<Change> batch) throws IOException {
+        synchronized (writeLock) {
+            Map<Integer, Order> appended = new LinkedHashMap<>();
+            Set<Integer> appendedCancelled = new HashSet<>();
+            Map<Integer, Boolean> marks = new LinkedHashMap<>();
+            for (Change change : batch) {
+                Integer number = change.order.getOrderNumber();
+                if (appended.containsKey(number)) {
+                    if (change.added) {
+                        appendedCancelled.remove(number);
+                    } else {
+                        appendedCancelled.add(number);
+                    }
+                } else if (change.added && !marks.containsKey(number) && !cancelledPositions.containsKey(number)) {
+                    if (caughtUp == null || !caughtUp.contains(number)) {
+                        appended.put(number, change.order);
+                    }
+                } else {
+                    marks.put(number, !change.added);
+                }
+            }
+            caughtUp = null;
+            writeOrders(new ArrayList<>(appended.values()), appendedCancelled);
+            mark(marks);
+        }
+    }
+
+    /**
+     * Appends orders, syncing the data and the index once for all of them. The caller holds the
+     * write lock.
+     *
+     * @param orders           The orders.
+     * @param cancelledNumbers The numbers of the orders to mark as cancelled.
+     * @throws IOException If the orders cannot be written.
+     */
+    private void writeOrders(List<Order> orders, Set<Integer> cancelledNumbers) throws IOException {
+        if (orders.isEmpty()) return;
+        OrderCodec.Output out = new OrderCodec.Output(32 * orders.size());
+        ByteBuffer entries = ByteBuffer.allocate(ENTRY_SIZE * orders.size());
+        int marked = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            boolean isCancelled = cancelledNumbers.contains(order.getOrderNumber());
+            int start = out.size();
+            out.writeVarint(OrderCodec.VERSION);
+            OrderCodec.writeOrder(out, order);
+            entries.putInt(order.getOrderNumber());
+            entries.putInt(out.size() - start);
+            entries.putLong(dataSize + start);
+            entries.putLong(order.getTotalCents());
+            entries.putLong(order.getPlacedAtMillis());
+            entries.putInt(order.getMenuItems().size());
+            entries.putInt(isCancelled ? CANCELLED : 0);
+            if (isCancelled) {
+                cancelledPositions.put(order.getOrderNumber(), size + i);
+                marked++;
+            }
+        }
+        entries.flip();
+        writeFully(data, ByteBuffer.wrap(out.toByteArray()), dataSize);
+        data.force(false);
+        writeFully(index, entries, (long) size * ENTRY_SIZE);
+        index.force(false);
+        synchronized (this) {
+            size += orders.size();
+            dataSize += out.size();
+            if (cancelled >= 0) cancelled += marked;
+        }
+    }
+
+    /**
+     * Sets or clears the cancelled marks of archived orders, syncing the index once for all of them.
+     * Orders cancelled while the archive is open are found without searching. The caller holds the
+     * write lock.
+     *
+     * @param marks Whether each order is cancelled, by order number.
+     * @return The number of marks that changed.
+     * @throws IOException If the marks cannot be written.
+     */
+    private int mark(Map<Integer, Boolean> marks) throws IOException {
+        if (marks.isEmpty()) return 0;
+        Map<Integer, Integer> positions = new HashMap<>();
+        List<Integer> unknown = new ArrayList<>();
+        for (Integer number : marks.keySet()) {
+            Integer position = cancelledPositions.get(number);
+            if (position != null) {
+                positions.put(number, position);
+            } else {
+                unknown.add(number);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            positions.putAll(find(unknown));
+        }
+        int changed = 0;
+        ByteBuffer flags = ByteBuffer.allocate(4);
+        synchronized (this) {
+            for (Map.Entry<Integer, Boolean> mark : marks.entrySet()) {
+                Integer position = positions.get(mark.getKey());
+                if (position == null || isCancelled(position) == mark.getValue()) continue;
+                flags.clear();
+                flags.putInt(mark.getValue() ? CANCELLED : 0).flip();
+                writeFully(index, flags, (long) position * ENTRY_SIZE + FLAGS);
+                if (mark.getValue()) {
+                    cancelledPositions.put(mark.getKey(), position);
+                    if (cancelled >= 0) cancelled++;
+                } else {
+                    cancelledPositions.remove(mark.getKey());
+                    if (cancelled >= 0) cancelled--;
+                }
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            index.force(false);
+        }
+        return changed;
+    }
+
+    /**
+     * Drops a torn index entry, entries pointing past the data and data past the last entry, which
+     * a crash in the middle of an append can leave. Only the end of the index is read.
+     *
+     * @throws IOException If the files cannot be read or written.
+     */
+    private void recover() throws IOException {
+        long fileSize = data.size();
+        size = (int) (index.size() / ENTRY_SIZE);
+        long end = 0;
+        while (size > 0) {
+            int entry = entry(size - 1);
+            end = indexMap().getLong(entry + OFFSET) + indexMap().getInt(entry + LENGTH);
+            if (end <= fileSize) break;
+            size--;
+            indexMap = null;
+            end = 0;
+        }
+        if (index.size() > (long) size * ENTRY_SIZE) {
+            index.truncate((long) size * ENTRY_SIZE);
+            indexMap = null;
+        }
+        if (fileSize > end) {
+            data.truncate(end);
+        }
+        dataSize = end;
+    }
+
+    /**
+     * Gets the index position of an entry.
+     *
+     * @param position The position of the order.
+     * @return The byte position of its entry.
+     */
+    private int entry(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size);
+        }
+        return position * ENTRY_SIZE;
+    }
+
+    /**
+     * Gets a map of the index entries, mapping it again once entries were appended past it. Marks
+     * written to entries already mapped show through the map.
+     *
+     * @return The mapped index.
+     */
+    private MappedByteBuffer indexMap() {
+        if (indexMap == null || indexMap.capacity() < (long) size * ENTRY_SIZE) {
+            indexMap = map(index, (long) size * ENTRY_SIZE);
+        }
+        return indexMap;
+    }
+
+    /**
+     * Gets a map of the data, mapping it again once orders were appended past it.
+     *
+     * @return The mapped data.
+     */
+    private MappedByteBuffer dataMap() {
+        if (dataMap == null || dataMap.capacity() < dataSize) {
+            dataMap = map(data, dataSize);
+        }
+        return dataMap;
+    }
+
+    /**
+     * Maps the start of a file for reading.
+     *
+     * @param channel The file.
+     * @param length  The number of bytes to map.
+     * @return The map.
+     * @throws IllegalStateException If the file cannot be mapped.
+     */
+    private static MappedByteBuffer map(FileChannel channel, long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Archive file too large to map: " + length);
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Archive file could not be mapped", e);
+        }
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer at a position.
+     *
+     * @param channel  The file to write to.
+     * @param buffer   The bytes to write.
+     * @param position The position in the file.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
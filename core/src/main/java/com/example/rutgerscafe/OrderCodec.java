@@ -0,0 +1,379 @@
+package com.example.rutgerscafe;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class converts orders and menu items to and from a compact, versioned binary format used
+ * for persistence, replication and export.
+ * Every encoded value starts with a format version byte. Numbers are written as unsigned varints, so
+ * order numbers, quantities and prices usually take one or two bytes. Cup sizes, proteins, breads,
+ * flavors and add-ins are written as their catalog ordinal plus one; a zero code is followed by the
+ * value's name as a string, which is still accepted when reading. Since version 2 the add-ins of
+ * an item are written as their AddIn bit mask; version 1 add-in lists are still read. Since version 3
+ * an order carries the time it was placed; orders of older versions are read without one. A cart is
+ * encoded as its items alone, for orders submitted from outside the registers.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class OrderCodec {
+    public static final int VERSION = 3;
+    private static final int VERSION_ADD_IN_LIST = 1;
+    private static final int VERSION_ADD_IN_MASK = 2;
+    private static final int COFFEE = 1;
+    private static final int SANDWICH = 2;
+    private static final int DONUT = 3;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final CupSize[] CUP_SIZES = CupSize.values();
+    private static final Protein[] PROTEINS = Protein.values();
+    private static final Bread[] BREADS = Bread.values();
+    private static final DonutFlavor[] FLAVORS = DonutFlavor.values();
+    private static final AddIn[] ADD_INS_V1 = AddIn.values();
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private OrderCodec() {
+    }
+
+    /**
+     * Encodes an order and all of its menu items.
+     *
+     * @param order The order to encode.
+     * @return The encoded order.
+     */
+    public static byte[] encode(Order order) {
+        Output out = new Output(16 + 8 * order.getMenuItems().size());
+        out.writeVarint(VERSION);
+        writeOrder(out, order);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes an order encoded by encode(Order).
+     *
+     * @param bytes The encoded order.
+     * @return The decoded order.
+     * @throws IllegalArgumentException If the bytes are not a valid encoded order.
+     */
+    public static Order decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodes an order from the remaining bytes of a heap buffer.
+     *
+     * @param in The buffer holding the encoded order.
+     * @return The decoded order.
+     * @throws IllegalArgumentException If the bytes are not a valid encoded order.
+     */
+    static Order decode(ByteBuffer in) {
+        try {
+            int version = readVersion(in);
+            Order order = readOrder(in, version);
+            checkFullyRead(in);
+            return order;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated order", e);
+        }
+    }
+
+    /**
+     * Encodes a single menu item.
+     *
+     * @param item The menu item to encode.
+     * @return The encoded menu item.
+     */
+    public static byte[] encodeItem(MenuItem item) {
+        Output out = new Output(16);
+        out.writeVarint(VERSION);
+        writeItem(out, item);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a menu item encoded by encodeItem(MenuItem).
+     *
+     * @param bytes The encoded menu item.
+     * @return The decoded menu item.
+     * @throws IllegalArgumentException If the bytes are not a valid encoded menu item.
+     */
+    public static MenuItem decodeItem(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            int version = readVersion(in);
+            MenuItem item = readItem(in, version);
+            checkFullyRead(in);
+            return item;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated menu item", e);
+        }
+    }
+
+    /**
+     * Encodes the items of a cart, without an order number or placement time, as sent by a kiosk or
+     * an online channel.
+     *
+     * @param items The items of the cart.
+     * @return The encoded cart.
+     */
+    public static byte[] encodeCart(List<? extends MenuItem> items) {
+        Output out = new Output(8 + 8 * items.size());
+        out.writeVarint(VERSION);
+        out.writeVarint(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            writeItem(out, items.get(i));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the items of a cart encoded by encodeCart(List).
+     *
+     * @param bytes The encoded cart.
+     * @return The items of the cart.
+     * @throws IllegalArgumentException If the bytes are not a valid encoded cart.
+     */
+    public static List<MenuItem> decodeCart(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            int version = readVersion(in);
+            long count = readVarint(in);
+            if (count > in.remaining()) {
+                throw new IllegalArgumentException("Truncated cart of " + count + " items");
+            }
+            List<MenuItem> items = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                items.add(readItem(in, version));
+            }
+            checkFullyRead(in);
+            return items;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated cart", e);
+        }
+    }
+
+    /**
+     * Writes an order without the version byte.
+     *
+     * @param out   The output to write to.
+     * @param order The order to write.
+     */
+    static void writeOrder(Output out, Order order) {
+        List<MenuItem> items = order.getMenuItems();
+        out.writeVarint(order.getOrderNumber());
+        out.writeVarint(order.getPlacedAtMillis());
+        out.writeVarint(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            writeItem(out, items.get(i));
+        }
+    }
+
+    /**
+     * Reads an order written by writeOrder.
+     *
+     * @param in      The buffer to read from.
+     * @param version The format version of the input.
+     * @return The order.
+     */
+    static Order readOrder(ByteBuffer in, int version) {
+        Order order = new Order((int) readVarint(in));
+        if (version > VERSION_ADD_IN_MASK) {
+            order.setPlacedAtMillis(readVarint(in));
+        }
+        long count = readVarint(in);
+        for (long i = 0; i < count; i++) {
+            order.addMenuItem(readItem(in, version));
+        }
+        return order;
+    }
+
+    /**
+     * Writes a menu item tagged with its kind.
+     *
+     * @param out  The output to write to.
+     * @param item The menu item to write.
+     */
+    static void writeItem(Output out, MenuItem item) {
+        if (item instanceof Coffee) {
+            Coffee coffee = (Coffee) item;
+            out.writeVarint(COFFEE);
+            writeOption(out, coffee.getSize());
+            out.writeVarint(coffee.getQuantity());
+            out.writeVarint(coffee.getAddInMask());
+        } else if (item instanceof Sandwich) {
+            Sandwich sandwich = (Sandwich) item;
+            out.writeVarint(SANDWICH);
+            writeOption(out, sandwich.getProteinType());
+            writeOption(out, sandwich.getBreadType());
+            out.writeVarint(sandwich.getAddOnMask());
+        } else if (item instanceof Donut) {
+            Donut donut = (Donut) item;
+            out.writeVarint(DONUT);
+            writeOption(out, donut.getDonutFlavor());
+            out.writeVarint(donut.getBasePriceCents());
+            out.writeVarint(donut.getQuantity());
+        } else {
+            throw new IllegalArgumentException("Unknown menu item " + item.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a menu item written by writeItem.
+     *
+     * @param in      The buffer to read from.
+     * @param version The format version of the input.
+     * @return The menu item.
+     */
+    static MenuItem readItem(ByteBuffer in, int version) {
+        int kind = (int) readVarint(in);
+        switch (kind) {
+            case COFFEE: {
+                CupSize cupSize = readOption(in, CUP_SIZES);
+                Coffee coffee = new Coffee(cupSize, (int) readVarint(in));
+                coffee.setAddInMask(readAddIns(in, version));
+                return coffee;
+            }
+            case SANDWICH: {
+                Protein protein = readOption(in, PROTEINS);
+                Sandwich sandwich = new Sandwich(protein, readOption(in, BREADS));
+                sandwich.setAddOnMask(readAddIns(in, version));
+                return sandwich;
+            }
+            case DONUT: {
+                DonutFlavor flavor = readOption(in, FLAVORS);
+                Donut donut = new Donut(flavor, readVarint(in));
+                donut.setQuantity((int) readVarint(in));
+                return donut;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown menu item kind " + kind);
+        }
+    }
+
+    /**
+     * Reads the add-ins of an item as an AddIn mask.
+     *
+     * @param in      The buffer to read from.
+     * @param version The format version of the input.
+     * @return The add-in mask.
+     */
+    private static int readAddIns(ByteBuffer in, int version) {
+        if (version == VERSION_ADD_IN_LIST) {
+            int mask = 0;
+            long count = readVarint(in);
+            for (long i = 0; i < count; i++) {
+                mask |= readOption(in, ADD_INS_V1).mask();
+            }
+            return mask;
+        }
+        long mask = readVarint(in);
+        if (mask >= 1L << AddIn.values().length) {
+            throw new IllegalArgumentException("Unknown add-ins " + mask);
+        }
+        return (int) mask;
+    }
+
+    /**
+     * Writes a catalog value as its ordinal plus one.
+     *
+     * @param out    The output to write to.
+     * @param option The value to write.
+     */
+    private static void writeOption(Output out, Enum<?> option) {
+        out.writeVarint(option.ordinal() + 1);
+    }
+
+    /**
+     * Reads a catalog value written as its ordinal plus one, or as zero followed by its name.
+     *
+     * @param in     The buffer to read from.
+     * @param values The values of the catalog enum, in ordinal order.
+     * @param <E>    The catalog enum.
+     * @return The value.
+     */
+    private static <E extends MenuOption> E readOption(ByteBuffer in, E[] values) {
+        long code = readVarint(in);
+        if (code > 0) {
+            if (code > values.length) {
+                throw new IllegalArgumentException("Unknown menu option code " + code);
+            }
+            return values[(int) code - 1];
+        }
+        int length = (int) readVarint(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Truncated string");
+        }
+        String name = new String(in.array(), in.arrayOffset() + in.position(), length, UTF_8);
+        in.position(in.position() + length);
+        return MenuCatalog.find(values, name);
+    }
+
+    /**
+     * Reads an unsigned varint: seven bits per byte, least significant group first.
+     *
+     * @param in The buffer to read from.
+     * @return The value.
+     */
+    static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads a format version and checks that it can be decoded.
+     *
+     * @param in The buffer to read from.
+     * @return The version.
+     */
+    static int readVersion(ByteBuffer in) {
+        long version = readVarint(in);
+        if (version < VERSION_ADD_IN_LIST || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported order format version " + version);
+        }
+        return (int) version;
+    }
+
+    private static void checkFullyRead(ByteBuffer in) {
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException(in.remaining() + " unexpected trailing bytes");
+        }
+    }
+
+    /**
+     * A growable byte buffer with varint writes.
+     */
+    static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        /**
+         * Writes an unsigned varint.
+         *
+         * @param value The non-negative value to write.
+         */
+        void writeVarint(long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value " + value);
+            }
+            while (value > 0x7F) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+    }
+}
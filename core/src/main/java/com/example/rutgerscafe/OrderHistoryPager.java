@@ -0,0 +1,181 @@
+package com.example.rutgerscafe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class pages through the stored orders for the order history screen. Orders are loaded a page
+ * at a time, in order number order, as the list is scrolled, so opening the screen costs one page no
+ * matter how many orders were placed today.
+ * Added and removed orders are applied one at a time and reported to a listener as single inserts
+ * and removals, so the list never has to be rebuilt. Changes to orders past the loaded pages are
+ * skipped; they show up when their page is loaded.
+ * This class is not thread safe; it is meant to be used from the thread that draws the list.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderHistoryPager {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final OrderSingleton store;
+    private final int pageSize;
+    private final List<Order> loaded = new ArrayList<>();
+    private Listener listener;
+    private boolean complete;
+
+    /**
+     * Receives the changes made to the loaded orders, by position.
+     */
+    public interface Listener {
+
+        /**
+         * Called after orders have been inserted into the loaded orders.
+         *
+         * @param position The position of the first inserted order.
+         * @param count    The number of inserted orders.
+         */
+        void onInserted(int position, int count);
+
+        /**
+         * Called after an order has been removed from the loaded orders.
+         *
+         * @param position The position the order had.
+         */
+        void onRemoved(int position);
+    }
+
+    /**
+     * Creates a pager over an order store. No orders are loaded until loadNextPage is called.
+     *
+     * @param store    The order store.
+     * @param pageSize The number of orders loaded at a time.
+     */
+    public OrderHistoryPager(OrderSingleton store, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.store = store;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets the listener told about changes to the loaded orders.
+     *
+     * @param listener The listener, or null for none.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the number of orders loaded so far.
+     *
+     * @return The number of loaded orders.
+     */
+    public int size() {
+        return loaded.size();
+    }
+
+    /**
+     * Gets a loaded order by its position in the list.
+     *
+     * @param position The position of the order.
+     * @return The order.
+     */
+    public Order get(int position) {
+        return loaded.get(position);
+    }
+
+    /**
+     * Gets the number of orders loaded at a time.
+     *
+     * @return The page size.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Checks whether every stored order has been loaded.
+     *
+     * @return True if there are no more pages.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Loads the next page of orders after the last loaded one.
+     *
+     * @return The number of orders loaded.
+     */
+    public int loadNextPage() {
+        if (complete) return 0;
+        int after = loaded.isEmpty() ? 0 : loaded.get(loaded.size() - 1).getOrderNumber();
+        List<Order> page = store.getOrdersAfter(after, pageSize);
+        if (page.size() < pageSize) {
+            complete = true;
+        }
+        if (page.isEmpty()) return 0;
+        int position = loaded.size();
+        loaded.addAll(page);
+        if (listener != null) {
+            listener.onInserted(position, page.size());
+        }
+        return page.size();
+    }
+
+    /**
+     * Applies an order added to the store. The order is skipped if it is already loaded, was removed
+     * again in the meantime, or lies past the loaded pages.
+     *
+     * @param order The added order.
+     */
+    public void orderAdded(Order order) {
+        if (store.getOrder(order.getOrderNumber()) != order) return;
+        int position = find(order.getOrderNumber());
+        if (position >= 0) return;
+        position = -(position + 1);
+        if (position == loaded.size() && !complete) return;
+        loaded.add(position, order);
+        if (listener != null) {
+            listener.onInserted(position, 1);
+        }
+    }
+
+    /**
+     * Applies an order removed from the store. Orders that are not loaded are skipped.
+     *
+     * @param order The removed order.
+     */
+    public void orderRemoved(Order order) {
+        int position = find(order.getOrderNumber());
+        if (position < 0) return;
+        loaded.remove(position);
+        if (listener != null) {
+            listener.onRemoved(position);
+        }
+    }
+
+    /**
+     * Binary searches the loaded orders by order number.
+     *
+     * @param orderNumber The order number to find.
+     * @return The position of the order, or -(insertion point) - 1 if it is not loaded.
+     */
+    private int find(int orderNumber) {
+        int low = 0;
+        int high = loaded.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int number = loaded.get(mid).getOrderNumber();
+            if (number < orderNumber) {
+                low = mid + 1;
+            } else if (number > orderNumber) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.rutgerscafe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This class keeps the secondary indexes of the order store: orders sorted by total, orders sorted
+ * by placement time, and for every item kind and every cup size, protein and donut flavor the numbers
+ * of the orders that contain one.
+ * The indexes hold order numbers only; queries resolve them against the store, so an order that is
+ * being removed may be skipped but a removed order is never returned. The indexed values of an
+ * order are recorded when it is indexed and used again to unindex it, so an order changed after it
+ * was placed still leaves the indexes cleanly.
+ * Changes are serialized by the index; queries run without locking.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+class OrderIndex {
+    private final Map<Integer, Order> orders;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Key> byTotal = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Key> byPlacedAt = new ConcurrentSkipListSet<>();
+    private final List<NavigableSet<Integer>> byKind = new ArrayList<>();
+    private final List<NavigableSet<Integer>> byOption = new ArrayList<>();
+
+    /**
+     * Creates empty indexes over the orders of a store.
+     *
+     * @param orders The stored orders by order number, used to resolve query results.
+     */
+    OrderIndex(Map<Integer, Order> orders) {
+        this.orders = orders;
+        for (int i = 0; i < ItemKind.values().length; i++) {
+            byKind.add(new ConcurrentSkipListSet<Integer>());
+        }
+        for (int i = 0; i < MenuCatalog.OPTION_SLOTS; i++) {
+            byOption.add(new ConcurrentSkipListSet<Integer>());
+        }
+    }
+
+    /**
+     * Indexes an order that was just stored. Does nothing if the order has been removed from the
+     * store again or is already indexed.
+     *
+     * @param order The stored order.
+     */
+    synchronized void add(Order order) {
+        Integer number = order.getOrderNumber();
+        if (orders.get(number) != order || entries.containsKey(number)) return;
+        Entry entry = new Entry(order);
+        entries.put(number, entry);
+        byTotal.add(new Key(entry.totalCents, number));
+        byPlacedAt.add(new Key(entry.placedAtMillis, number));
+        for (ItemKind kind : ItemKind.values()) {
+            if ((entry.kindMask & (1 << kind.ordinal())) != 0) {
+                byKind.get(kind.ordinal()).add(number);
+            }
+        }
+        for (int slot : entry.optionSlots) {
+            byOption.get(slot).add(number);
+        }
+    }
+
+    /**
+     * Unindexes an order that was just removed from the store.
+     *
+     * @param order The removed order.
+     */
+    synchronized void remove(Order order) {
+        Integer number = order.getOrderNumber();
+        Entry entry = entries.remove(number);
+        if (entry == null) return;
+        byTotal.remove(new Key(entry.totalCents, number));
+        byPlacedAt.remove(new Key(entry.placedAtMillis, number));
+        for (ItemKind kind : ItemKind.values()) {
+            if ((entry.kindMask & (1 << kind.ordinal())) != 0) {
+                byKind.get(kind.ordinal()).remove(number);
+            }
+        }
+        for (int slot : entry.optionSlots) {
+            byOption.get(slot).remove(number);
+        }
+    }
+
+    /**
+     * Finds the orders whose total, tax included, lies in a range.
+     *
+     * @param minCents The smallest total, inclusive.
+     * @param maxCents The largest total, inclusive.
+     * @return The orders sorted by total, then by order number.
+     */
+    List<Order> byTotal(long minCents, long maxCents) {
+        return range(byTotal, minCents, maxCents);
+    }
+
+    /**
+     * Finds the orders placed in a time range.
+     *
+     * @param fromMillis The earliest placement time, inclusive.
+     * @param toMillis   The latest placement time, exclusive.
+     * @return The orders sorted by placement time, then by order number.
+     */
+    List<Order> byPlacedAt(long fromMillis, long toMillis) {
+        if (toMillis == Long.MIN_VALUE) {
+            return Collections.emptyList();
+        }
+        return range(byPlacedAt, fromMillis, toMillis - 1);
+    }
+
+    /**
+     * Finds the orders that contain an item of a kind.
+     *
+     * @param kind The item kind.
+     * @return The orders sorted by order number.
+     */
+    List<Order> byKind(ItemKind kind) {
+        return resolve(byKind.get(kind.ordinal()));
+    }
+
+    /**
+     * Finds the orders that contain an item with a cup size, protein or donut flavor.
+     *
+     * @param slot The MenuCatalog option slot.
+     * @return The orders sorted by order number.
+     */
+    List<Order> byOption(int slot) {
+        return resolve(byOption.get(slot));
+    }
+
+    /**
+     * Resolves the orders of the keys in a value range.
+     *
+     * @param index The index to read.
+     * @param min   The smallest value, inclusive.
+     * @param max   The largest value, inclusive.
+     * @return The stored orders, in key order.
+     */
+    private List<Order> range(NavigableSet<Key> index, long min, long max) {
+        List<Order> found = new ArrayList<>();
+        if (min > max) {
+            return Collections.unmodifiableList(found);
+        }
+        for (Key key : index.subSet(new Key(min, Integer.MIN_VALUE), true, new Key(max, Integer.MAX_VALUE), true)) {
+            Order order = orders.get(key.orderNumber);
+            if (order != null) {
+                found.add(order);
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Resolves the orders of a set of order numbers.
+     *
+     * @param numbers The order numbers.
+     * @return The stored orders, sorted by order number.
+     */
+    private List<Order> resolve(NavigableSet<Integer> numbers) {
+        List<Order> found = new ArrayList<>();
+        for (Integer number : numbers) {
+            Order order = orders.get(number);
+            if (order != null) {
+                found.add(order);
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * The indexed values of an order, as they were when it was indexed.
+     */
+    private static final class Entry {
+        private final long totalCents;
+        private final long placedAtMillis;
+        private final int kindMask;
+        private final int[] optionSlots;
+
+        private Entry(Order order) {
+            totalCents = order.getTotalCents();
+            placedAtMillis = order.getPlacedAtMillis();
+            int kinds = 0;
+            boolean[] seen = new boolean[MenuCatalog.OPTION_SLOTS];
+            int count = 0;
+            List<MenuItem> items = order.getMenuItems();
+            for (int i = 0; i < items.size(); i++) {
+                MenuItem item = items.get(i);
+                kinds |= 1 << item.getKind().ordinal();
+                int slot = MenuCatalog.slotOf(item);
+                if (!seen[slot]) {
+                    seen[slot] = true;
+                    count++;
+                }
+            }
+            kindMask = kinds;
+            optionSlots = new int[count];
+            for (int slot = 0, i = 0; slot < seen.length; slot++) {
+                if (seen[slot]) {
+                    optionSlots[i++] = slot;
+                }
+            }
+        }
+    }
+
+    /**
+     * A key of an ordered index: the indexed value, with the order number breaking ties.
+     */
+    private static final class Key implements Comparable<Key> {
+        private final long value;
+        private final int orderNumber;
+
+        private Key(long value, int orderNumber) {
+            this.value = value;
+            this.orderNumber = orderNumber;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            if (value != other.value) {
+                return value < other.value ? -1 : 1;
+            }
+            return Integer.compare(orderNumber, other.orderNumber);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && compareTo((Key) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (value ^ (value >>> 32)) * 31 + orderNumber;
+        }
+    }
+}
@@ -0,0 +1,866 @@
+package com.example.rutgerscafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * This class is an append-only journal of the events that change the orders: orders placed and
+ * cancelled, and menu items added to and removed from the cart, kept in a single file.
+ * Each record is framed by its length and a CRC32 checksum; placed orders are stored in the
+ * OrderCodec binary format. A batch of imported orders is stored as one record, so after a crash
+ * either the whole batch is replayed or none of it. Appends are handed to a writer thread
+ * that writes everything queued so far and then syncs the file once for the whole batch, so many
+ * orders share the cost of one fsync.
+ * The writer thread applies every event it writes to its own copy of the live orders and the cart.
+ * Every few thousand events that copy is handed to a snapshot thread, which writes it to a snapshot
+ * file next to the journal together with the journal position it reflects. Once the snapshot is
+ * durable, the events before that position are dropped from the journal. Opening the journal loads
+ * the latest snapshot and replays only the events after it, so startup time follows the number of
+ * live orders and recent events, not the day's traffic. A torn or corrupt record at the end of the
+ * journal is dropped. A snapshot that cannot be read is ignored if the journal still holds every
+ * event; once events have been dropped in its favour, opening fails instead of silently losing the
+ * orders it held. Renames of the snapshot and the journal are made durable by syncing their directory.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderJournal implements Closeable {
+    static final int DEFAULT_SNAPSHOT_INTERVAL = 4096;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte ADD_ALL = 3;
+    private static final byte CART_ADD = 4;
+    private static final byte CART_REMOVE = 5;
+    private static final byte CART_CLEAR = 6;
+    private static final byte SYNC = 0;
+    private static final int JOURNAL_MAGIC = 0xC0FFEE01;
+    private static final int SNAPSHOT_MAGIC = 0xC0FFEE02;
+    private static final int FILE_HEADER_SIZE = 12;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_BATCH = 1024;
+    private static final LatencyHistogram OPEN_LATENCY = MetricsRegistry.getInstance().histogram("journal.open");
+    private static final LatencyHistogram SNAPSHOT_LATENCY = MetricsRegistry.getInstance().histogram("journal.snapshot");
+
+    private final File file;
+    private final File snapshotFile;
+    private final int snapshotInterval;
+    private final Object queueLock = new Object();
+    private final ArrayDeque<Append> queue = new ArrayDeque<>();
+    private final State state = new State();
+    private final List<Order> recoveredOrders;
+    private final List<MenuItem> recoveredCart;
+    private final ExecutorService snapshotter;
+    private final Thread writer;
+    private FileChannel channel;
+    private long base;
+    private int headerSize;
+    private long replayedRecords;
+    private int recordsSinceSnapshot;
+    private volatile boolean snapshotRunning;
+    private volatile long snapshotPosition;
+    private boolean closing;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * A record waiting to be written, completed once it has been synced to disk.
+     */
+    private static final class Append {
+        private final ByteBuffer record;
+        private final byte type;
+        private final Object event;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private Append(ByteBuffer record, byte type, Object event) {
+            this.record = record;
+            this.type = type;
+            this.event = event;
+        }
+    }
+
+    /**
+     * The live orders and the cart as of some position in the journal, rebuilt by applying events.
+     */
+    private static final class State {
+        private final TreeMap<Integer, Order> orders = new TreeMap<>();
+        private PersistentVector<MenuItem> cart = PersistentVector.empty();
+
+        /**
+         * Applies one event.
+         *
+         * @param type  The record type.
+         * @param event The order, batch of orders, order number, menu item or cart position of the event.
+         */
+        @SuppressWarnings("unchecked")
+        private void apply(byte type, Object event) {
+            switch (type) {
+                case ADD:
+                    Order order = (Order) event;
+                    orders.put(order.getOrderNumber(), order);
+                    break;
+                case REMOVE:
+                    orders.remove((Integer) event);
+                    break;
+                case ADD_ALL:
+                    for (Order added : (List<Order>) event) {
+                        orders.put(added.getOrderNumber(), added);
+                    }
+                    break;
+                case CART_ADD:
+                    cart = cart.append((MenuItem) event);
+                    break;
+                case CART_REMOVE:
+                    int position = (Integer) event;
+                    if (position >= 0 && position < cart.size()) {
+                        cart = cart.without(position);
+                    }
+                    break;
+                case CART_CLEAR:
+                    cart = PersistentVector.empty();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Opens the journal, loads its snapshot, replays the events after it and starts the writer thread.
+     *
+     * @param file The journal file; it is created if it does not exist. The snapshot is kept next to
+     *             it, in a file with ".snapshot" appended to the name.
+     * @throws IOException If the file cannot be read or written.
+     */
+    public OrderJournal(File file) throws IOException {
+        this(file, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Opens the journal with a given snapshot interval.
+     *
+     * @param file             The journal file.
+     * @param snapshotInterval The number of events written between snapshots.
+     * @throws IOException If the file cannot be read or written.
+     */
+    OrderJournal(File file, int snapshotInterval) throws IOException {
+        long start = System.nanoTime();
+        this.file = file;
+        this.snapshotFile = new File(file.getPath() + ".snapshot");
+        this.snapshotInterval = snapshotInterval;
+        this.channel = new RandomAccessFile(file, "rw").getChannel();
+        long covered = 0;
+        IOException unreadable = null;
+        try {
+            covered = loadSnapshot();
+        } catch (IOException e) {
+            state.orders.clear();
+            state.cart = PersistentVector.empty();
+            unreadable = e;
+        }
+        snapshotPosition = covered;
+        try {
+            openFile(covered);
+            if (covered < base) {
+                throw new IOException("The journal starts at " + base + " but the snapshot " + snapshotFile
+                        + " covers only " + covered + "; the orders in between would be lost", unreadable);
+            }
+            replay(covered);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        recoveredOrders = new ArrayList<>(state.orders.values());
+        recoveredCart = state.cart;
+        snapshotter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "order-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "order-journal");
+        writer.setDaemon(true);
+        writer.start();
+        OPEN_LATENCY.recordSince(start);
+    }
+
+    /**
+     * Gets the orders that were live when the journal was opened, sorted by order number.
+     *
+     * @return The recovered orders.
+     */
+    public Collection<Order> getRecoveredOrders() {
+        return new ArrayList<>(recoveredOrders);
+    }
+
+    /**
+     * Gets the items that were in the cart when the journal was opened.
+     *
+     * @return A read only list of the recovered cart items.
+     */
+    public List<MenuItem> getRecoveredCart() {
+        return recoveredCart;
+    }
+
+    /**
+     * Gets the number of journal records replayed when the journal was opened, not counting the
+     * events restored from the snapshot.
+     *
+     * @return The number of replayed records.
+     */
+    long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * Appends a record of a placed order.
+     *
+     * @param order The placed order.
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> appendAdd(Order order) {
+        return append(encodeAdd(order), ADD, order);
+    }
+
+    /**
+     * Appends a record of a cancelled order.
+     *
+     * @param order The cancelled order.
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> appendRemove(Order order) {
+        return append(encodeNumber(REMOVE, order.getOrderNumber()), REMOVE, order.getOrderNumber());
+    }
+
+    /**
+     * Appends the record of a batch of placed orders, encoded by encodeAddAll.
+     *
+     * @param orders The placed orders.
+     * @param record The record body.
+     * @return A future completed once the record is durable.
+     */
+    CompletableFuture<Void> appendAddAll(List<Order> orders, byte[] record) {
+        return append(record, ADD_ALL, orders);
+    }
+
+    /**
+     * Appends a record of a menu item added to the end of the cart.
+     *
+     * @param item The added item.
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> appendCartAdd(MenuItem item) {
+        OrderCodec.Output out = new OrderCodec.Output(16);
+        out.write(CART_ADD);
+        out.writeVarint(OrderCodec.VERSION);
+        OrderCodec.writeItem(out, item);
+        return append(out.toByteArray(), CART_ADD, item);
+    }
+
+    /**
+     * Appends a record of a menu item removed from the cart.
+     *
+     * @param position The position the item had.
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> appendCartRemove(int position) {
+        return append(encodeNumber(CART_REMOVE, position), CART_REMOVE, position);
+    }
+
+    /**
+     * Appends a record of the cart being emptied, for example after it was placed.
+     *
+     * @return A future completed once the record is durable.
+     */
+    public CompletableFuture<Void> appendCartClear() {
+        return append(new byte[] {CART_CLEAR}, CART_CLEAR, null);
+    }
+
+    /**
+     * Gets a future completed once every record appended before it is durable. Nothing is written
+     * for it.
+     *
+     * @return A future completed once the records appended so far are durable.
+     */
+    CompletableFuture<Void> sync() {
+        return enqueue(new Append(ByteBuffer.allocate(0), SYNC, null));
+    }
+
+    /**
+     * Encodes the record of a batch of placed orders, to be appended with appendAddAll once the
+     * orders are in the store.
+     *
+     * @param orders The placed orders.
+     * @return The record body.
+     * @throws IllegalArgumentException If the batch is too large for one record.
+     */
+    static byte[] encodeAddAll(List<Order> orders) {
+        OrderCodec.Output out = new OrderCodec.Output(16 + 32 * orders.size());
+        out.write(ADD_ALL);
+        out.writeVarint(OrderCodec.VERSION);
+        out.writeVarint(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderCodec.writeOrder(out, orders.get(i));
+        }
+        if (out.size() > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Batch of " + orders.size() + " orders is too large for one record");
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Waits for all queued records to be written and for a snapshot in progress to finish, and
+     * closes the journal file. Records appended once close has started fail.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (queueLock) {
+            if (closed) return;
+            closed = true;
+            closing = true;
+            queueLock.notifyAll();
+        }
+        try {
+            writer.join();
+            snapshotter.shutdown();
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * Frames a record body and queues it for the writer thread.
+     *
+     * @param body  The encoded record body.
+     * @param type  The record type.
+     * @param event The event the record describes, applied to the writer's state once written.
+     * @return A future completed once the record is durable.
+     */
+    private CompletableFuture<Void> append(byte[] body, byte type, Object event) {
+        return enqueue(new Append(frame(body), type, event));
+    }
+
+    /**
+     * Queues a framed record for the writer thread. The record is queued under the same lock close
+     * takes, so it is either queued before the writer's last batch or failed.
+     *
+     * @param append The record.
+     * @return A future completed once the record is durable.
+     */
+    private CompletableFuture<Void> enqueue(Append append) {
+        synchronized (queueLock) {
+            if (closing) {
+                append.durable.completeExceptionally(new IOException("Order journal is closed"));
+            } else {
+                queue.add(append);
+                queueLock.notifyAll();
+            }
+        }
+        return append.durable;
+    }
+
+    /**
+     * Writes queued records in batches, syncing the file once per batch, until the journal is closed
+     * and everything queued before has been written.
+     * After each batch that was written the events are applied to the writer's state, the events
+     * covered by a finished snapshot are dropped, and a new snapshot is started when enough events
+     * have been written. The events of a batch that failed are not applied, as they are not in the file.
+     * If the writer stops on an unexpected error, the journal stops taking records and every record
+     * still waiting fails, so no caller waits forever.
+     */
+    private void writeLoop() {
+        List<Append> batch = new ArrayList<>();
+        try {
+            boolean last = false;
+            while (!last) {
+                batch.clear();
+                synchronized (queueLock) {
+                    while (queue.isEmpty() && !closing) {
+                        queueLock.wait();
+                    }
+                    while (!queue.isEmpty() && batch.size() < MAX_BATCH) {
+                        batch.add(queue.poll());
+                    }
+                    last = closing && queue.isEmpty();
+                }
+                if (writeBatch(batch)) {
+                    for (Append append : batch) {
+                        state.apply(append.type, append.event);
+                    }
+                    recordsSinceSnapshot += batch.size();
+                }
+                long covered = snapshotPosition;
+                if (covered > base) {
+                    dropCoveredRecords(covered);
+                }
+                if (!last && recordsSinceSnapshot >= snapshotInterval && !snapshotRunning) {
+                    startSnapshot();
+                }
+            }
+        } catch (Throwable t) {
+            IOException stopped = new IOException("Order journal writer stopped", t);
+            synchronized (queueLock) {
+                closing = true;
+                batch.addAll(queue);
+                queue.clear();
+            }
+            for (Append append : batch) {
+                append.durable.completeExceptionally(stopped);
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of records, syncs the file and completes their futures. If the batch cannot be
+     * written, the file is cut back to where the batch started, so a partly written record does not
+     * stop the replay before the records written after it. If even that fails, every later batch is
+     * failed too rather than written after the partial record.
+     *
+     * @param batch The records to write.
+     * @return True if the batch was written and synced.
+     */
+    private boolean writeBatch(List<Append> batch) {
+        if (batch.isEmpty()) return true;
+        long start = -1;
+        try {
+            if (failure != null) {
+                throw new IOException("Order journal could not be repaired after a failed write", failure);
+            }
+            start = channel.position();
+            for (Append append : batch) {
+                writeFully(channel, append.record);
+            }
+            channel.force(false);
+            for (Append append : batch) {
+                append.durable.complete(null);
+            }
+            return true;
+        } catch (IOException e) {
+            if (start >= 0) {
+                rollBack(start);
+            }
+            for (Append append : batch) {
+                append.durable.completeExceptionally(e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cuts the journal file back to the end of the last batch that was written.
+     *
+     * @param position The file position the failed batch started at.
+     */
+    private void rollBack(long position) {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Copies the writer's state as of the end of the journal and hands it to the snapshot thread.
+     * Copying takes one pass over the live orders; encoding and syncing happen on the snapshot thread.
+     */
+    private void startSnapshot() {
+        final long position;
+        try {
+            position = base + channel.position() - headerSize;
+        } catch (IOException e) {
+            return;
+        }
+        final List<Order> orders = new ArrayList<>(state.orders.values());
+        final List<MenuItem> cart = state.cart;
+        snapshotRunning = true;
+        recordsSinceSnapshot = 0;
+        snapshotter.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    writeSnapshot(position, orders, cart);
+                    snapshotPosition = position;
+                } catch (IOException e) {
+                    // the journal still holds every event; the next snapshot tries again
+                } finally {
+                    snapshotRunning = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes a snapshot to a temporary file, syncs it and moves it over the previous snapshot, so a
+     * crash leaves either the old snapshot or the new one.
+     *
+     * @param position The journal position the snapshot reflects.
+     * @param orders   The live orders.
+     * @param cart     The cart items.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    private void writeSnapshot(long position, List<Order> orders, List<MenuItem> cart) throws IOException {
+        long start = System.nanoTime();
+        OrderCodec.Output out = new OrderCodec.Output(64 + 32 * orders.size());
+        out.writeVarint(OrderCodec.VERSION);
+        out.writeVarint(position);
+        out.writeVarint(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderCodec.writeOrder(out, orders.get(i));
+        }
+        out.writeVarint(cart.size());
+        for (int i = 0; i < cart.size(); i++) {
+            OrderCodec.writeItem(out, cart.get(i));
+        }
+        ByteBuffer magic = ByteBuffer.allocate(4);
+        magic.putInt(SNAPSHOT_MAGIC).flip();
+        File temp = new File(snapshotFile.getPath() + ".tmp");
+        FileChannel snapshot = new RandomAccessFile(temp, "rw").getChannel();
+        try {
+            snapshot.truncate(0);
+            writeFully(snapshot, magic);
+            writeFully(snapshot, frame(out.toByteArray()));
+            snapshot.force(false);
+        } finally {
+            snapshot.close();
+        }
+        if (!temp.renameTo(snapshotFile)) {
+            temp.delete();
+            throw new IOException("Could not replace " + snapshotFile);
+        }
+        syncDirectory(snapshotFile);
+        SNAPSHOT_LATENCY.recordSince(start);
+    }
+
+    /**
+     * Reads the snapshot, if there is one, into the state.
+     *
+     * @return The journal position the snapshot reflects, or 0 if there is no snapshot.
+     * @throws IOException If there is a snapshot but it cannot be read.
+     */
+    private long loadSnapshot() throws IOException {
+        if (!snapshotFile.isFile()) return 0;
+        byte[] bytes;
+        RandomAccessFile in = new RandomAccessFile(snapshotFile, "r");
+        try {
+            bytes = new byte[(int) in.length()];
+            in.readFully(bytes);
+        } finally {
+            in.close();
+        }
+        try {
+            ByteBuffer snapshot = ByteBuffer.wrap(bytes);
+            if (snapshot.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Snapshot " + snapshotFile + " has no snapshot header");
+            }
+            int length = snapshot.getInt();
+            int checksum = snapshot.getInt();
+            CRC32 crc = new CRC32();
+            if (length == snapshot.remaining()) {
+                crc.update(bytes, snapshot.position(), length);
+            }
+            if (length != snapshot.remaining() || (int) crc.getValue() != checksum) {
+                throw new IOException("Snapshot " + snapshotFile + " is incomplete or corrupt");
+            }
+            int version = OrderCodec.readVersion(snapshot);
+            long position = OrderCodec.readVarint(snapshot);
+            long orders = OrderCodec.readVarint(snapshot);
+            for (long i = 0; i < orders; i++) {
+                state.apply(ADD, OrderCodec.readOrder(snapshot, version));
+            }
+            long items = OrderCodec.readVarint(snapshot);
+            for (long i = 0; i < items; i++) {
+                state.apply(CART_ADD, OrderCodec.readItem(snapshot, version));
+            }
+            return position;
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot " + snapshotFile + " cannot be decoded", e);
+        }
+    }
+
+    /**
+     * Reads the journal header, which holds the journal position of the file's first record. Files
+     * written before the header was added start at position 0. A new or unusable file, or one that
+     * ends before the snapshot, is started over at the snapshot's position.
+     *
+     * @param covered The journal position the snapshot reflects.
+     * @throws IOException If the file cannot be read or written.
+     */
+    private void openFile(long covered) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading until the header is full
+        }
+        header.flip();
+        if (header.remaining() == FILE_HEADER_SIZE && header.getInt(0) == JOURNAL_MAGIC) {
+            base = header.getLong(4);
+            headerSize = FILE_HEADER_SIZE;
+        } else if (header.remaining() >= 4 && header.getInt(0) != JOURNAL_MAGIC) {
+            base = 0;
+            headerSize = 0;
+        } else {
+            startOver(covered);
+            return;
+        }
+        if (covered > base + channel.size() - headerSize) {
+            startOver(covered);
+        }
+    }
+
+    /**
+     * Empties the journal file and writes a header starting it at a position.
+     *
+     * @param position The journal position of the first record to be written.
+     * @throws IOException If the file cannot be written.
+     */
+    private void startOver(long position) throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        writeFully(channel, fileHeader(position));
+        channel.force(false);
+        base = position;
+        headerSize = FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Reads the records after the snapshot, applying them to the state. Reading stops at the first
+     * record that is incomplete or fails its checksum, and the file is truncated there.
+     *
+     * @param covered The journal position the snapshot reflects.
+     * @throws IOException If the file cannot be read.
+     */
+    private void replay(long covered) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        long position = headerSize + Math.max(0, covered - base);
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            while (header.hasRemaining() && channel.read(header, position + header.position()) > 0) {
+                // keep reading until the header is full
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE) break;
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || position + HEADER_SIZE + length > size) break;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            while (body.hasRemaining() && channel.read(body, position + HEADER_SIZE + body.position()) > 0) {
+                // keep reading until the body is full
+            }
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != checksum || !apply(body.array())) break;
+            position += HEADER_SIZE + length;
+            replayedRecords++;
+        }
+        if (position < size) {
+            channel.truncate(position);
+            channel.force(false);
+        }
+        channel.position(position);
+        recordsSinceSnapshot = (int) Math.min(replayedRecords, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Decodes a record body and applies it to the state.
+     *
+     * @param body The record body.
+     * @return False if the record could not be decoded.
+     */
+    private boolean apply(byte[] body) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(body);
+            byte type = in.get();
+            Object event;
+            if (type == ADD) {
+                event = OrderCodec.decode(in);
+            } else if (type == REMOVE || type == CART_REMOVE) {
+                event = (int) OrderCodec.readVarint(in);
+            } else if (type == ADD_ALL) {
+                int version = OrderCodec.readVersion(in);
+                long count = OrderCodec.readVarint(in);
+                List<Order> batch = new ArrayList<>();
+                for (long i = 0; i < count; i++) {
+                    batch.add(OrderCodec.readOrder(in, version));
+                }
+                event = batch;
+            } else if (type == CART_ADD) {
+                event = OrderCodec.readItem(in, OrderCodec.readVersion(in));
+            } else if (type == CART_CLEAR) {
+                event = null;
+            } else {
+                return false;
+            }
+            if (in.hasRemaining()) return false;
+            state.apply(type, event);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the journal without the records a durable snapshot covers. Only the records written
+     * since the snapshot was started are copied. The new file is fully written and synced before it
+     * replaces the old one, so a crash during the rewrite loses nothing.
+     *
+     * @param covered The journal position the snapshot reflects.
+     */
+    private void dropCoveredRecords(long covered) {
+        File compacted = new File(file.getPath() + ".compact");
+        try {
+            long from = headerSize + covered - base;
+            long end = channel.position();
+            FileChannel out = new RandomAccessFile(compacted, "rw").getChannel();
+            try {
+                out.truncate(0);
+                writeFully(out, fileHeader(covered));
+                for (long copied = 0; copied < end - from; ) {
+                    copied += channel.transferTo(from + copied, end - from - copied, out);
+                }
+                out.force(false);
+            } finally {
+                out.close();
+            }
+            channel.close();
+            if (!compacted.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+            channel = new RandomAccessFile(file, "rw").getChannel();
+            channel.position(channel.size());
+            base = covered;
+            headerSize = FILE_HEADER_SIZE;
+            syncDirectory(file);
+        } catch (IOException e) {
+            compacted.delete();
+            try {
+                if (!channel.isOpen()) {
+                    channel = new RandomAccessFile(file, "rw").getChannel();
+                    channel.position(channel.size());
+                }
+            } catch (IOException reopen) {
+                failure = reopen;
+            }
+        }
+    }
+
+    /**
+     * Syncs the directory of a file that was just renamed, so the rename survives a crash. Where the
+     * platform cannot open a directory the rename is left as durable as the file system makes it.
+     *
+     * @param renamed The renamed file.
+     * @throws IOException If the directory was opened but cannot be synced.
+     */
+    private static void syncDirectory(File renamed) throws IOException {
+        FileChannel directory;
+        try {
+            directory = FileChannel.open(renamed.getAbsoluteFile().getParentFile().toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try {
+            directory.force(true);
+        } finally {
+            directory.close();
+        }
+    }
+
+    /**
+     * Builds the header of a journal file.
+     *
+     * @param position The journal position of the file's first record.
+     * @return A buffer holding the header.
+     */
+    private static ByteBuffer fileHeader(long position) {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(JOURNAL_MAGIC).putLong(position);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer at the channel's position.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The bytes to write.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Prefixes a record body with its length and checksum.
+     *
+     * @param body The record body.
+     * @return A buffer holding the framed record.
+     */
+    private static ByteBuffer frame(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        record.putInt(body.length).putInt((int) crc.getValue()).put(body);
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Encodes the record of a placed order.
+     *
+     * @param order The placed order.
+     * @return The record body.
+     */
+    private static byte[] encodeAdd(Order order) {
+        OrderCodec.Output out = new OrderCodec.Output(32);
+        out.write(ADD);
+        out.writeVarint(OrderCodec.VERSION);
+        OrderCodec.writeOrder(out, order);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes a record that holds a single number, such as a cancelled order's number or a cart
+     * position.
+     *
+     * @param type   The record type.
+     * @param number The number.
+     * @return The record body.
+     */
+    private static byte[] encodeNumber(byte type, int number) {
+        OrderCodec.Output out = new OrderCodec.Output(6);
+        out.write(type);
+        out.writeVarint(number);
+        return out.toByteArray();
+    }
+}
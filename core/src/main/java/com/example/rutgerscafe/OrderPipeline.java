@@ -0,0 +1,193 @@
+package com.example.rutgerscafe;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * This class places orders on background threads so the screen that submits them never waits for
+ * copying, validating or recording an order.
+ * Each register is served by one lane: a single worker thread with a bounded queue, so the orders of
+ * a register are placed in the order they were submitted while different registers run in parallel.
+ * When a lane's queue is full, submit refuses the order instead of queueing without limit, and the
+ * caller decides whether to retry.
+ * The callback is run on the given executor once the order is durable, with the time from submission
+ * until the order was recorded in the journal, or until it was stored if no journal is open. The same
+ * latency, and the number of refused orders, are recorded in the shared MetricsRegistry.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderPipeline implements Closeable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final LatencyHistogram DURABLE_LATENCY =
+            MetricsRegistry.getInstance().histogram("pipeline.submitToDurable");
+    private static final LongAdder REFUSED = MetricsRegistry.getInstance().counter("pipeline.refused");
+    private static final LongAdder FAILED = MetricsRegistry.getInstance().counter("pipeline.failed");
+
+    private final OrderSingleton store;
+    private final ThreadPoolExecutor[] lanes;
+    private final Executor callbackExecutor;
+
+    /**
+     * Receives the outcome of a submitted order.
+     */
+    public interface Callback {
+
+        /**
+         * Called once the order has been placed and is durable.
+         *
+         * @param order        The placed order.
+         * @param latencyNanos The time from submission until the order was durable, in nanoseconds.
+         */
+        void onPlaced(Order order, long latencyNanos);
+
+        /**
+         * Called if the order could not be placed or recorded.
+         *
+         * @param order The submitted order.
+         * @param error The reason.
+         */
+        void onFailed(Order order, Throwable error);
+    }
+
+    /**
+     * Creates a pipeline and starts its lanes.
+     *
+     * @param store            The order store orders are placed in.
+     * @param laneCount        The number of lanes; registers are spread over them.
+     * @param queueCapacity    The number of orders each lane holds before refusing more.
+     * @param callbackExecutor Runs the callbacks, for example on the main thread.
+     */
+    public OrderPipeline(OrderSingleton store, int laneCount, int queueCapacity, Executor callbackExecutor) {
+        if (laneCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Lane count and queue capacity must be positive");
+        }
+        this.store = store;
+        this.callbackExecutor = callbackExecutor;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            final String name = "order-pipeline-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, name);
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Submits an order to be placed. The order is copied on the lane, so the caller may reuse or
+     * discard it once this returns.
+     *
+     * @param register The register the order comes from; orders of one register are placed in order.
+     * @param order    The order to place.
+     * @param callback Told when the order is durable or has failed.
+     * @return False if the register's lane is full and the order was not accepted.
+     */
+    public boolean submit(int register, final Order order, final Callback callback) {
+        final long submitted = System.nanoTime();
+        ThreadPoolExecutor lane = lanes[(register & Integer.MAX_VALUE) % lanes.length];
+        try {
+            lane.execute(new Runnable() {
+                @Override
+                public void run() {
+                    place(order, submitted, callback);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            REFUSED.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of orders waiting in all lanes.
+     *
+     * @return The number of queued orders.
+     */
+    public int getQueuedCount() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    /**
+     * Stops accepting orders and waits for the queued ones to be placed.
+     */
+    @Override
+    public void close() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Validates and stores a copy of an order, then reports the outcome once it is durable.
+     *
+     * @param order     The submitted order.
+     * @param submitted The time the order was submitted, from System.nanoTime.
+     * @param callback  Told the outcome.
+     */
+    private void place(Order order, final long submitted, final Callback callback) {
+        final Order placed;
+        try {
+            if (order.getMenuItems().isEmpty()) {
+                throw new IllegalArgumentException("Order #" + order.getOrderNumber() + " has no items");
+            }
+            placed = new Order(order);
+            store.addOrder(placed).whenComplete(new BiConsumer<Void, Throwable>() {
+                @Override
+                public void accept(Void ignored, Throwable error) {
+                    report(placed, error, System.nanoTime() - submitted, callback);
+                }
+            });
+        } catch (RuntimeException e) {
+            report(order, e, 0, callback);
+        }
+    }
+
+    /**
+     * Runs the callback on the callback executor.
+     *
+     * @param order        The order to report.
+     * @param error        The failure, or null if the order was placed.
+     * @param latencyNanos The time from submission until the order was durable.
+     * @param callback     The callback to run.
+     */
+    private void report(final Order order, final Throwable error, final long latencyNanos, final Callback callback) {
+        if (error == null) {
+            DURABLE_LATENCY.record(latencyNanos);
+        } else {
+            FAILED.increment();
+        }
+        callbackExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (error == null) {
+                    callback.onPlaced(order, latencyNanos);
+                } else {
+                    callback.onFailed(order, error);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.rutgerscafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * This class is the entry point to the order engine for the screens, or for anything else that takes
+ * orders, such as a server. It keeps the cart of the register, places orders through a placement
+ * pipeline, cancels them, and opens the journal and the archive of the order store behind it.
+ * Every change to the cart is recorded in the journal, so the cart is restored after a restart.
+ * A placed cart is cleared in the journal only once its order is durable; changes to the next cart
+ * are held back until then so they land after the clear, and a crash keeps either the order or the
+ * cart, never neither.
+ * Nothing here depends on Android; callbacks are run on the executor given to the constructor, for
+ * example one posting to the main thread.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderService implements Closeable {
+    public static final int DEFAULT_PIPELINE_LANES = 2;
+    private static final int CART_REGISTER = 0;
+    private static final LatencyHistogram ADD_TO_CART_LATENCY =
+            MetricsRegistry.getInstance().histogram("service.addToCart");
+    private static final LatencyHistogram PLACE_ORDER_LATENCY =
+            MetricsRegistry.getInstance().histogram("service.placeOrder");
+
+    private final OrderSingleton store;
+    private final Executor callbackExecutor;
+    private final int pipelineLanes;
+    private OrderPipeline pipeline;
+    private OrderArchive archive;
+    private Order cart = Order.newCart();
+    private final ArrayDeque<Object> heldCartRecords = new ArrayDeque<>();
+
+    /**
+     * Marks where a placed cart is to be cleared among the held cart records.
+     */
+    private static final class CartClear {
+        private boolean placed;
+    }
+
+    /**
+     * Creates a service over an order store with the default number of pipeline lanes.
+     *
+     * @param store            The order store.
+     * @param callbackExecutor Runs the placement callbacks.
+     */
+    public OrderService(OrderSingleton store, Executor callbackExecutor) {
+        this(store, callbackExecutor, DEFAULT_PIPELINE_LANES);
+    }
+
+    /**
+     * Creates a service over an order store.
+     *
+     * @param store            The order store.
+     * @param callbackExecutor Runs the placement callbacks.
+     * @param pipelineLanes    The number of lanes orders are placed on; registers are spread over them.
+     */
+    public OrderService(OrderSingleton store, Executor callbackExecutor, int pipelineLanes) {
+        if (pipelineLanes <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive");
+        }
+        this.store = store;
+        this.callbackExecutor = callbackExecutor;
+        this.pipelineLanes = pipelineLanes;
+    }
+
+    /**
+     * Gets the order store behind this service, for listening to and reading placed orders.
+     *
+     * @return The order store.
+     */
+    public OrderSingleton getStore() {
+        return store;
+    }
+
+    /**
+     * Opens the order journal of the store and puts back the cart recorded in it. Does nothing if a
+     * journal is already open.
+     *
+     * @param file The journal file.
+     * @throws IOException If the journal cannot be read or written.
+     */
+    public synchronized void openJournal(File file) throws IOException {
+        store.openJournal(file);
+        List<MenuItem> recovered = store.takeRecoveredCart();
+        for (MenuItem item : recovered) {
+            cart.addMenuItem(item);
+        }
+    }
+
+    /**
+     * Opens the order archive and keeps it following the store. The archive is opened once; later
+     * calls return the same archive.
+     *
+     * @param file The archive data file.
+     * @return The archive.
+     * @throws IOException If the archive cannot be opened or brought up to date.
+     */
+    public synchronized OrderArchive openArchive(File file) throws IOException {
+        if (archive == null) {
+            archive = OrderArchive.attach(store, file);
+        }
+        return archive;
+    }
+
+    /**
+     * Gets the order archive opened by openArchive.
+     *
+     * @return The archive, or null if none was opened.
+     */
+    public synchronized OrderArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Gets the cart of the register. The cart is replaced by an empty one each time it is placed,
+     * and has order number 0 until then.
+     *
+     * @return The current cart.
+     */
+    public synchronized Order getCart() {
+        return cart;
+    }
+
+    /**
+     * Adds menu items to the end of the cart.
+     *
+     * @param items The items to add; null items are skipped.
+     */
+    public void addToCart(Collection<? extends MenuItem> items) {
+        addToCart(items.toArray(new MenuItem[0]));
+    }
+
+    /**
+     * Adds menu items to the end of the cart.
+     *
+     * @param items The items to add; null items are skipped.
+     */
+    public synchronized void addToCart(MenuItem... items) {
+        long start = System.nanoTime();
+        for (MenuItem item : items) {
+            if (item != null) {
+                cart.addMenuItem(item);
+                recordCartChange(item);
+            }
+        }
+        ADD_TO_CART_LATENCY.recordSince(start);
+    }
+
+    /**
+     * Removes an item from the cart.
+     *
+     * @param position The position of the item.
+     * @return False if there is no item at that position.
+     */
+    public synchronized boolean removeFromCart(int position) {
+        if (position < 0 || position >= cart.getMenuItems().size()) return false;
+        cart.removeMenuItemAt(position);
+        recordCartChange(position);
+        return true;
+    }
+
+    /**
+     * Places the cart and starts an empty one. The cart is kept if it is empty or if the pipeline
+     * refuses it. The cart is cleared in the journal once the order is durable or has failed.
+     * The order takes its number when it is placed, not when the cart was started, so a cart started
+     * before the journal restored older orders never reuses one of their numbers. If placing fails,
+     * the items are put back at the end of the cart before the callback is told.
+     *
+     * @param callback Told on the callback executor when the order is placed or has failed.
+     * @return False if the cart is empty or too many orders are waiting to be placed.
+     */
+    public synchronized boolean placeCart(final OrderPipeline.Callback callback) {
+        if (cart.getMenuItems().isEmpty()) return false;
+        final CartClear clear = new CartClear();
+        synchronized (heldCartRecords) {
+            heldCartRecords.add(clear);
+        }
+        final Order order = new Order(Order.allocateOrderNumbers(1), cart);
+        boolean accepted = placeOrder(CART_REGISTER, order, new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                cartPlaced(clear);
+                callback.onPlaced(order, latencyNanos);
+            }
+
+            @Override
+            public void onFailed(Order failed, Throwable error) {
+                cartPlaced(clear);
+                addToCart(order.getMenuItems());
+                callback.onFailed(failed, error);
+            }
+        });
+        if (!accepted) {
+            synchronized (heldCartRecords) {
+                heldCartRecords.removeLastOccurrence(clear);
+            }
+            return false;
+        }
+        cart.setItemListener(null);
+        cart = Order.newCart();
+        return true;
+    }
+
+    /**
+     * Places an order that was not built in the cart, for example one received from another register.
+     *
+     * @param register The register the order comes from; orders of one register are placed in order.
+     * @param order    The order to place. It is copied, so the caller may reuse it.
+     * @param callback Told on the callback executor when the order is placed or has failed.
+     * @return False if too many orders of the register's lane are waiting to be placed.
+     */
+    public boolean placeOrder(int register, Order order, OrderPipeline.Callback callback) {
+        long start = System.nanoTime();
+        boolean accepted = getPipeline().submit(register, order, callback);
+        PLACE_ORDER_LATENCY.recordSince(start);
+        return accepted;
+    }
+
+    /**
+     * Cancels a placed order.
+     *
+     * @param order The order to cancel.
+     * @return A future completed once the cancel is durable; if it fails the order is back in the store.
+     */
+    public CompletableFuture<Void> cancelOrder(Order order) {
+        return store.removeOrder(order);
+    }
+
+    /**
+     * Waits for the orders being placed, then closes the archive and the journal. Placed orders stay
+     * in the store. The service is not locked while waiting, since a failed placement puts its items
+     * back in the cart from the callback.
+     *
+     * @throws IOException If the archive or the journal cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        OrderPipeline placing;
+        OrderArchive opened;
+        synchronized (this) {
+            placing = pipeline;
+            pipeline = null;
+            opened = archive;
+            archive = null;
+        }
+        if (placing != null) {
+            placing.close();
+        }
+        if (opened != null) {
+            store.removeListener(opened);
+            opened.close();
+        }
+        store.closeJournal();
+    }
+
+    /**
+     * Records a change to the cart in the journal, or holds it back while a placed cart has not been
+     * cleared yet.
+     *
+     * @param change The added menu item, or the position of the removed item.
+     */
+    private void recordCartChange(Object change) {
+        synchronized (heldCartRecords) {
+            if (heldCartRecords.isEmpty()) {
+                record(change);
+            } else {
+                heldCartRecords.add(change);
+            }
+        }
+    }
+
+    /**
+     * Clears a placed cart in the journal, followed by the changes held back behind it, up to the
+     * next cart that is still being placed. The held records have a lock of their own, so this can
+     * run on the journal's thread while the service is busy.
+     *
+     * @param clear The clear of the placed cart.
+     */
+    private void cartPlaced(CartClear clear) {
+        synchronized (heldCartRecords) {
+            clear.placed = true;
+            while (!heldCartRecords.isEmpty()) {
+                Object next = heldCartRecords.peek();
+                if (next instanceof CartClear && !((CartClear) next).placed) break;
+                record(heldCartRecords.poll());
+            }
+        }
+    }
+
+    /**
+     * Records one cart change in the journal.
+     *
+     * @param change A CartClear, the added menu item, or the position of the removed item.
+     */
+    private void record(Object change) {
+        if (change instanceof CartClear) {
+            store.recordCartCleared();
+        } else if (change instanceof MenuItem) {
+            store.recordCartItemAdded((MenuItem) change);
+        } else {
+            store.recordCartItemRemoved((Integer) change);
+        }
+    }
+
+    /**
+     * Gets the placement pipeline, creating it on first use.
+     *
+     * @return The placement pipeline.
+     */
+    private synchronized OrderPipeline getPipeline() {
+        if (pipeline == null) {
+            pipeline = new OrderPipeline(store, pipelineLanes, OrderPipeline.DEFAULT_QUEUE_CAPACITY,
+                    callbackExecutor);
+        }
+        return pipeline;
+    }
+}
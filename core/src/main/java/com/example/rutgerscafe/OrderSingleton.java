@@ -0,0 +1,492 @@
+package com.example.rutgerscafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * This class represents a singleton for managing orders in the cafe application.
+ * It ensures that only one instance of the order management system exists throughout the application.
+ * One instance of a map of all orders that can be accessed through all the orering classes.
+ * The orders are kept in a concurrent map sorted by order number, so orders can be added, removed and
+ * looked up from any thread without locking, reading all orders returns a snapshot that later changes
+ * do not affect, and a page of orders can be read without touching the rest.
+ * Secondary indexes by total, by placement time and by the item kinds, cup sizes, proteins and donut
+ * flavors an order contains are kept up to date on every change, so those lookups read only the
+ * matching orders instead of scanning all of them.
+ * Listeners are told about every order added or removed, so screens can apply changes one at a time
+ * instead of reloading every order.
+ * Once a journal is opened, every placed and cancelled order, and every change to the cart, is also
+ * recorded in it as an event so the orders and the cart survive the process being killed. A change
+ * to an order is made, recorded and announced under a lock picked by its order number, so the
+ * journal sees the changes to one order in the order they were made.
+ * The latency of every change and of reading orders is recorded in the shared MetricsRegistry.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderSingleton {
+    public static final OrderSingleton instance = new OrderSingleton();
+    private static final LatencyHistogram ADD_LATENCY = MetricsRegistry.getInstance().histogram("store.addOrder");
+    private static final LatencyHistogram IMPORT_LATENCY = MetricsRegistry.getInstance().histogram("store.importOrders");
+    private static final LatencyHistogram REMOVE_LATENCY = MetricsRegistry.getInstance().histogram("store.removeOrder");
+    private static final LatencyHistogram READ_ALL_LATENCY = MetricsRegistry.getInstance().histogram("store.getOrders");
+    private static final LatencyHistogram READ_PAGE_LATENCY = MetricsRegistry.getInstance().histogram("store.getOrdersAfter");
+    private static final int ORDER_LOCKS = 64;
+    private final ConcurrentNavigableMap<Integer, Order> orders;
+    private final Object[] orderLocks = new Object[ORDER_LOCKS];
+    private final OrderIndex index;
+    private final List<OrderListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile OrderJournal journal;
+    private List<MenuItem> recoveredCart = Collections.emptyList();
+
+    /**
+     * Receives the orders added to and removed from the order management system. The methods are
+     * called on the thread that changed the store, after the change is visible.
+     */
+    public interface OrderListener {
+
+        /**
+         * Called after an order has been added.
+         *
+         * @param order The added order.
+         */
+        void orderAdded(Order order);
+
+        /**
+         * Called after an order has been removed.
+         *
+         * @param order The removed order.
+         */
+        void orderRemoved(Order order);
+    }
+
+    /**
+     * Constructor kept package-private so only the shared instance is used by the app; tests and
+     * benchmarks may create a store of their own.
+     */
+    OrderSingleton(){
+        orders = new ConcurrentSkipListMap<>();
+        index = new OrderIndex(orders);
+        for (int i = 0; i < ORDER_LOCKS; i++) {
+            orderLocks[i] = new Object();
+        }
+    }
+
+
+    /**
+     * Retrieves the singleton instance of the OrderSingleton class.
+     *
+     * @return The singleton instance.
+     */
+    public static OrderSingleton getInstance() {
+        return instance;
+    }
+
+    /**
+     * Opens the order journal, restores the orders recorded in it and records every later change.
+     * The cart recorded in the journal is kept for takeRecoveredCart. Does nothing if a journal is
+     * already open.
+     *
+     * @param file The journal file.
+     * @throws IOException If the journal cannot be read or written.
+     */
+    public synchronized void openJournal(File file) throws IOException {
+        if (journal != null) return;
+        OrderJournal opened = new OrderJournal(file);
+        recoveredCart = opened.getRecoveredCart();
+        for (Order order : opened.getRecoveredOrders()) {
+            Order replaced = orders.put(order.getOrderNumber(), order);
+            if (replaced != null) {
+                index.remove(replaced);
+            }
+            index.add(order);
+            for (OrderListener listener : listeners) {
+                listener.orderAdded(order);
+            }
+        }
+        journal = opened;
+    }
+
+    /**
+     * Hands over the cart restored when the journal was opened. The cart is handed over once; later
+     * calls return an empty list.
+     *
+     * @return A read only list of the restored cart items.
+     */
+    public synchronized List<MenuItem> takeRecoveredCart() {
+        List<MenuItem> cart = recoveredCart;
+        recoveredCart = Collections.emptyList();
+        return cart;
+    }
+
+    /**
+     * Records a menu item added to the end of the cart. Does nothing if no journal is open.
+     *
+     * @param item The added item.
+     */
+    public void recordCartItemAdded(MenuItem item) {
+        OrderJournal current = journal;
+        if (current != null) {
+            current.appendCartAdd(item);
+        }
+    }
+
+    /**
+     * Records a menu item removed from the cart. Does nothing if no journal is open.
+     *
+     * @param position The position the item had.
+     */
+    public void recordCartItemRemoved(int position) {
+        OrderJournal current = journal;
+        if (current != null) {
+            current.appendCartRemove(position);
+        }
+    }
+
+    /**
+     * Records the cart being emptied, for example after it was placed. Does nothing if no journal
+     * is open.
+     */
+    public void recordCartCleared() {
+        OrderJournal current = journal;
+        if (current != null) {
+            current.appendCartClear();
+        }
+    }
+
+    /**
+     * Registers a listener for added and removed orders.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(OrderListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added by addListener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(OrderListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Closes the order journal after writing everything recorded so far. Orders stay in memory.
+     *
+     * @throws IOException If the journal cannot be closed.
+     */
+    public synchronized void closeJournal() throws IOException {
+        if (journal == null) return;
+        journal.close();
+        journal = null;
+    }
+
+    /**
+     * Gets a future completed once every change recorded in the journal so far is durable, for work
+     * that must only follow changes that were kept, such as archiving orders.
+     *
+     * @return A future completed once the recorded changes are durable; already complete if no
+     * journal is open.
+     */
+    CompletableFuture<Void> syncJournal() {
+        OrderJournal current = journal;
+        return current != null ? current.sync() : CompletableFuture.<Void>completedFuture(null);
+    }
+
+    /**
+     * Adds an order to the order management system. An order without a placement time is stamped
+     * with the current time. If the journal cannot record the order, it is taken out of the store
+     * again, and the listeners told it was removed, before the returned future fails.
+     *
+     * @param order The order to be added.
+     * @return A future completed once the order is durable; already complete if no journal is open.
+     * @throws IllegalArgumentException If an order with the same number is already stored.
+     */
+    public CompletableFuture<Void> addOrder(Order order) {
+        long start = System.nanoTime();
+        if (order.getPlacedAtMillis() == 0) {
+            order.setPlacedAtMillis(System.currentTimeMillis());
+        }
+        CompletableFuture<Void> durable;
+        synchronized (lockFor(order.getOrderNumber())) {
+            if (orders.putIfAbsent(order.getOrderNumber(), order) != null) {
+                throw new IllegalArgumentException("Order #" + order.getOrderNumber() + " is already stored");
+            }
+            index.add(order);
+            OrderJournal current = journal;
+            durable = current != null ? current.appendAdd(order) : CompletableFuture.<Void>completedFuture(null);
+            for (OrderListener listener : listeners) {
+                listener.orderAdded(order);
+            }
+        }
+        ADD_LATENCY.recordSince(start);
+        return durable.whenComplete(forgetOnFailure(Collections.singletonList(order)));
+    }
+
+    /**
+     * Imports a batch of orders, for example from an offline register or a catering batch. Every
+     * order is copied under a new order number; the numbers are allocated in one consecutive block
+     * in the order of the batch. Copies keep their placement time, or get the current time if the
+     * order has none. The copies are recorded in the journal as one record, so they
+     * become durable, or are lost in a crash, together. The record is queued before the copies can
+     * be seen, so a cancel of a copy is always recorded after it. Nothing is stored if the batch is
+     * rejected, and the copies are taken out of the store again if the journal cannot record them.
+     *
+     * @param batch The orders to import.
+     * @return A future completed with the imported copies once they are durable.
+     * @throws IllegalArgumentException If the batch holds a null order or is too large to record.
+     */
+    public CompletableFuture<List<Order>> importOrders(Collection<? extends Order> batch) {
+        long start = System.nanoTime();
+        Order[] sources = batch.toArray(new Order[0]);
+        for (Order source : sources) {
+            if (source == null) {
+                throw new IllegalArgumentException("Batch holds a null order");
+            }
+        }
+        final List<Order> imported = new ArrayList<>(sources.length);
+        if (sources.length == 0) {
+            return CompletableFuture.completedFuture(Collections.unmodifiableList(imported));
+        }
+        int first = Order.allocateOrderNumbers(sources.length);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < sources.length; i++) {
+            Order copy = new Order(first + i, sources[i]);
+            if (copy.getPlacedAtMillis() == 0) {
+                copy.setPlacedAtMillis(now);
+            }
+            imported.add(copy);
+        }
+        OrderJournal current = journal;
+        CompletableFuture<Void> durable = current != null
+                ? current.appendAddAll(imported, OrderJournal.encodeAddAll(imported))
+                : CompletableFuture.<Void>completedFuture(null);
+        for (Order order : imported) {
+            orders.put(order.getOrderNumber(), order);
+            index.add(order);
+        }
+        for (OrderListener listener : listeners) {
+            for (Order order : imported) {
+                listener.orderAdded(order);
+            }
+        }
+        IMPORT_LATENCY.recordSince(start);
+        return durable.whenComplete(forgetOnFailure(imported)).thenApply(new Function<Void, List<Order>>() {
+            @Override
+            public List<Order> apply(Void ignored) {
+                return Collections.unmodifiableList(imported);
+            }
+        });
+    }
+
+    /**
+     * Builds the handler that takes orders out of the store again if recording them failed. The
+     * orders are not in the journal, so keeping them would report an order as failed while it is
+     * still served and counted, and lose it on the next restart. Orders cancelled in the meantime
+     * are left alone.
+     *
+     * @param added The orders that were added.
+     * @return The handler to run when the journal write completes.
+     */
+    private BiConsumer<Void, Throwable> forgetOnFailure(final List<Order> added) {
+        return new BiConsumer<Void, Throwable>() {
+            @Override
+            public void accept(Void ignored, Throwable error) {
+                if (error == null) return;
+                for (Order order : added) {
+                    synchronized (lockFor(order.getOrderNumber())) {
+                        if (!orders.remove(order.getOrderNumber(), order)) continue;
+                        index.remove(order);
+                        for (OrderListener listener : listeners) {
+                            listener.orderRemoved(order);
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Removes an order from the order management system. If the journal cannot record the removal,
+     * the order is put back, and the listeners told it was added, before the returned future fails;
+     * otherwise it would come back on the next restart after being reported as cancelled.
+     *
+     * @param order The order to be removed.
+     * @return A future completed once the removal is durable; already complete if no journal is open
+     * or the order was not stored.
+     */
+    public CompletableFuture<Void> removeOrder(Order order) {
+        long start = System.nanoTime();
+        final Order removed;
+        CompletableFuture<Void> durable;
+        synchronized (lockFor(order.getOrderNumber())) {
+            removed = orders.remove(order.getOrderNumber());
+            if (removed == null) return CompletableFuture.completedFuture(null);
+            index.remove(removed);
+            OrderJournal current = journal;
+            durable = current != null ? current.appendRemove(removed) : CompletableFuture.<Void>completedFuture(null);
+            for (OrderListener listener : listeners) {
+                listener.orderRemoved(removed);
+            }
+        }
+        REMOVE_LATENCY.recordSince(start);
+        return durable.whenComplete(new BiConsumer<Void, Throwable>() {
+            @Override
+            public void accept(Void ignored, Throwable error) {
+                if (error == null) return;
+                synchronized (lockFor(removed.getOrderNumber())) {
+                    if (orders.putIfAbsent(removed.getOrderNumber(), removed) != null) return;
+                    index.add(removed);
+                    for (OrderListener listener : listeners) {
+                        listener.orderAdded(removed);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the lock that orders the changes to one order number.
+     *
+     * @param orderNumber The order number.
+     * @return The lock.
+     */
+    private Object lockFor(int orderNumber) {
+        return orderLocks[orderNumber & (ORDER_LOCKS - 1)];
+    }
+
+    /**
+     * Looks up an order by its order number.
+     *
+     * @param orderNumber The number of the order.
+     * @return The order, or null if no order with that number is stored.
+     */
+    public Order getOrder(int orderNumber) {
+        return orders.get(orderNumber);
+    }
+
+    /**
+     * Gets the number of orders in the order management system.
+     *
+     * @return The number of orders.
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Retrieves all orders from the order management system.
+     * The returned collection is a read only snapshot sorted by order number; it is safe to iterate
+     * while other threads add or remove orders.
+     *
+     * @return A collection of orders.
+     */
+    public Collection<Order> getOrders()
+    {
+        long start = System.nanoTime();
+        List<Order> snapshot = Collections.unmodifiableList(new ArrayList<>(orders.values()));
+        READ_ALL_LATENCY.recordSince(start);
+        return snapshot;
+    }
+
+    /**
+     * Retrieves one page of orders: the first orders numbered above the given number, sorted by
+     * order number. Only the orders on the page are visited.
+     *
+     * @param afterOrderNumber The order number the page starts after; 0 for the first page.
+     * @param limit            The largest number of orders to return.
+     * @return A read only list of at most limit orders.
+     */
+    public List<Order> getOrdersAfter(int afterOrderNumber, int limit)
+    {
+        long start = System.nanoTime();
+        List<Order> page = new ArrayList<>(Math.min(limit, 64));
+        for (Order order : orders.tailMap(afterOrderNumber, false).values()) {
+            if (page.size() == limit) break;
+            page.add(order);
+        }
+        READ_PAGE_LATENCY.recordSince(start);
+        return Collections.unmodifiableList(page);
+    }
+
+    /**
+     * Finds the orders whose total, tax included, lies in a range. Only the matching orders are
+     * visited.
+     *
+     * @param minCents The smallest total in cents, inclusive.
+     * @param maxCents The largest total in cents, inclusive.
+     * @return A read only list of the orders sorted by total, then by order number.
+     */
+    public List<Order> getOrdersByTotal(long minCents, long maxCents)
+    {
+        return index.byTotal(minCents, maxCents);
+    }
+
+    /**
+     * Finds the orders placed in a time range. Only the matching orders are visited.
+     *
+     * @param fromMillis The earliest placement time, inclusive.
+     * @param toMillis   The latest placement time, exclusive.
+     * @return A read only list of the orders sorted by placement time, then by order number.
+     */
+    public List<Order> getOrdersPlacedBetween(long fromMillis, long toMillis)
+    {
+        return index.byPlacedAt(fromMillis, toMillis);
+    }
+
+    /**
+     * Finds the orders that contain at least one item of a kind.
+     *
+     * @param kind The item kind.
+     * @return A read only list of the orders sorted by order number.
+     */
+    public List<Order> getOrdersContaining(ItemKind kind)
+    {
+        return index.byKind(kind);
+    }
+
+    /**
+     * Finds the orders that contain a coffee of a cup size.
+     *
+     * @param cupSize The cup size.
+     * @return A read only list of the orders sorted by order number.
+     */
+    public List<Order> getOrdersContaining(CupSize cupSize)
+    {
+        return index.byOption(MenuCatalog.slotOf(cupSize));
+    }
+
+    /**
+     * Finds the orders that contain a sandwich with a protein.
+     *
+     * @param protein The protein.
+     * @return A read only list of the orders sorted by order number.
+     */
+    public List<Order> getOrdersContaining(Protein protein)
+    {
+        return index.byOption(MenuCatalog.slotOf(protein));
+    }
+
+    /**
+     * Finds the orders that contain a donut of a flavor.
+     *
+     * @param flavor The donut flavor.
+     * @return A read only list of the orders sorted by order number.
+     */
+    public List<Order> getOrdersContaining(DonutFlavor flavor)
+    {
+        return index.byOption(MenuCatalog.slotOf(flavor));
+    }
+
+
+}
@@ -0,0 +1,316 @@
+package com.example.rutgerscafe;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * This class is an immutable list that is changed by making new versions which share structure with
+ * the old one. Elements are kept in a tree of 32 wide arrays, with the last up to 32 elements in a
+ * separate tail array. Appending, replacing and removing the last element copy only the tail or the
+ * path to one leaf, so they take effectively constant time and leave every older version intact;
+ * reading an element is at most a few array reads. Removing an element in the middle rebuilds the
+ * elements after it.
+ * Keeping a version is just keeping the reference, so a snapshot of a list costs nothing no matter
+ * how long the list is.
+ * @param <E> The type of the elements.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+final class PersistentVector<E> extends AbstractList<E> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<Object> EMPTY =
+            new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Gets the empty list.
+     *
+     * @param <E> The type of the elements.
+     * @return The empty list.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The size.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param index The position of the element.
+     * @return The element.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Iterates over the elements, reading each leaf array once.
+     *
+     * @return The iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0) {
+                    leaf = leafFor(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Makes a version with an element added at the end.
+     *
+     * @param element The element to add.
+     * @return The new version.
+     */
+    PersistentVector<E> append(E element) {
+        int inTail = size - tailOffset();
+        if (inTail < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, inTail + 1);
+            newTail[inTail] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * Makes a version with one element replaced.
+     *
+     * @param index   The position of the element.
+     * @param element The new element.
+     * @return The new version.
+     */
+    PersistentVector<E> with(int index, E element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+    }
+
+    /**
+     * Makes a version without the last element.
+     *
+     * @return The new version.
+     */
+    PersistentVector<E> withoutLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = leafFor(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Makes a version without one element. The elements before it are shared; the ones after it
+     * are added again.
+     *
+     * @param index The position of the element.
+     * @return The new version.
+     */
+    PersistentVector<E> without(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Object[] after = new Object[size - index - 1];
+        for (int i = 0; i < after.length; i++) {
+            after[i] = leafFor(index + 1 + i)[(index + 1 + i) & MASK];
+        }
+        PersistentVector<E> result = this;
+        for (int i = size; i > index; i--) {
+            result = result.withoutLast();
+        }
+        for (Object element : after) {
+            @SuppressWarnings("unchecked")
+            E e = (E) element;
+            result = result.append(e);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the position of the first element of the tail.
+     *
+     * @return The tail offset.
+     */
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Gets the leaf array that holds an element.
+     *
+     * @param index The position of the element, in range.
+     * @return The leaf or the tail.
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Copies the path to the last leaf and adds the full tail as a new leaf.
+     *
+     * @param level  The level of the node.
+     * @param parent The node.
+     * @param leaf   The full tail.
+     * @return The copied node.
+     */
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[child] = leaf;
+        } else {
+            Object[] node = (Object[]) parent[child];
+            copy[child] = node != null ? pushTail(level - BITS, node, leaf) : newPath(level - BITS, leaf);
+        }
+        return copy;
+    }
+
+    /**
+     * Copies the path to the last leaf and drops that leaf.
+     *
+     * @param level The level of the node.
+     * @param node  The node.
+     * @return The copied node, or null if it is left empty.
+     */
+    private Object[] popTail(int level, Object[] node) {
+        int child = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[child]);
+            if (newChild == null && child == 0) {
+                return null;
+            }
+            Object[] copy = node.clone();
+            copy[child] = newChild;
+            return copy;
+        }
+        if (child == 0) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[child] = null;
+        return copy;
+    }
+
+    /**
+     * Copies the path to an element and replaces it.
+     *
+     * @param level   The level of the node.
+     * @param node    The node.
+     * @param index   The position of the element.
+     * @param element The new element.
+     * @return The copied node.
+     */
+    private static Object[] replace(int level, Object[] node, int index, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = replace(level - BITS, (Object[]) node[child], index, element);
+        }
+        return copy;
+    }
+
+    /**
+     * Builds a chain of single child nodes down to a leaf.
+     *
+     * @param level The level of the top node.
+     * @param leaf  The leaf.
+     * @return The top node.
+     */
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rutgerscafe;
+
+/**
+ * The Protein enum lists the sandwich proteins; its ordinal indexes the base price table of MenuCatalog.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public enum Protein implements MenuOption {
+    BEEF("beef"),
+    CHICKEN("Chicken"),
+    FISH("Fish");
+
+    private static final Protein[] VALUES = values();
+    private final String displayName;
+
+    /**
+     * Constructs a protein with the name shown on screen.
+     *
+     * @param displayName The name shown on screen.
+     */
+    Protein(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name shown on screen.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Finds the protein with the given display name, ignoring case.
+     *
+     * @param name The display name.
+     * @return The protein.
+     * @throws IllegalArgumentException If no protein has that name.
+     */
+    public static Protein fromName(String name) {
+        return MenuCatalog.find(VALUES, name);
+    }
+
+    /**
+     * Returns the display name, so spinners can show the values directly.
+     *
+     * @return The display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
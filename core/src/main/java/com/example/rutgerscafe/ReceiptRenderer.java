@@ -0,0 +1,153 @@
+package com.example.rutgerscafe;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class renders orders as text: a one line row for lists and the full receipt.
+ * Amounts are written from cents straight into one reusable buffer, and item descriptions are
+ * appended by the items themselves, so rendering builds no formatter and no strings besides the
+ * result. The rendered text of each order is cached with the order's version; rendering an order
+ * again while its items are unchanged returns the cached string. The cache keeps the most recently
+ * rendered orders, enough for the rows on screen.
+ * This class is not thread safe; it is meant to be used from the thread that draws the orders.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class ReceiptRenderer {
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final StringBuilder buffer = new StringBuilder(256);
+    private final Map<Order, Rendered> cache;
+
+    /**
+     * Creates a renderer that caches the text of the last DEFAULT_CACHE_SIZE orders.
+     */
+    public ReceiptRenderer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a renderer.
+     *
+     * @param cacheSize The number of orders whose text is kept.
+     */
+    public ReceiptRenderer(final int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + cacheSize);
+        }
+        cache = new LinkedHashMap<Order, Rendered>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Order, Rendered> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Renders an order as one line: its number, the number of items and the total.
+     *
+     * @param order The order.
+     * @return The row text.
+     */
+    public String renderRow(Order order) {
+        Rendered rendered = lookup(order);
+        if (rendered.row == null) {
+            buffer.setLength(0);
+            rendered.row = appendRow(buffer, order).toString();
+        }
+        return rendered.row;
+    }
+
+    /**
+     * Renders the full receipt of an order: its number, subtotal, tax, total and items. The text is
+     * the same as the order's toString.
+     *
+     * @param order The order.
+     * @return The receipt text.
+     */
+    public String renderReceipt(Order order) {
+        Rendered rendered = lookup(order);
+        if (rendered.receipt == null) {
+            buffer.setLength(0);
+            rendered.receipt = appendReceipt(buffer, order).toString();
+        }
+        return rendered.receipt;
+    }
+
+    /**
+     * Gets the cached text of an order, dropping it if the order has changed since it was rendered.
+     *
+     * @param order The order.
+     * @return The cache entry of the order's current version.
+     */
+    private Rendered lookup(Order order) {
+        Rendered rendered = cache.get(order);
+        if (rendered == null || rendered.version != order.getVersion()) {
+            rendered = new Rendered(order.getVersion());
+            cache.put(order, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Appends the one line row of an order.
+     *
+     * @param sb    The builder to append to.
+     * @param order The order.
+     * @return The builder.
+     */
+    static StringBuilder appendRow(StringBuilder sb, Order order) {
+        return appendRow(sb, order.getOrderNumber(), order.getMenuItems().size(), order.getTotalCents());
+    }
+
+    /**
+     * Appends the one line row of an order from its summary, without the order itself.
+     *
+     * @param sb          The builder to append to.
+     * @param orderNumber The order number.
+     * @param items       The number of items in the order.
+     * @param totalCents  The total of the order in cents.
+     * @return The builder.
+     */
+    static StringBuilder appendRow(StringBuilder sb, int orderNumber, int items, long totalCents) {
+        sb.append("Order #").append(orderNumber);
+        sb.append(" - ").append(items).append(items == 1 ? " item" : " items");
+        sb.append(" - Total=");
+        return CurrencyFormat.appendCents(sb, totalCents);
+    }
+
+    /**
+     * Appends the full receipt of an order.
+     *
+     * @param sb    The builder to append to.
+     * @param order The order.
+     * @return The builder.
+     */
+    static StringBuilder appendReceipt(StringBuilder sb, Order order) {
+        sb.append("Order #").append(order.getOrderNumber());
+        CurrencyFormat.appendCents(sb.append("\n Price="), order.getOrderSubTotalCents());
+        CurrencyFormat.appendCents(sb.append(";\n Tax="), order.getSalesTaxCents());
+        CurrencyFormat.appendCents(sb.append(";\n Total="), order.getTotalCents());
+        sb.append(";\n Items=[");
+        List<MenuItem> items = order.getMenuItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) sb.append(", ");
+            items.get(i).appendTo(sb);
+        }
+        return sb.append(']');
+    }
+
+    /**
+     * The text rendered for one version of an order.
+     */
+    private static final class Rendered {
+        private final int version;
+        private String row;
+        private String receipt;
+
+        private Rendered(int version) {
+            this.version = version;
+        }
+    }
+}
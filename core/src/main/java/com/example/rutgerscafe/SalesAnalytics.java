@@ -0,0 +1,406 @@
+package com.example.rutgerscafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class keeps sales totals over the order history: units sold and revenue per menu item, per
+ * item kind and per hour of the day.
+ * Totals are kept in primitive arrays. Menu items are counted by cup size for coffee, by protein for
+ * sandwiches and by flavor for donuts, each in its MenuCatalog option slot of one item table.
+ * Once attached to the order store the totals follow every placed and cancelled order, one order at
+ * a time. A full recompute splits the history across cores with fork-join and merges the partial
+ * totals; orders placed or cancelled while it runs are applied afterwards, so none are lost or
+ * counted twice.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class SalesAnalytics implements OrderSingleton.OrderListener {
+    static final int HOURS = 24;
+    private static final long HOUR_MILLIS = 60 * 60 * 1000;
+    private static final long DAY_MILLIS = HOURS * HOUR_MILLIS;
+    private static final int SPLIT_THRESHOLD = 4096;
+
+    private final TimeZone timeZone;
+    private Totals totals;
+    private List<Change> pending;
+
+    /**
+     * Creates empty analytics that place orders in hours of the device's time zone.
+     */
+    public SalesAnalytics() {
+        this(TimeZone.getDefault());
+    }
+
+    /**
+     * Creates empty analytics.
+     *
+     * @param timeZone The time zone the hour of each order is taken in.
+     */
+    public SalesAnalytics(TimeZone timeZone) {
+        this.timeZone = timeZone;
+        this.totals = new Totals();
+    }
+
+    /**
+     * Creates analytics that follow an order store, starting from the orders already in it.
+     *
+     * @param store The order store.
+     * @return The analytics.
+     */
+    public static SalesAnalytics attach(OrderSingleton store) {
+        SalesAnalytics analytics = new SalesAnalytics();
+        store.addListener(analytics);
+        analytics.recompute(store);
+        return analytics;
+    }
+
+    /**
+     * Adds a placed order to the totals.
+     *
+     * @param order The added order.
+     */
+    @Override
+    public synchronized void orderAdded(Order order) {
+        if (pending != null) {
+            pending.add(new Change(order, 1));
+        }
+        totals.add(order, 1, timeZone);
+    }
+
+    /**
+     * Takes a cancelled order off the totals.
+     *
+     * @param order The removed order.
+     */
+    @Override
+    public synchronized void orderRemoved(Order order) {
+        if (pending != null) {
+            pending.add(new Change(order, -1));
+        }
+        totals.add(order, -1, timeZone);
+    }
+
+    /**
+     * Rebuilds the totals from every order in the store. Orders placed or cancelled while the
+     * recompute runs are applied to the rebuilt totals.
+     *
+     * @param store The order store.
+     */
+    public void recompute(OrderSingleton store) {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Order[] orders = store.getOrders().toArray(new Order[0]);
+        Totals rebuilt = ForkJoinPool.commonPool().invoke(new RecomputeTask(orders, 0, orders.length, timeZone));
+        synchronized (this) {
+            // A change seen during the recompute may or may not be in the copied orders already;
+            // apply it only if it moves an order into or out of the copied set.
+            Set<Integer> present = new HashSet<>();
+            for (Order order : orders) {
+                present.add(order.getOrderNumber());
+            }
+            for (Change change : pending) {
+                int number = change.order.getOrderNumber();
+                boolean counted = change.sign > 0 ? present.add(number) : present.remove(number);
+                if (counted) {
+                    rebuilt.add(change.order, change.sign, timeZone);
+                }
+            }
+            pending = null;
+            totals = rebuilt;
+        }
+    }
+
+    /**
+     * Rebuilds the totals from the given orders, splitting the work across cores.
+     *
+     * @param orders The orders to count.
+     */
+    public void recompute(Collection<Order> orders) {
+        Order[] array = orders.toArray(new Order[0]);
+        Totals rebuilt = ForkJoinPool.commonPool().invoke(new RecomputeTask(array, 0, array.length, timeZone));
+        synchronized (this) {
+            totals = rebuilt;
+        }
+    }
+
+    /**
+     * Takes a consistent copy of the current totals.
+     *
+     * @return The totals at this moment.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(totals.copy());
+    }
+
+    /**
+     * Gets the hour of the day an order was placed.
+     *
+     * @param order    The order.
+     * @param timeZone The time zone of the hour.
+     * @return The hour, 0 to 23.
+     */
+    static int hourOf(Order order, TimeZone timeZone) {
+        long millis = order.getPlacedAtMillis();
+        long local = millis + timeZone.getOffset(millis);
+        return (int) (((local % DAY_MILLIS) + DAY_MILLIS) % DAY_MILLIS / HOUR_MILLIS);
+    }
+
+    /**
+     * An order placed or cancelled while a recompute runs.
+     */
+    private static final class Change {
+        private final Order order;
+        private final int sign;
+
+        private Change(Order order, int sign) {
+            this.order = order;
+            this.sign = sign;
+        }
+    }
+
+    /**
+     * Running totals in primitive arrays.
+     */
+    static final class Totals {
+        final long[] itemUnits = new long[MenuCatalog.OPTION_SLOTS];
+        final long[] itemRevenueCents = new long[MenuCatalog.OPTION_SLOTS];
+        final long[] kindUnits = new long[ItemKind.values().length];
+        final long[] kindRevenueCents = new long[ItemKind.values().length];
+        final long[] hourOrders = new long[HOURS];
+        final long[] hourRevenueCents = new long[HOURS];
+        long orders;
+        long revenueCents;
+
+        /**
+         * Adds an order to the totals, or takes it off.
+         *
+         * @param order    The order.
+         * @param sign     1 to add the order, -1 to take it off.
+         * @param timeZone The time zone of the hour buckets.
+         */
+        void add(Order order, int sign, TimeZone timeZone) {
+            List<MenuItem> items = order.getMenuItems();
+            for (int i = 0; i < items.size(); i++) {
+                MenuItem item = items.get(i);
+                long units = sign * (long) item.getQuantity();
+                long cents = sign * item.priceCents();
+                int slot = MenuCatalog.slotOf(item);
+                int kind = item.getKind().ordinal();
+                itemUnits[slot] += units;
+                itemRevenueCents[slot] += cents;
+                kindUnits[kind] += units;
+                kindRevenueCents[kind] += cents;
+            }
+            int hour = hourOf(order, timeZone);
+            hourOrders[hour] += sign;
+            hourRevenueCents[hour] += sign * order.getOrderSubTotalCents();
+            orders += sign;
+            revenueCents += sign * order.getOrderSubTotalCents();
+        }
+
+        /**
+         * Adds other totals to these.
+         *
+         * @param other The totals to add.
+         */
+        void merge(Totals other) {
+            addAll(itemUnits, other.itemUnits);
+            addAll(itemRevenueCents, other.itemRevenueCents);
+            addAll(kindUnits, other.kindUnits);
+            addAll(kindRevenueCents, other.kindRevenueCents);
+            addAll(hourOrders, other.hourOrders);
+            addAll(hourRevenueCents, other.hourRevenueCents);
+            orders += other.orders;
+            revenueCents += other.revenueCents;
+        }
+
+        /**
+         * Copies these totals.
+         *
+         * @return The copy.
+         */
+        Totals copy() {
+            Totals copy = new Totals();
+            copy.merge(this);
+            return copy;
+        }
+
+        private static void addAll(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+    }
+
+    /**
+     * Counts a range of orders, splitting it in half until it is small enough to count directly.
+     */
+    private static final class RecomputeTask extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+        private final Order[] orders;
+        private final int from;
+        private final int to;
+        private final TimeZone timeZone;
+
+        RecomputeTask(Order[] orders, int from, int to, TimeZone timeZone) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+            this.timeZone = timeZone;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    totals.add(orders[i], 1, timeZone);
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            RecomputeTask left = new RecomputeTask(orders, from, middle, timeZone);
+            left.fork();
+            Totals right = new RecomputeTask(orders, middle, to, timeZone).compute();
+            Totals totals = left.join();
+            totals.merge(right);
+            return totals;
+        }
+    }
+
+    /**
+     * A consistent, read only copy of the sales totals.
+     */
+    public static final class Snapshot {
+        private final Totals totals;
+
+        private Snapshot(Totals totals) {
+            this.totals = totals;
+        }
+
+        /**
+         * Gets the number of orders counted.
+         *
+         * @return The number of orders.
+         */
+        public long getOrderCount() {
+            return totals.orders;
+        }
+
+        /**
+         * Gets the revenue of all orders before tax.
+         *
+         * @return The revenue in cents.
+         */
+        public long getRevenueCents() {
+            return totals.revenueCents;
+        }
+
+        /**
+         * Gets the units sold of a kind of menu item.
+         *
+         * @param kind The item kind.
+         * @return The units sold.
+         */
+        public long getUnits(ItemKind kind) {
+            return totals.kindUnits[kind.ordinal()];
+        }
+
+        /**
+         * Gets the revenue of a kind of menu item.
+         *
+         * @param kind The item kind.
+         * @return The revenue in cents.
+         */
+        public long getRevenueCents(ItemKind kind) {
+            return totals.kindRevenueCents[kind.ordinal()];
+        }
+
+        /**
+         * Gets the coffees sold in a cup size.
+         *
+         * @param cupSize The cup size.
+         * @return The units sold.
+         */
+        public long getUnits(CupSize cupSize) {
+            return totals.itemUnits[MenuCatalog.slotOf(cupSize)];
+        }
+
+        /**
+         * Gets the revenue of coffees in a cup size.
+         *
+         * @param cupSize The cup size.
+         * @return The revenue in cents.
+         */
+        public long getRevenueCents(CupSize cupSize) {
+            return totals.itemRevenueCents[MenuCatalog.slotOf(cupSize)];
+        }
+
+        /**
+         * Gets the sandwiches sold with a protein.
+         *
+         * @param protein The protein.
+         * @return The units sold.
+         */
+        public long getUnits(Protein protein) {
+            return totals.itemUnits[MenuCatalog.slotOf(protein)];
+        }
+
+        /**
+         * Gets the revenue of sandwiches with a protein.
+         *
+         * @param protein The protein.
+         * @return The revenue in cents.
+         */
+        public long getRevenueCents(Protein protein) {
+            return totals.itemRevenueCents[MenuCatalog.slotOf(protein)];
+        }
+
+        /**
+         * Gets the donuts sold of a flavor.
+         *
+         * @param flavor The donut flavor.
+         * @return The units sold.
+         */
+        public long getUnits(DonutFlavor flavor) {
+            return totals.itemUnits[MenuCatalog.slotOf(flavor)];
+        }
+
+        /**
+         * Gets the revenue of donuts of a flavor.
+         *
+         * @param flavor The donut flavor.
+         * @return The revenue in cents.
+         */
+        public long getRevenueCents(DonutFlavor flavor) {
+            return totals.itemRevenueCents[MenuCatalog.slotOf(flavor)];
+        }
+
+        /**
+         * Gets the number of orders placed in an hour of the day.
+         *
+         * @param hour The hour, 0 to 23.
+         * @return The number of orders.
+         */
+        public long getOrderCount(int hour) {
+            return totals.hourOrders[hour];
+        }
+
+        /**
+         * Gets the revenue of the orders placed in an hour of the day.
+         *
+         * @param hour The hour, 0 to 23.
+         * @return The revenue in cents.
+         */
+        public long getRevenueCents(int hour) {
+            return totals.hourRevenueCents[hour];
+        }
+    }
+}
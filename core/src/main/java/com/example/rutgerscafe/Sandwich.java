@@ -0,0 +1,250 @@
+package com.example.rutgerscafe;
+
+import java.util.Set;
+
+/**
+ * The Sandwich class represents a sandwich item in the menu of the RU Cafe.
+ * It contains information about the protein, bread, and additional add-ons of the sandwich.
+ * The add-ons are stored as an AddIn bit mask, so pricing and copying take constant time.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class Sandwich extends MenuItem {
+    private static final long serialVersionUID = 1L;
+    private Protein protein;
+    private Bread bread;
+    private int addOnMask;
+
+    /**
+     * Constructs a Sandwich object with the specified protein and bread.
+     *
+     * @param protein The type of protein in the sandwich (e.g., beef, chicken, fish).
+     * @param bread   The type of bread used for the sandwich.
+     */
+    public Sandwich(String protein, String bread) {
+        this(Protein.fromName(protein), Bread.fromName(bread));
+    }
+
+    /**
+     * Constructs a Sandwich object with the specified protein and bread and no add-ons.
+     *
+     * @param protein The protein in the sandwich.
+     * @param bread   The bread used for the sandwich.
+     */
+    public Sandwich(Protein protein, Bread bread) {
+        this.bread = bread;
+        this.protein = protein;
+    }
+
+    /**
+     * Constructs a sandwich object copy of another sandwich object.
+     */
+    public Sandwich(Sandwich other){
+        this.bread = other.bread;
+        this.protein = other.protein;
+        this.addOnMask = other.addOnMask;
+    }
+
+    /**
+     * Calculates the price of the sandwich in cents based on its protein, bread, and additional add-ons.
+     *
+     * @return The total price of the sandwich in cents.
+     */
+    @Override
+    public long priceCents() {
+        long basePrice = MenuCatalog.get().priceCents(protein);
+        long addOnsPrice = calculateAddOnsPrice();
+        return basePrice + addOnsPrice;
+    }
+
+    /**
+     * Gets the kind of the menu item.
+     *
+     * @return ItemKind.SANDWICH
+     */
+    @Override
+    public ItemKind getKind() {
+        return ItemKind.SANDWICH;
+    }
+
+    /**
+     * Calculates the price of additional add-ons in the sandwich in cents.
+     *
+     * @return The price of additional add-ons in the sandwich in cents.
+     */
+    private long calculateAddOnsPrice() {
+        return MenuCatalog.get().sandwichAddOnsPriceCents(addOnMask);
+    }
+
+    /**
+     * Adds an additional add-on to the sandwich.
+     *
+     * @param addIn The additional add-on to be added to the sandwich.
+     */
+    public void addAddOn(String addIn){
+        addAddOn(AddIn.fromName(addIn));
+    }
+
+    /**
+     * Adds an additional add-on to the sandwich.
+     *
+     * @param addIn The additional add-on to be added to the sandwich.
+     */
+    public void addAddOn(AddIn addIn){
+        this.addOnMask |= addIn.mask();
+    }
+
+    /**
+     * Removes an additional add-on from the sandwich.
+     *
+     * @param addIn The additional add-on to be removed from the sandwich.
+     */
+    public void removeAddOn(String addIn){
+        removeAddOn(AddIn.fromName(addIn));
+    }
+
+    /**
+     * Removes an additional add-on from the sandwich.
+     *
+     * @param addIn The additional add-on to be removed from the sandwich.
+     */
+    public void removeAddOn(AddIn addIn){
+        this.addOnMask &= ~addIn.mask();
+    }
+
+
+
+    /**
+     * Returns a string representation of the sandwich.
+     *
+     * @return A string containing information about the sandwich, including its protein, bread, and add-ons.
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the description of the sandwich to a builder.
+     *
+     * @param sb The builder to append to.
+     * @return The builder.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append("Sandwich ").append("(").append(getBread()).append(",").append(" ").append(protein.getDisplayName()).append(")");
+        AddIn.appendNames(sb, addOnMask);
+        return sb;
+    }
+
+    /**
+     * Gets the type of bread used for the sandwich.
+     *
+     * @return The type of bread used for the sandwich.
+     */
+    public String getBread(){
+        return this.bread.getDisplayName();
+    }
+
+    /**
+     * Gets the bread used for the sandwich.
+     *
+     * @return The bread used for the sandwich.
+     */
+    public Bread getBreadType(){
+        return this.bread;
+    }
+
+
+    /**
+     * Gets the names of the additional add-ons included in the sandwich.
+     *
+     * @return A new set containing the names of the additional add-ons included in the sandwich.
+     */
+    public Set<String> getAddOns() {
+        return AddIn.namesOf(addOnMask);
+    }
+
+    /**
+     * Sets the additional add-ons included in the sandwich by name.
+     *
+     * @param addOns The names of the additional add-ons to be included in the sandwich.
+     * @return The set of additional add-ons included in the sandwich.
+     */
+
+    public Set<String> setAddOns(Set<String > addOns){
+        this.addOnMask = AddIn.maskOf(addOns);
+        return addOns;
+    }
+
+    /**
+     * Gets the additional add-ons as an AddIn bit mask.
+     *
+     * @return The add-on mask.
+     */
+    public int getAddOnMask() {
+        return addOnMask;
+    }
+
+    /**
+     * Sets the additional add-ons from an AddIn bit mask.
+     *
+     * @param addOnMask The add-on mask.
+     */
+    public void setAddOnMask(int addOnMask) {
+        this.addOnMask = addOnMask;
+    }
+
+    /**
+     * Sets the type of bread used for the sandwich.
+     *
+     * @param bread The type of bread to be used for the sandwich.
+     */
+    public void setBread(String bread) {
+        this.bread = Bread.fromName(bread);
+    }
+
+    /**
+     * Sets the bread used for the sandwich.
+     *
+     * @param bread The bread to be used for the sandwich.
+     */
+    public void setBread(Bread bread) {
+        this.bread = bread;
+    }
+
+    /**
+     * Gets the type of protein in the sandwich.
+     *
+     * @return The type of protein in the sandwich.
+     */
+    public String getProtein() {
+        return this.protein.getDisplayName();
+    }
+
+    /**
+     * Gets the protein in the sandwich.
+     *
+     * @return The protein in the sandwich.
+     */
+    public Protein getProteinType() {
+        return this.protein;
+    }
+
+    /**
+     * Sets the type of protein in the sandwich.
+     *
+     * @param protein The type of protein to be included in the sandwich.
+     */
+    public void setProtein(String protein) {
+        this.protein = Protein.fromName(protein);
+    }
+
+    /**
+     * Sets the protein in the sandwich.
+     *
+     * @param protein The protein to be included in the sandwich.
+     */
+    public void setProtein(Protein protein) {
+        this.protein = protein;
+    }
+}
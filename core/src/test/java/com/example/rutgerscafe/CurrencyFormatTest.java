@@ -0,0 +1,53 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for formatting amounts of money.
+ */
+public class CurrencyFormatTest {
+
+    @Test
+    public void cents_matchStringFormat() {
+        CurrencyFormat format = new CurrencyFormat();
+        for (int cents = -1000000; cents <= 1000000; cents++) {
+            assertFormat(format, cents);
+        }
+        Random random = new Random(18);
+        for (int i = 0; i < 100000; i++) {
+            assertFormat(format, random.nextLong() % 1000000000000000L);
+        }
+    }
+
+    @Test
+    public void prefix_isWrittenBeforeTheAmount() {
+        CurrencyFormat format = new CurrencyFormat();
+        assertEquals("$1.99", format.format("$", 199).toString());
+        assertEquals("Subtotal: $0.05", format.format("Subtotal: $", 5).toString());
+        assertEquals("-12.30", format.format(-1230).toString());
+    }
+
+    @Test
+    public void extremes_areFormatted() {
+        assertEquals("92233720368547758.07", CurrencyFormat.appendCents(new StringBuilder(), Long.MAX_VALUE).toString());
+        assertEquals("-92233720368547758.08", CurrencyFormat.appendCents(new StringBuilder(), Long.MIN_VALUE).toString());
+    }
+
+    @Test
+    public void reusedBuffer_holdsOnlyTheLatestAmount() {
+        CurrencyFormat format = new CurrencyFormat();
+        CharSequence first = format.format("Subtotal: $", 123456789);
+        assertSame(first, format.format(7));
+        assertEquals("0.07", first.toString());
+    }
+
+    private static void assertFormat(CurrencyFormat format, long cents) {
+        String expected = String.format(Locale.US, "%.2f", cents / 100.0);
+        assertEquals(expected, format.format(cents).toString());
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for splitting orders across the kitchen stations.
+ */
+public class KitchenSchedulerTest {
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final List<Order> ready = Collections.synchronizedList(new ArrayList<Order>());
+    private KitchenScheduler kitchen;
+
+    @After
+    public void tearDown() {
+        if (kitchen != null) {
+            kitchen.close();
+        }
+    }
+
+    @Test
+    public void everyUnit_isMadeAtItsStationAndTheOrderReportedOnce() throws Exception {
+        final List<MenuItem> made = Collections.synchronizedList(new ArrayList<MenuItem>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch done = new CountDownLatch(20);
+        kitchen = new KitchenScheduler(new int[] {2, 2, 2}, new long[] {0, 0, 0}, new KitchenScheduler.Preparer() {
+            @Override
+            public void prepare(MenuItem item, long estimateNanos) {
+                made.add(item);
+                threads.add(item.getKind() + "@" + Thread.currentThread().getName());
+            }
+        }, readyListener(done), DIRECT);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(kitchen.schedule(order()));
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(20, ready.size());
+        assertEquals(20 * 6, made.size());
+        assertEquals(20 * 2, kitchen.getStats(ItemKind.COFFEE).getCompletedUnits());
+        assertEquals(20 * 3, kitchen.getStats(ItemKind.DONUT).getCompletedUnits());
+        assertEquals(20, kitchen.getStats(ItemKind.SANDWICH).getCompletedUnits());
+        for (String thread : threads) {
+            String kind = thread.substring(0, thread.indexOf('@'));
+            assertTrue(thread, thread.contains("kitchen-" + kind.toLowerCase() + "-"));
+        }
+    }
+
+    @Test
+    public void oldestOrder_isMadeFirstAndQueueDepthIsReported() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        kitchen = new KitchenScheduler(new int[] {1, 1, 1}, new long[] {60000, 0, 0}, new KitchenScheduler.Preparer() {
+            @Override
+            public void prepare(MenuItem item, long estimateNanos) throws InterruptedException {
+                started.countDown();
+                release.await();
+            }
+        }, readyListener(done), DIRECT);
+        List<Order> scheduled = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Order order = new Order();
+            order.addMenuItem(new Coffee(CupSize.TALL, 3));
+            scheduled.add(order);
+            kitchen.schedule(order);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+        }
+        assertFalse(kitchen.schedule(scheduled.get(0)));
+        KitchenScheduler.StationStats coffee = kitchen.getStats(ItemKind.COFFEE);
+        assertEquals(11, coffee.getQueueDepth());
+        assertEquals(11, coffee.getPeakQueueDepth());
+        assertEquals(TimeUnit.SECONDS.toNanos(60), coffee.getPrepNanos());
+        assertEquals(12 * TimeUnit.SECONDS.toNanos(60), kitchen.getEstimatedBacklogNanos());
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(scheduled, ready);
+        coffee = kitchen.getStats(ItemKind.COFFEE);
+        assertEquals(0, coffee.getQueueDepth());
+        assertEquals(12, coffee.getCompletedUnits());
+        assertTrue(coffee.getThroughputPerSecond() > 0);
+    }
+
+    @Test
+    public void cancelledOrder_isDroppedFromTheQueues() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        OrderSingleton store = new OrderSingleton();
+        kitchen = new KitchenScheduler(new int[] {1, 1, 1}, new long[] {0, 0, 0}, new KitchenScheduler.Preparer() {
+            @Override
+            public void prepare(MenuItem item, long estimateNanos) throws InterruptedException {
+                release.await();
+            }
+        }, readyListener(done), DIRECT);
+        store.addListener(kitchen);
+        Order first = order();
+        Order cancelled = order();
+        store.addOrder(first);
+        store.addOrder(cancelled);
+        store.removeOrder(cancelled);
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (droppedUnits() < 6 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(6, droppedUnits());
+        assertEquals(Collections.singletonList(first), ready);
+    }
+
+    private long droppedUnits() {
+        long dropped = 0;
+        for (ItemKind kind : ItemKind.values()) {
+            dropped += kitchen.getStats(kind).getDroppedUnits();
+        }
+        return dropped;
+    }
+
+    private KitchenScheduler.Listener readyListener(final CountDownLatch done) {
+        return new KitchenScheduler.Listener() {
+            @Override
+            public void orderReady(Order order, long latencyNanos) {
+                assertTrue(latencyNanos >= 0);
+                ready.add(order);
+                done.countDown();
+            }
+        };
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.addMenuItem(new Coffee(CupSize.GRANDE, 2));
+        order.addMenuItem(new Sandwich(Protein.BEEF, Bread.BAGEL));
+        Donut donut = new Donut(DonutFlavor.GLAZED);
+        donut.setQuantity(3);
+        order.addMenuItem(donut);
+        return order;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for reading the menu file into the catalog.
+ */
+public class MenuCatalogTest {
+
+    @Test
+    public void bundledMenu_offersEveryOptionAtItsPrice() {
+        MenuCatalog menu = MenuCatalog.get();
+        assertSame(menu, MenuCatalog.get());
+        assertEquals(Arrays.asList(CupSize.values()), menu.getCupSizes());
+        assertEquals(Arrays.asList(Protein.values()), menu.getProteins());
+        assertEquals(Arrays.asList(Bread.values()), menu.getBreads());
+        assertEquals(Arrays.asList(DonutFlavor.values()), menu.getDonutFlavors());
+        assertEquals(199, menu.getCoffeeBasePriceCents());
+        assertEquals(150, menu.priceCents(CupSize.VENTI));
+        assertEquals(899, menu.priceCents(Protein.CHICKEN));
+        assertEquals(39, menu.priceCents(DonutFlavor.GLAZED_HOLES));
+        assertEquals("jelly_donut", menu.getImageName(DonutFlavor.JELLY));
+        assertTrue(menu.isCoffeeAddIn(AddIn.CARAMEL));
+        assertFalse(menu.isCoffeeAddIn(AddIn.CHEESE));
+        assertTrue(menu.isSandwichAddOn(AddIn.CHEESE));
+        assertEquals(130, menu.sandwichAddOnsPriceCents(AddIn.CHEESE.mask() | AddIn.ONION.mask()));
+        assertTrue(menu.getLoadTimeNanos() > 0);
+    }
+
+    @Test
+    public void parse_keepsMenuOrderAndLeavesOutUnlistedOptions() throws IOException {
+        MenuCatalog menu = parse("coffee.basePrice=250\n"
+                + "coffee.sizes=VENTI:100, TALL:20\n"
+                + "coffee.addIns=MOCHA:45\n"
+                + "sandwich.proteins=FISH:1200\n"
+                + "sandwich.breads=SOUR_DOUGH\n"
+                + "sandwich.addOns=TOMATO:10\n"
+                + "donut.flavors=GLAZED:99:glazed\n");
+        assertEquals(Arrays.asList(CupSize.VENTI, CupSize.TALL), menu.getCupSizes());
+        assertEquals(0, menu.priceCents(CupSize.SHORT));
+        assertEquals(45, menu.coffeeAddInsPriceCents(AddIn.MOCHA.mask()));
+        assertFalse(menu.isCoffeeAddIn(AddIn.CARAMEL));
+        assertEquals(Arrays.asList(DonutFlavor.GLAZED), menu.getDonutFlavors());
+        assertNull(menu.getImageName(DonutFlavor.JELLY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsUnknownOption() throws IOException {
+        parse("coffee.basePrice=199\ncoffee.sizes=HUGE:300\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsMissingList() throws IOException {
+        parse("coffee.basePrice=199\n");
+    }
+
+    private static MenuCatalog parse(String menu) throws IOException {
+        return MenuCatalog.parse(new ByteArrayInputStream(menu.getBytes("UTF-8")));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the metrics registry, its counters and its latency histograms.
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    public void buckets_holdEachLatencyWithinAnEighth() {
+        Random random = new Random(19);
+        for (int i = 0; i < 1000000; i++) {
+            long nanos = random.nextLong() >>> (23 + random.nextInt(41));
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(nanos + " in bucket ending at " + upper, nanos <= upper);
+            assertTrue(nanos + " in bucket ending at " + upper, upper - nanos <= nanos / 8);
+            if (bucket > 0) {
+                assertTrue(nanos > LatencyHistogram.upperBoundOf(bucket - 1));
+            }
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles_areWithinABucketOfTheExactValues() {
+        LatencyHistogram histogram = new MetricsRegistry().histogram("test");
+        Random random = new Random(20);
+        long[] samples = new long[100000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (long) Math.abs(random.nextGaussian() * 200000) + 1000;
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(samples.length, snapshot.getCount());
+        assertEquals(samples[samples.length - 1], snapshot.getMaxNanos());
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9, 100}) {
+            long exact = samples[(int) Math.ceil(percentile / 100 * samples.length) - 1];
+            long reported = snapshot.getPercentileNanos(percentile);
+            assertTrue(percentile + ": " + reported + " vs " + exact, reported >= exact && reported - exact <= exact / 8);
+        }
+        assertEquals(0, new MetricsRegistry().histogram("empty").snapshot().getPercentileNanos(99));
+    }
+
+    @Test
+    public void counters_countEveryIncrementFromManyThreads() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    LongAdder counter = registry.counter("placed");
+                    LatencyHistogram histogram = registry.histogram("latency");
+                    for (int i = 0; i < 100000; i++) {
+                        counter.increment();
+                        histogram.record(i);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        MetricsRegistry.Snapshot snapshot = registry.snapshot();
+        assertEquals(Long.valueOf(800000), snapshot.getCounters().get("placed"));
+        assertEquals(800000, snapshot.getHistograms().get("latency").getCount());
+        assertEquals(99999, snapshot.getHistograms().get("latency").getMaxNanos());
+    }
+
+    @Test
+    public void dump_listsEveryMetricWithItsPercentiles() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("b.count").add(3);
+        registry.histogram("a.latency").record(1500);
+        assertEquals("b.count count=3\na.latency count=1 mean=1.5us p50=1.5us p99=1.5us max=1.5us\n",
+                registry.dump());
+    }
+
+    @Test
+    public void storeOperations_areRecordedInTheSharedRegistry() {
+        OrderSingleton store = new OrderSingleton();
+        long before = count("store.addOrder");
+        Order order = new Order();
+        order.addMenuItem(new Coffee(CupSize.SHORT, 1));
+        store.addOrder(order);
+        store.removeOrder(order);
+        assertEquals(before + 1, count("store.addOrder"));
+        assertTrue(count("store.removeOrder") > 0);
+    }
+
+    private static long count(String histogram) {
+        return MetricsRegistry.getInstance().snapshot().getHistograms().get(histogram).getCount();
+    }
+}
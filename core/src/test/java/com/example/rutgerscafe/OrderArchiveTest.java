@@ -0,0 +1,195 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the memory-mapped order archive.
+ */
+public class OrderArchiveTest {
+    private File file;
+    private File index;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("orders", ".archive");
+        index = new File(file.getPath() + ".index");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        index.delete();
+    }
+
+    @Test
+    public void reopenedArchive_servesCountsAndRowsWithoutDecoding() throws Exception {
+        List<Order> placed = new ArrayList<>();
+        OrderArchive archive = new OrderArchive(file);
+        for (int i = 0; i < 200; i++) {
+            Order order = sampleOrder(i);
+            placed.add(order);
+            archive.append(order);
+        }
+        archive.close();
+
+        OrderArchive reopened = new OrderArchive(file);
+        assertEquals(200, reopened.size());
+        for (int i = 0; i < placed.size(); i++) {
+            Order order = placed.get(i);
+            assertEquals(order.getOrderNumber(), reopened.getOrderNumber(i));
+            assertEquals(order.getTotalCents(), reopened.getTotalCents(i));
+            assertEquals(order.getPlacedAtMillis(), reopened.getPlacedAtMillis(i));
+            String row = ReceiptRenderer.appendRow(new StringBuilder(), order).toString();
+            assertEquals(row, reopened.appendRow(new StringBuilder(), i).toString());
+        }
+        assertEquals(0, reopened.getDecodeCount());
+
+        assertEquals(placed.get(150).toString(), reopened.getOrder(150).toString());
+        assertSame(reopened.getOrder(150), reopened.getOrder(150));
+        assertEquals(1, reopened.getDecodeCount());
+        reopened.close();
+    }
+
+    @Test
+    public void cancelledOrders_stayMarkedAfterReopening() throws Exception {
+        OrderArchive archive = new OrderArchive(file);
+        List<Order> placed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            placed.add(sampleOrder(i));
+        }
+        archive.appendAll(placed);
+        assertTrue(archive.markCancelled(placed.get(4).getOrderNumber()));
+        assertFalse(archive.markCancelled(placed.get(4).getOrderNumber()));
+        assertFalse(archive.markCancelled(-1));
+        archive.close();
+
+        OrderArchive reopened = new OrderArchive(file);
+        assertEquals(1, reopened.getCancelledCount());
+        assertTrue(reopened.isCancelled(4));
+        List<Order> latest = reopened.getLatest(2);
+        assertEquals(2, latest.size());
+        assertEquals(placed.get(3).getOrderNumber(), latest.get(0).getOrderNumber());
+        assertEquals(placed.get(2).getOrderNumber(), latest.get(1).getOrderNumber());
+        assertEquals(2, reopened.getDecodeCount());
+        reopened.close();
+    }
+
+    @Test
+    public void tornAppend_isDroppedOnOpen() throws Exception {
+        OrderArchive archive = new OrderArchive(file);
+        Order kept = sampleOrder(1);
+        archive.append(kept);
+        archive.append(sampleOrder(2));
+        archive.close();
+        RandomAccessFile raf = new RandomAccessFile(index, "rw");
+        raf.seek(8);
+        long keptData = raf.readLong() + OrderCodec.encode(kept).length;
+        raf.setLength(OrderArchive.ENTRY_SIZE + 7);
+        raf.close();
+
+        OrderArchive reopened = new OrderArchive(file);
+        assertEquals(1, reopened.size());
+        assertEquals(OrderArchive.ENTRY_SIZE, index.length());
+        assertEquals(keptData, file.length());
+        Order next = sampleOrder(3);
+        reopened.append(next);
+        reopened.close();
+
+        OrderArchive again = new OrderArchive(file);
+        assertEquals(2, again.size());
+        assertEquals(next.toString(), again.getOrder(1).toString());
+        again.close();
+    }
+
+    @Test
+    public void attachedArchive_followsTheStoreAndCatchesUp() throws Exception {
+        OrderSingleton store = new OrderSingleton();
+        Order before = sampleOrder(1);
+        store.addOrder(before);
+        OrderArchive archive = OrderArchive.attach(store, file);
+        assertEquals(1, archive.size());
+
+        Order after = sampleOrder(2);
+        store.addOrder(after);
+        store.removeOrder(before);
+        archive.awaitWritten();
+        assertEquals(2, archive.size());
+        assertTrue(archive.isCancelled(archive.find(before.getOrderNumber())));
+        assertFalse(archive.isCancelled(archive.find(after.getOrderNumber())));
+        store.removeListener(archive);
+        archive.close();
+
+        OrderArchive reattached = OrderArchive.attach(store, file);
+        assertEquals(2, reattached.size());
+        store.removeListener(reattached);
+        reattached.close();
+    }
+
+    @Test
+    public void queuedChanges_areArchivedAsTheyWereMade() throws Exception {
+        OrderSingleton store = new OrderSingleton();
+        Order archived = sampleOrder(1);
+        store.addOrder(archived);
+        OrderArchive archive = OrderArchive.attach(store, file);
+        store.removeListener(archive);
+
+        Order placed = sampleOrder(2);
+        Order cancelled = sampleOrder(3);
+        archive.orderAdded(placed);
+        archive.orderAdded(cancelled);
+        archive.orderRemoved(cancelled);
+        archive.orderRemoved(archived);
+        archive.orderRemoved(placed);
+        archive.orderAdded(placed);
+        archive.awaitWritten();
+
+        assertEquals(3, archive.size());
+        assertEquals(2, archive.getCancelledCount());
+        assertTrue(archive.isCancelled(archive.find(archived.getOrderNumber())));
+        assertTrue(archive.isCancelled(archive.find(cancelled.getOrderNumber())));
+        assertFalse(archive.isCancelled(archive.find(placed.getOrderNumber())));
+
+        archive.orderAdded(archived);
+        archive.awaitWritten();
+        assertEquals(3, archive.size());
+        assertEquals(1, archive.getCancelledCount());
+        assertFalse(archive.isCancelled(archive.find(archived.getOrderNumber())));
+        archive.close();
+    }
+
+    private static Order sampleOrder(int i) {
+        Order order = new Order();
+        for (int n = 0; n <= i % 4; n++) {
+            order.addMenuItem(menuItem(i + n));
+        }
+        order.setPlacedAtMillis(1700000000000L + i * 60000L);
+        return order;
+    }
+
+    private static MenuItem menuItem(int i) {
+        switch (i % 3) {
+            case 0:
+                Coffee coffee = new Coffee("Grande", 0, 1 + i % 3);
+                coffee.addAddIn("Mocha");
+                return coffee;
+            case 1:
+                Sandwich sandwich = new Sandwich("Chicken", "Bagel");
+                sandwich.addAddOn("Cheese");
+                return sandwich;
+            default:
+                Donut donut = Donut.ofDollars("glazed", 1.79);
+                donut.setQuantity(1 + i % 6);
+                return donut;
+        }
+    }
+}
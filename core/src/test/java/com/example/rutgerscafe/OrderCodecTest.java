@@ -0,0 +1,146 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the binary order format.
+ */
+public class OrderCodecTest {
+    @Test
+    public void coffee_roundTrips() {
+        Coffee coffee = new Coffee("Venti", 0, 3);
+        coffee.addAddIn("Irish Cream");
+        coffee.addAddIn("Caramel");
+        MenuItem decoded = OrderCodec.decodeItem(OrderCodec.encodeItem(coffee));
+        assertTrue(decoded instanceof Coffee);
+        assertEquals(coffee.toString(), decoded.toString());
+        assertEquals(coffee.priceCents(), decoded.priceCents());
+    }
+
+    @Test
+    public void sandwich_roundTrips() {
+        Sandwich sandwich = new Sandwich("Chicken", "Wheat Bread");
+        sandwich.addAddOn("Cheese");
+        sandwich.addAddOn("Onion");
+        MenuItem decoded = OrderCodec.decodeItem(OrderCodec.encodeItem(sandwich));
+        assertTrue(decoded instanceof Sandwich);
+        assertEquals(sandwich.toString(), decoded.toString());
+        assertEquals(sandwich.priceCents(), decoded.priceCents());
+    }
+
+    @Test
+    public void donut_roundTrips() {
+        Donut donut = Donut.ofDollars("powdered holes", 0.39);
+        donut.setQuantity(6);
+        MenuItem decoded = OrderCodec.decodeItem(OrderCodec.encodeItem(donut));
+        assertTrue(decoded instanceof Donut);
+        assertEquals(donut.toString(), decoded.toString());
+        assertEquals(donut.priceCents(), decoded.priceCents());
+    }
+
+    @Test
+    public void everyCatalogValue_roundTrips() {
+        for (CupSize size : CupSize.values()) {
+            Coffee coffee = new Coffee(size, 1);
+            assertEquals(coffee.toString(), OrderCodec.decodeItem(OrderCodec.encodeItem(coffee)).toString());
+        }
+        for (Protein protein : Protein.values()) {
+            for (Bread bread : Bread.values()) {
+                Sandwich sandwich = new Sandwich(protein, bread);
+                assertEquals(sandwich.toString(), OrderCodec.decodeItem(OrderCodec.encodeItem(sandwich)).toString());
+            }
+        }
+        for (DonutFlavor flavor : DonutFlavor.values()) {
+            Donut donut = new Donut(flavor);
+            assertEquals(donut.toString(), OrderCodec.decodeItem(OrderCodec.encodeItem(donut)).toString());
+        }
+    }
+
+    @Test
+    public void version1AddInLists_areStillRead() {
+        // version 1, coffee, "Tall", quantity 2, two add-ins: Mocha and a literal "Caramel"
+        byte[] v1 = {1, 1, 2, 2, 2, 2, 0, 7, 'C', 'a', 'r', 'a', 'm', 'e', 'l'};
+        Coffee coffee = (Coffee) OrderCodec.decodeItem(v1);
+        assertEquals("Coffee (2) Tall [Mocha, Caramel]", coffee.toString());
+    }
+
+    @Test
+    public void placementTime_roundTripsAndIsZeroForVersion2Orders() {
+        Order order = new Order();
+        order.setPlacedAtMillis(1700000000123L);
+        assertEquals(1700000000123L, OrderCodec.decode(OrderCodec.encode(order)).getPlacedAtMillis());
+        // version 2, order number 300 and no items
+        byte[] v2 = {2, (byte) 0xAC, 2, 0};
+        Order decoded = OrderCodec.decode(v2);
+        assertEquals(300, decoded.getOrderNumber());
+        assertEquals(0, decoded.getPlacedAtMillis());
+    }
+
+    @Test
+    public void order_roundTripsAndIsSmallerThanJavaSerialization() throws Exception {
+        Order order = new Order();
+        Coffee coffee = new Coffee("Tall", 0, 1);
+        coffee.addAddIn("Mocha");
+        order.addMenuItem(coffee);
+        order.addMenuItem(new Sandwich("beef", "Bagel"));
+        Donut donut = Donut.ofDollars("glazed", 1.79);
+        donut.setQuantity(2);
+        order.addMenuItem(donut);
+
+        byte[] encoded = OrderCodec.encode(order);
+        Order decoded = OrderCodec.decode(encoded);
+        assertEquals(order.getOrderNumber(), decoded.getOrderNumber());
+        assertEquals(order.getTotalCents(), decoded.getTotalCents());
+        assertEquals(order.toString(), decoded.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(order);
+        out.close();
+        assertTrue(encoded.length * 10 < bytes.size());
+    }
+
+    @Test
+    public void cart_roundTripsWithoutAnOrderNumber() {
+        Coffee coffee = new Coffee(CupSize.GRANDE, 2);
+        coffee.addAddIn(AddIn.CARAMEL);
+        Donut donut = new Donut(DonutFlavor.JELLY);
+        donut.setQuantity(4);
+        List<MenuItem> cart = Arrays.<MenuItem>asList(coffee, new Sandwich(Protein.FISH, Bread.SOUR_DOUGH), donut);
+        List<MenuItem> decoded = OrderCodec.decodeCart(OrderCodec.encodeCart(cart));
+        assertEquals(cart.size(), decoded.size());
+        for (int i = 0; i < cart.size(); i++) {
+            assertEquals(cart.get(i).toString(), decoded.get(i).toString());
+            assertEquals(cart.get(i).priceCents(), decoded.get(i).priceCents());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cartClaimingMoreItemsThanItHolds_isRejected() {
+        OrderCodec.decodeCart(new byte[]{OrderCodec.VERSION, 100, 3, 1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVersion_isRejected() {
+        byte[] encoded = OrderCodec.encode(new Order());
+        encoded[0] = 99;
+        OrderCodec.decode(encoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedInput_isRejected() {
+        Order order = new Order();
+        order.addMenuItem(new Sandwich("Fish", "Bagel"));
+        byte[] encoded = OrderCodec.encode(order);
+        byte[] truncated = new byte[encoded.length - 1];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        OrderCodec.decode(truncated);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for paging through the order store and applying added and removed orders.
+ */
+public class OrderHistoryPagerTest {
+    private final OrderSingleton store = OrderSingleton.getInstance();
+    private final List<Order> placed = new ArrayList<>();
+    private final List<String> changes = new ArrayList<>();
+    private OrderHistoryPager pager;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 25; i++) {
+            place();
+        }
+        pager = new OrderHistoryPager(store, 10);
+        pager.setListener(new OrderHistoryPager.Listener() {
+            @Override
+            public void onInserted(int position, int count) {
+                changes.add("+" + position + "x" + count);
+            }
+
+            @Override
+            public void onRemoved(int position) {
+                changes.add("-" + position);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        for (Order order : placed) {
+            store.removeOrder(order);
+        }
+    }
+
+    @Test
+    public void pages_loadEveryStoredOrderInOrder() {
+        assertEquals(0, pager.size());
+        assertEquals(10, pager.loadNextPage());
+        assertEquals(10, pager.size());
+        assertFalse(pager.isComplete());
+        while (pager.loadNextPage() > 0) {
+            // keep scrolling
+        }
+        assertTrue(pager.isComplete());
+        assertEquals(new ArrayList<>(store.getOrders()), loaded());
+        assertEquals("+0x10", changes.get(0));
+    }
+
+    @Test
+    public void removedOrder_isRemovedFromItsPosition() {
+        pager.loadNextPage();
+        Order removed = pager.get(3);
+        store.removeOrder(removed);
+        pager.orderRemoved(removed);
+        assertEquals("-3", changes.get(changes.size() - 1));
+        assertEquals(9, pager.size());
+        assertFalse(loaded().contains(removed));
+        pager.orderRemoved(removed);
+        assertEquals(9, pager.size());
+    }
+
+    @Test
+    public void addedOrder_isSkippedUntilItsPageIsLoaded() {
+        pager.loadNextPage();
+        Order added = place();
+        pager.orderAdded(added);
+        assertEquals(10, pager.size());
+        while (pager.loadNextPage() > 0) {
+            // keep scrolling
+        }
+        int size = pager.size();
+        assertSame(added, pager.get(size - 1));
+        pager.orderAdded(added);
+        assertEquals(size, pager.size());
+
+        Order later = place();
+        pager.orderAdded(later);
+        assertEquals("+" + size + "x1", changes.get(changes.size() - 1));
+        assertEquals(new ArrayList<>(store.getOrders()), loaded());
+    }
+
+    @Test
+    public void orderCancelledBeforeItsAddIsApplied_isNotShown() {
+        while (pager.loadNextPage() > 0) {
+            // keep scrolling
+        }
+        Order order = place();
+        store.removeOrder(order);
+        pager.orderRemoved(order);
+        pager.orderAdded(order);
+        assertFalse(loaded().contains(order));
+    }
+
+    @Test
+    public void getOrdersAfter_returnsOnePageSortedByNumber() {
+        Order first = placed.get(0);
+        List<Order> page = store.getOrdersAfter(first.getOrderNumber(), 5);
+        assertEquals(5, page.size());
+        int previous = first.getOrderNumber();
+        for (Order order : page) {
+            assertTrue(order.getOrderNumber() > previous);
+            previous = order.getOrderNumber();
+        }
+    }
+
+    private Order place() {
+        Order order = new Order();
+        store.addOrder(order);
+        placed.add(order);
+        return order;
+    }
+
+    private List<Order> loaded() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < pager.size(); i++) {
+            orders.add(pager.get(i));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for importing a batch of orders into the order store.
+ */
+public class OrderImportTest {
+    private File file;
+    private OrderSingleton store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("import", ".journal");
+        store = new OrderSingleton();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        store.closeJournal();
+        file.delete();
+    }
+
+    @Test
+    public void importedOrders_areCopiesWithConsecutiveNumbers() throws Exception {
+        List<Order> batch = batch(5);
+        List<Order> imported = store.importOrders(batch).get();
+        assertEquals(5, imported.size());
+        assertEquals(5, store.size());
+        for (int i = 0; i < imported.size(); i++) {
+            Order copy = imported.get(i);
+            assertEquals(imported.get(0).getOrderNumber() + i, copy.getOrderNumber());
+            assertNotSame(batch.get(i), copy);
+            assertEquals(batch.get(i).getTotalCents(), copy.getTotalCents());
+            assertEquals(batch.get(i).getMenuItems(), copy.getMenuItems());
+            assertSame(copy, store.getOrder(copy.getOrderNumber()));
+        }
+        assertTrue(new Order().getOrderNumber() > imported.get(4).getOrderNumber());
+    }
+
+    @Test
+    public void journaledBatch_isReplayedWhole() throws Exception {
+        store.openJournal(file);
+        List<Order> imported = store.importOrders(batch(50)).get();
+        store.closeJournal();
+
+        OrderSingleton restored = new OrderSingleton();
+        restored.openJournal(file);
+        assertEquals(50, restored.size());
+        for (Order order : imported) {
+            assertEquals(order.toString(), restored.getOrder(order.getOrderNumber()).toString());
+        }
+        restored.closeJournal();
+    }
+
+    @Test
+    public void tornBatch_isDroppedWhole() throws Exception {
+        store.openJournal(file);
+        Order single = new Order();
+        single.addMenuItem(new Coffee(CupSize.SHORT, 1));
+        store.addOrder(single).get();
+        store.importOrders(batch(50)).get();
+        store.closeJournal();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 1);
+        raf.close();
+
+        OrderSingleton restored = new OrderSingleton();
+        restored.openJournal(file);
+        assertEquals(1, restored.size());
+        assertNotNull(restored.getOrder(single.getOrderNumber()));
+        restored.closeJournal();
+    }
+
+    @Test
+    public void batchWithNullOrder_storesNothing() {
+        List<Order> batch = new ArrayList<>(batch(3));
+        batch.add(null);
+        try {
+            store.importOrders(batch);
+            fail("null order accepted");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    public void emptyBatch_importsNothing() throws Exception {
+        assertTrue(store.importOrders(Arrays.<Order>asList()).get().isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    private static List<Order> batch(int size) {
+        List<Order> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Order order = new Order();
+            order.addMenuItem(new Coffee(CupSize.VENTI, 1 + i % 3));
+            order.addMenuItem(new Sandwich(Protein.FISH, Bread.BAGEL));
+            batch.add(order);
+        }
+        return batch;
+    }
+}
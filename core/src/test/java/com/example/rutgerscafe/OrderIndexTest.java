@@ -0,0 +1,192 @@
+package com.example.rutgerscafe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the secondary indexes of the order store, checked against full scans.
+ */
+public class OrderIndexTest {
+    private static final long HOUR = 60 * 60 * 1000;
+    private static final long START = 1700000000000L;
+
+    private OrderSingleton store;
+    private Random random;
+
+    @Before
+    public void setUp() {
+        store = new OrderSingleton();
+        random = new Random(15);
+        List<Order> placed = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Order order = randomOrder(random);
+            store.addOrder(order);
+            placed.add(order);
+        }
+        List<Order> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            batch.add(randomOrder(random));
+        }
+        store.importOrders(batch);
+        for (int i = 0; i < placed.size(); i += 5) {
+            store.removeOrder(placed.get(i));
+        }
+    }
+
+    @Test
+    public void byTotal_matchesScan() {
+        for (int i = 0; i < 50; i++) {
+            long min = random.nextInt(5000);
+            long max = min + random.nextInt(3000);
+            List<Order> expected = new ArrayList<>();
+            for (Order order : store.getOrders()) {
+                if (order.getTotalCents() >= min && order.getTotalCents() <= max) {
+                    expected.add(order);
+                }
+            }
+            Collections.sort(expected, new Comparator<Order>() {
+                @Override
+                public int compare(Order a, Order b) {
+                    int byTotal = Long.compare(a.getTotalCents(), b.getTotalCents());
+                    return byTotal != 0 ? byTotal : Integer.compare(a.getOrderNumber(), b.getOrderNumber());
+                }
+            });
+            assertEquals(expected, store.getOrdersByTotal(min, max));
+        }
+        assertTrue(store.getOrdersByTotal(10, 5).isEmpty());
+        assertEquals(store.size(), store.getOrdersByTotal(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    public void byPlacementTime_matchesScan() {
+        for (int i = 0; i < 50; i++) {
+            long from = START + random.nextInt(7 * 24) * HOUR;
+            long to = from + random.nextInt(12) * HOUR;
+            List<Order> expected = new ArrayList<>();
+            for (Order order : store.getOrders()) {
+                if (order.getPlacedAtMillis() >= from && order.getPlacedAtMillis() < to) {
+                    expected.add(order);
+                }
+            }
+            Collections.sort(expected, new Comparator<Order>() {
+                @Override
+                public int compare(Order a, Order b) {
+                    int byTime = Long.compare(a.getPlacedAtMillis(), b.getPlacedAtMillis());
+                    return byTime != 0 ? byTime : Integer.compare(a.getOrderNumber(), b.getOrderNumber());
+                }
+            });
+            assertEquals(expected, store.getOrdersPlacedBetween(from, to));
+        }
+        assertTrue(store.getOrdersPlacedBetween(START, START).isEmpty());
+    }
+
+    @Test
+    public void byContainedItem_matchesScan() {
+        for (ItemKind kind : ItemKind.values()) {
+            List<Order> expected = new ArrayList<>();
+            for (Order order : store.getOrders()) {
+                for (MenuItem item : order.getMenuItems()) {
+                    if (item.getKind() == kind) {
+                        expected.add(order);
+                        break;
+                    }
+                }
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, store.getOrdersContaining(kind));
+        }
+        for (CupSize size : CupSize.values()) {
+            assertEquals(scanFor(size), store.getOrdersContaining(size));
+        }
+        for (Protein protein : Protein.values()) {
+            assertEquals(scanFor(protein), store.getOrdersContaining(protein));
+        }
+        for (DonutFlavor flavor : DonutFlavor.values()) {
+            assertEquals(scanFor(flavor), store.getOrdersContaining(flavor));
+        }
+    }
+
+    @Test
+    public void cancelledOrder_leavesEveryIndex() {
+        Order order = new Order();
+        order.setPlacedAtMillis(START - HOUR);
+        order.addMenuItem(new Donut(DonutFlavor.JELLY));
+        store.addOrder(order);
+        assertTrue(store.getOrdersContaining(DonutFlavor.JELLY).contains(order));
+        assertEquals(Arrays.asList(order), store.getOrdersPlacedBetween(START - HOUR, START));
+
+        order.addMenuItem(new Coffee(CupSize.VENTI, 1));
+        store.removeOrder(order);
+        assertFalse(store.getOrdersContaining(DonutFlavor.JELLY).contains(order));
+        assertFalse(store.getOrdersContaining(ItemKind.DONUT).contains(order));
+        assertFalse(store.getOrdersByTotal(0, Long.MAX_VALUE).contains(order));
+        assertTrue(store.getOrdersPlacedBetween(START - HOUR, START).isEmpty());
+    }
+
+    @Test
+    public void duplicateOrderNumber_isRejectedAndTheIndexesKeepTheStoredOrder() {
+        Order order = new Order();
+        order.addMenuItem(new Donut(DonutFlavor.JELLY));
+        store.addOrder(order);
+        Order duplicate = new Order(order.getOrderNumber());
+        duplicate.addMenuItem(new Coffee(CupSize.VENTI, 1));
+        try {
+            store.addOrder(duplicate);
+            fail("Duplicate order number was accepted");
+        } catch (IllegalArgumentException expected) {
+            // the stored order stays
+        }
+        assertSame(order, store.getOrder(order.getOrderNumber()));
+        assertTrue(store.getOrdersContaining(DonutFlavor.JELLY).contains(order));
+        assertFalse(store.getOrdersContaining(CupSize.VENTI).contains(duplicate));
+    }
+
+    private List<Order> scanFor(Object option) {
+        List<Order> found = new ArrayList<>();
+        for (Order order : store.getOrders()) {
+            for (MenuItem item : order.getMenuItems()) {
+                if (optionOf(item) == option) {
+                    found.add(order);
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Object optionOf(MenuItem item) {
+        if (item instanceof Coffee) return ((Coffee) item).getSize();
+        if (item instanceof Sandwich) return ((Sandwich) item).getProteinType();
+        return ((Donut) item).getDonutFlavor();
+    }
+
+    private static Order randomOrder(Random random) {
+        Order order = new Order();
+        order.setPlacedAtMillis(START + random.nextInt(7 * 24) * HOUR + random.nextInt(60) * 60000L);
+        int items = 1 + random.nextInt(4);
+        for (int i = 0; i < items; i++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    order.addMenuItem(new Coffee(CupSize.values()[random.nextInt(4)], 1 + random.nextInt(5)));
+                    break;
+                case 1:
+                    order.addMenuItem(new Sandwich(Protein.values()[random.nextInt(3)], Bread.values()[random.nextInt(3)]));
+                    break;
+                default:
+                    Donut donut = new Donut(DonutFlavor.values()[random.nextInt(12)]);
+                    donut.setQuantity(1 + random.nextInt(6));
+                    order.addMenuItem(donut);
+            }
+        }
+        return order;
+    }
+}
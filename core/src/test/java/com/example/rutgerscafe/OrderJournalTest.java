@@ -0,0 +1,245 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for writing, replaying, snapshotting and compacting the order journal.
+ */
+public class OrderJournalTest {
+    private File file;
+    private File snapshot;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("orders", ".journal");
+        snapshot = new File(file.getPath() + ".snapshot");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        snapshot.delete();
+    }
+
+    @Test
+    public void replay_restoresPlacedOrdersAndDropsCancelled() throws Exception {
+        Order kept = sampleOrder();
+        Order cancelled = sampleOrder();
+        OrderJournal journal = new OrderJournal(file);
+        journal.appendAdd(kept);
+        journal.appendAdd(cancelled);
+        journal.appendRemove(cancelled).get();
+        journal.close();
+
+        List<Order> recovered = new ArrayList<>(recover());
+        assertEquals(1, recovered.size());
+        Order order = recovered.get(0);
+        assertEquals(kept.getOrderNumber(), order.getOrderNumber());
+        assertEquals(kept.getTotalCents(), order.getTotalCents());
+        assertEquals(kept.toString(), order.toString());
+    }
+
+    @Test
+    public void replay_dropsTornFinalRecord() throws Exception {
+        Order first = sampleOrder();
+        Order second = sampleOrder();
+        OrderJournal journal = new OrderJournal(file);
+        journal.appendAdd(first).get();
+        long intact = file.length();
+        journal.appendAdd(second).get();
+        journal.close();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+
+        OrderJournal reopened = new OrderJournal(file);
+        Collection<Order> recovered = reopened.getRecoveredOrders();
+        assertEquals(1, recovered.size());
+        assertEquals(first.getOrderNumber(), recovered.iterator().next().getOrderNumber());
+        assertEquals(intact, file.length());
+        reopened.appendAdd(second).get();
+        reopened.close();
+        assertEquals(2, recover().size());
+    }
+
+    @Test
+    public void compaction_keepsJournalProportionalToLiveOrders() throws Exception {
+        OrderJournal journal = new OrderJournal(file);
+        Order kept = sampleOrder();
+        journal.appendAdd(kept);
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 20000; i++) {
+            Order order = sampleOrder();
+            journal.appendAdd(order);
+            last = journal.appendRemove(order);
+        }
+        last.get();
+        journal.close();
+        assertTrue("journal not compacted: " + file.length(), file.length() < 20000 * 20);
+
+        Collection<Order> recovered = recover();
+        assertEquals(1, recovered.size());
+        assertEquals(kept.getOrderNumber(), recovered.iterator().next().getOrderNumber());
+    }
+
+    @Test
+    public void replay_restoresTheCart() throws Exception {
+        Coffee coffee = new Coffee("Tall", 0, 1);
+        Donut donut = Donut.ofDollars("jelly", 1.79);
+        donut.setQuantity(2);
+        Sandwich sandwich = new Sandwich("beef", "Bagel");
+        OrderJournal journal = new OrderJournal(file);
+        journal.appendCartAdd(sampleOrder().getMenuItems().get(0));
+        journal.appendCartClear();
+        journal.appendCartAdd(coffee);
+        journal.appendCartAdd(donut);
+        journal.appendCartAdd(sandwich);
+        journal.appendCartRemove(1);
+        journal.close();
+
+        OrderJournal reopened = new OrderJournal(file);
+        reopened.close();
+        List<MenuItem> cart = reopened.getRecoveredCart();
+        assertEquals(2, cart.size());
+        assertEquals(coffee.toString(), cart.get(0).toString());
+        assertEquals(sandwich.toString(), cart.get(1).toString());
+    }
+
+    @Test
+    public void snapshot_limitsReplayToTheTail() throws Exception {
+        List<Order> kept = new ArrayList<>();
+        OrderJournal journal = new OrderJournal(file, 100);
+        for (int i = 0; i < 525; i++) {
+            Order order = sampleOrder();
+            journal.appendAdd(order).get();
+            if (i % 3 == 0) {
+                journal.appendRemove(order).get();
+            } else {
+                kept.add(order);
+            }
+        }
+        journal.appendCartAdd(new Coffee("Venti", 0, 3)).get();
+        journal.close();
+        assertTrue(snapshot.isFile());
+
+        OrderJournal reopened = new OrderJournal(file, 100);
+        reopened.close();
+        assertTrue("replayed " + reopened.getReplayedRecords(), reopened.getReplayedRecords() < 600);
+        List<Order> recovered = new ArrayList<>(reopened.getRecoveredOrders());
+        assertEquals(kept.size(), recovered.size());
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(kept.get(i).toString(), recovered.get(i).toString());
+        }
+        assertEquals(1, reopened.getRecoveredCart().size());
+    }
+
+    @Test
+    public void unreadableSnapshot_failsOpeningOnceTheJournalWasCompacted() throws Exception {
+        OrderJournal journal = new OrderJournal(file, 100);
+        for (int i = 0; i < 300; i++) {
+            journal.appendAdd(sampleOrder()).get();
+        }
+        journal.close();
+        RandomAccessFile corrupt = new RandomAccessFile(snapshot, "rw");
+        corrupt.seek(corrupt.length() / 2);
+        corrupt.write(0x55);
+        corrupt.close();
+        try {
+            new OrderJournal(file, 100);
+            fail("Opened a compacted journal without its snapshot");
+        } catch (IOException expected) {
+            // the orders the snapshot held are gone from the journal
+        }
+    }
+
+    @Test
+    public void unreadableSnapshot_isIgnoredWhileTheJournalHoldsEveryEvent() throws Exception {
+        OrderJournal journal = new OrderJournal(file);
+        journal.appendAdd(sampleOrder());
+        journal.appendAdd(sampleOrder());
+        journal.close();
+        RandomAccessFile corrupt = new RandomAccessFile(snapshot, "rw");
+        corrupt.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+        corrupt.close();
+        assertEquals(2, recover().size());
+    }
+
+    @Test
+    public void restoredOrderNumbers_areNotReused() throws Exception {
+        Order placed = sampleOrder();
+        OrderJournal journal = new OrderJournal(file);
+        journal.appendAdd(placed);
+        journal.close();
+        recover();
+        assertTrue(new Order().getOrderNumber() > placed.getOrderNumber());
+    }
+
+    @Test
+    public void appendsRacingClose_areEitherDurableOrFailed() throws Exception {
+        final OrderJournal journal = new OrderJournal(file);
+        final List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+        Thread[] appenders = new Thread[4];
+        for (int t = 0; t < appenders.length; t++) {
+            appenders[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        futures.add(journal.appendAdd(sampleOrder()));
+                    }
+                }
+            });
+            appenders[t].start();
+        }
+        Thread.sleep(5);
+        journal.close();
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+        int durable = 0;
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                durable++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+        assertEquals(durable, recover().size());
+    }
+
+    private Collection<Order> recover() throws IOException {
+        OrderJournal journal = new OrderJournal(file);
+        journal.close();
+        return journal.getRecoveredOrders();
+    }
+
+    private static Order sampleOrder() {
+        Order order = new Order();
+        Coffee coffee = new Coffee("Grande", 0, 2);
+        coffee.addAddIn("Mocha");
+        order.addMenuItem(coffee);
+        Sandwich sandwich = new Sandwich("Fish", "Sour Dough");
+        sandwich.addAddOn("Cheese");
+        order.addMenuItem(sandwich);
+        Donut donut = Donut.ofDollars("glazed", 1.79);
+        donut.setQuantity(4);
+        order.addMenuItem(donut);
+        return order;
+    }
+}
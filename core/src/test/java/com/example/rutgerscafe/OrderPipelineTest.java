@@ -0,0 +1,178 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for placing orders through the background placement pipeline.
+ */
+public class OrderPipelineTest {
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final OrderSingleton store = OrderSingleton.getInstance();
+    private final List<Order> placed = Collections.synchronizedList(new ArrayList<Order>());
+    private OrderPipeline pipeline;
+
+    @After
+    public void tearDown() throws Exception {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        store.closeJournal();
+        for (Order order : new ArrayList<>(placed)) {
+            store.removeOrder(order);
+        }
+    }
+
+    @Test
+    public void ordersOfOneRegister_arePlacedInSubmissionOrder() throws Exception {
+        pipeline = new OrderPipeline(store, 4, 1000, DIRECT);
+        final List<List<Integer>> seen = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(4 * 200);
+        for (int register = 0; register < 4; register++) {
+            seen.add(Collections.synchronizedList(new ArrayList<Integer>()));
+        }
+        List<List<Integer>> submitted = new ArrayList<>();
+        for (int register = 0; register < 4; register++) {
+            submitted.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < 200; i++) {
+            for (int register = 0; register < 4; register++) {
+                Order order = order();
+                submitted.get(register).add(order.getOrderNumber());
+                assertTrue(pipeline.submit(register, order, recordingCallback(seen.get(register), done)));
+            }
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(submitted, seen);
+    }
+
+    @Test
+    public void placedOrder_isACopyThatIsDurableInTheJournal() throws Exception {
+        File file = File.createTempFile("pipeline", ".journal");
+        file.deleteOnExit();
+        store.openJournal(file);
+        pipeline = new OrderPipeline(store, 1, 10, DIRECT);
+        Order order = order();
+        final long[] latency = new long[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        pipeline.submit(0, order, new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order placedOrder, long latencyNanos) {
+                placed.add(placedOrder);
+                latency[0] = latencyNanos;
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(Order failed, Throwable error) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        Order stored = store.getOrder(order.getOrderNumber());
+        assertNotNull(stored);
+        assertNotSame(order, stored);
+        assertTrue(latency[0] > 0);
+        store.closeJournal();
+        OrderJournal journal = new OrderJournal(file);
+        try {
+            boolean found = false;
+            for (Order recovered : journal.getRecoveredOrders()) {
+                found |= recovered.getOrderNumber() == order.getOrderNumber();
+            }
+            assertTrue(found);
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void fullLane_refusesOrders() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        pipeline = new OrderPipeline(store, 1, 2, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                command.run();
+            }
+        });
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<Integer>());
+        CountDownLatch done = new CountDownLatch(3);
+        assertTrue(pipeline.submit(0, order(), recordingCallback(seen, done)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(pipeline.submit(0, order(), recordingCallback(seen, done)));
+        assertTrue(pipeline.submit(0, order(), recordingCallback(seen, done)));
+        assertFalse(pipeline.submit(0, order(), recordingCallback(seen, done)));
+        assertEquals(2, pipeline.getQueuedCount());
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    public void emptyOrder_fails() throws Exception {
+        pipeline = new OrderPipeline(store, 1, 10, DIRECT);
+        final Throwable[] failure = new Throwable[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        Order empty = new Order();
+        pipeline.submit(0, empty, new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                failure[0] = error;
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(failure[0] instanceof IllegalArgumentException);
+        assertNull(store.getOrder(empty.getOrderNumber()));
+    }
+
+    private OrderPipeline.Callback recordingCallback(final List<Integer> seen, final CountDownLatch done) {
+        return new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                placed.add(order);
+                seen.add(order.getOrderNumber());
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                done.countDown();
+            }
+        };
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.addMenuItem(new Coffee(CupSize.TALL, 1));
+        return order;
+    }
+}
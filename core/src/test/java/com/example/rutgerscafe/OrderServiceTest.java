@@ -0,0 +1,209 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the order service the screens call, run without Android.
+ */
+public class OrderServiceTest {
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private File journal;
+    private OrderService service;
+
+    @Before
+    public void setUp() throws IOException {
+        journal = File.createTempFile("service", ".journal");
+        service = new OrderService(new OrderSingleton(), DIRECT);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        service.close();
+        journal.delete();
+        new File(journal.getPath() + ".snapshot").delete();
+    }
+
+    @Test
+    public void placedCart_isStoredAndReplacedByAnEmptyCart() throws Exception {
+        Order cart = service.getCart();
+        service.addToCart(new Coffee(CupSize.TALL, 2), null, new Sandwich(Protein.BEEF, Bread.BAGEL));
+        assertEquals(2, cart.getMenuItems().size());
+        assertTrue(service.removeFromCart(0));
+        assertFalse(service.removeFromCart(5));
+        long total = cart.getTotalCents();
+
+        final CountDownLatch placed = new CountDownLatch(1);
+        final Order[] stored = new Order[1];
+        assertTrue(service.placeCart(new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                stored[0] = order;
+                placed.countDown();
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                fail(error.toString());
+            }
+        }));
+        assertNotSame(cart, service.getCart());
+        assertTrue(service.getCart().getMenuItems().isEmpty());
+        assertFalse(service.placeCart(null));
+
+        assertTrue(placed.await(10, TimeUnit.SECONDS));
+        assertEquals(total, stored[0].getTotalCents());
+        assertEquals(1, service.getStore().size());
+        service.cancelOrder(stored[0]);
+        assertEquals(0, service.getStore().size());
+    }
+
+    @Test
+    public void cart_isRestoredFromTheJournal() throws Exception {
+        service.openJournal(journal);
+        Donut donut = new Donut(DonutFlavor.GLAZED);
+        donut.setQuantity(3);
+        service.addToCart(donut, new Coffee(CupSize.VENTI, 1));
+        service.removeFromCart(1);
+        long total = service.getCart().getTotalCents();
+        service.close();
+
+        OrderService restarted = new OrderService(new OrderSingleton(), DIRECT);
+        restarted.openJournal(journal);
+        assertEquals(1, restarted.getCart().getMenuItems().size());
+        assertEquals(total, restarted.getCart().getTotalCents());
+        restarted.close();
+    }
+
+    @Test
+    public void nextCart_isKeptWhenThePlacedCartIsClearedAfterItsOrderIsDurable() throws Exception {
+        final BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        OrderService queued = new OrderService(new OrderSingleton(), new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                callbacks.add(command);
+            }
+        });
+        queued.openJournal(journal);
+        queued.addToCart(new Coffee(CupSize.TALL, 1));
+        assertTrue(queued.placeCart(new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                fail(error.toString());
+            }
+        }));
+        queued.addToCart(new Donut(DonutFlavor.JELLY));
+        Runnable placed = callbacks.poll(10, TimeUnit.SECONDS);
+        assertNotNull(placed);
+        placed.run();
+        queued.close();
+
+        OrderService restarted = new OrderService(new OrderSingleton(), DIRECT);
+        restarted.openJournal(journal);
+        assertEquals(1, restarted.getStore().size());
+        assertEquals(1, restarted.getCart().getMenuItems().size());
+        assertTrue(restarted.getCart().getMenuItems().get(0) instanceof Donut);
+        restarted.close();
+    }
+
+    @Test
+    public void cartStartedBeforeTheJournalOpened_doesNotReuseARestoredOrderNumber() throws Exception {
+        Order restored = new Order(Order.allocateOrderNumbers(0));
+        restored.addMenuItem(new Coffee(CupSize.SHORT, 1));
+        OrderJournal written = new OrderJournal(journal);
+        written.appendAdd(restored).get();
+        written.close();
+
+        service.openJournal(journal);
+        assertEquals(1, service.getStore().size());
+        service.addToCart(new Donut(DonutFlavor.GLAZED));
+        final CountDownLatch placed = new CountDownLatch(1);
+        assertTrue(service.placeCart(new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                placed.countDown();
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                fail(error.toString());
+            }
+        }));
+        assertTrue(placed.await(10, TimeUnit.SECONDS));
+        assertEquals(2, service.getStore().size());
+        assertEquals(1, service.getStore().getOrder(restored.getOrderNumber()).getMenuItems().size());
+    }
+
+    @Test
+    public void failedPlacement_putsTheItemsBackInTheCart() throws Exception {
+        Order taken = new Order();
+        taken.addMenuItem(new Coffee(CupSize.SHORT, 1));
+        service.getStore().addOrder(new Order(Order.allocateOrderNumbers(0), taken));
+        service.addToCart(new Donut(DonutFlavor.GLAZED), new Coffee(CupSize.TALL, 2));
+        long total = service.getCart().getTotalCents();
+
+        final CountDownLatch failed = new CountDownLatch(1);
+        assertTrue(service.placeCart(new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                fail("Placed under a number already stored");
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                failed.countDown();
+            }
+        }));
+        assertTrue(failed.await(10, TimeUnit.SECONDS));
+        assertEquals(2, service.getCart().getMenuItems().size());
+        assertEquals(total, service.getCart().getTotalCents());
+        assertEquals(1, service.getStore().size());
+    }
+
+    @Test
+    public void cartsPlacedInARow_takeConsecutiveOrderNumbers() throws Exception {
+        final BlockingQueue<Order> placed = new LinkedBlockingQueue<>();
+        OrderPipeline.Callback callback = new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order order, long latencyNanos) {
+                placed.add(order);
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable error) {
+                fail(error.toString());
+            }
+        };
+        service.addToCart(new Donut(DonutFlavor.GLAZED));
+        assertEquals(0, service.getCart().getOrderNumber());
+        assertTrue(service.placeCart(callback));
+        Order first = placed.poll(10, TimeUnit.SECONDS);
+        service.addToCart(new Coffee(CupSize.TALL, 1));
+        assertTrue(service.placeCart(callback));
+        Order second = placed.poll(10, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(first.getOrderNumber() + 1, second.getOrderNumber());
+    }
+}
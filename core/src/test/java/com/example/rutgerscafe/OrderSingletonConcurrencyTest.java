@@ -0,0 +1,164 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests that place, look up and cancel orders from several threads at once. Throughput
+ * is measured by OrderSingletonBenchmark and the load generator, not here.
+ */
+public class OrderSingletonConcurrencyTest {
+    private static final int ORDERS_PER_THREAD = 20000;
+
+    @Test
+    public void concurrentPlacement_losesNoOrdersAndNumbersAreUnique() throws Exception {
+        OrderSingleton store = new OrderSingleton();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        List<List<Order>> placed = runWorkers(store, threads, false);
+
+        Set<Integer> numbers = new HashSet<>();
+        for (List<Order> perThread : placed) {
+            for (Order order : perThread) {
+                assertTrue("duplicate order number " + order.getOrderNumber(), numbers.add(order.getOrderNumber()));
+                assertSame(order, store.getOrder(order.getOrderNumber()));
+            }
+        }
+        assertEquals(threads * ORDERS_PER_THREAD, numbers.size());
+
+        for (List<Order> perThread : placed) {
+            for (Order order : perThread) {
+                store.removeOrder(order);
+            }
+        }
+        for (Integer number : numbers) {
+            assertNull(store.getOrder(number));
+        }
+    }
+
+    @Test
+    public void snapshotIteration_whileWritersRun() throws Exception {
+        final OrderSingleton store = new OrderSingleton();
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (!done.get()) {
+                        int previous = 0;
+                        for (Order order : store.getOrders()) {
+                            assertTrue(order.getOrderNumber() > previous);
+                            previous = order.getOrderNumber();
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        });
+        reader.start();
+        List<List<Order>> placed = runWorkers(store, 4, true);
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+        for (List<Order> perThread : placed) {
+            assertTrue(perThread.isEmpty());
+        }
+    }
+
+    @Test
+    public void cancelsRacingPlacement_areReplayedAfterTheirOrders() throws Exception {
+        File file = File.createTempFile("concurrency", ".journal");
+        try {
+            final OrderSingleton store = new OrderSingleton();
+            store.openJournal(file);
+            final List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                orders.add(new Order());
+            }
+            Thread canceller = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (Order order : orders) {
+                        while (store.getOrder(order.getOrderNumber()) == null) {
+                            Thread.yield();
+                        }
+                        store.removeOrder(order);
+                    }
+                }
+            });
+            canceller.start();
+            for (Order order : orders) {
+                store.addOrder(order);
+            }
+            canceller.join();
+            store.closeJournal();
+
+            OrderSingleton restarted = new OrderSingleton();
+            restarted.openJournal(file);
+            restarted.closeJournal();
+            assertEquals(0, restarted.size());
+        } finally {
+            file.delete();
+            new File(file.getPath() + ".snapshot").delete();
+        }
+    }
+
+    /**
+     * Starts the given number of workers that each place orders and optionally cancel them again.
+     *
+     * @param store   The order store.
+     * @param threads The number of worker threads.
+     * @param cancel  Whether each worker cancels the orders it placed.
+     * @return The orders each worker left in the store.
+     */
+    private static List<List<Order>> runWorkers(final OrderSingleton store, int threads, final boolean cancel)
+            throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<List<Order>> placed = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final List<Order> mine = new ArrayList<>();
+            placed.add(mine);
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                            Order order = new Order();
+                            store.addOrder(order);
+                            assertSame(order, store.getOrder(order.getOrderNumber()));
+                            if (cancel) {
+                                store.removeOrder(order);
+                            } else {
+                                mine.add(order);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertNull(failure.get());
+        return placed;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the persistent item vector and the snapshots of orders built on it.
+ */
+public class PersistentVectorTest {
+    @Test
+    public void append_matchesArrayListAcrossTreeLevels() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) {
+            vector = vector.append(i);
+            expected.add(i);
+        }
+        assertEquals(expected, vector);
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), vector.get(i));
+        }
+    }
+
+    @Test
+    public void withoutLast_shrinksBackToEmpty() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 40000; i++) {
+            vector = vector.append(i);
+        }
+        for (int i = 39999; i >= 0; i--) {
+            assertEquals(Integer.valueOf(i), vector.get(i));
+            vector = vector.withoutLast();
+            assertEquals(i, vector.size());
+            if (i % 1000 == 0 && i > 0) {
+                assertEquals(Integer.valueOf(i - 1), vector.get(i - 1));
+                assertEquals(Integer.valueOf(0), vector.get(0));
+            }
+        }
+        assertTrue(vector.isEmpty());
+        assertEquals(Integer.valueOf(7), vector.append(7).get(0));
+    }
+
+    @Test
+    public void randomEdits_matchArrayList() {
+        Random random = new Random(42);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20000; step++) {
+            int choice = random.nextInt(10);
+            if (choice < 6 || expected.isEmpty()) {
+                vector = vector.append(step);
+                expected.add(step);
+            } else if (choice < 7) {
+                vector = vector.withoutLast();
+                expected.remove(expected.size() - 1);
+            } else if (choice < 9) {
+                int index = random.nextInt(expected.size());
+                vector = vector.with(index, -step);
+                expected.set(index, -step);
+            } else {
+                int index = Math.max(0, expected.size() - 1 - random.nextInt(40));
+                vector = vector.without(index);
+                expected.remove(index);
+            }
+        }
+        assertEquals(expected, vector);
+    }
+
+    @Test
+    public void olderVersions_doNotChange() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 1100; i++) {
+            vector = vector.append(i);
+        }
+        PersistentVector<Integer> snapshot = vector;
+        vector = vector.with(5, -5).with(1090, -1090).without(600).append(99).withoutLast().withoutLast();
+        assertEquals(1100, snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(Integer.valueOf(i), snapshot.get(i));
+        }
+        assertEquals(1098, vector.size());
+        assertEquals(Integer.valueOf(-5), vector.get(5));
+        assertEquals(Integer.valueOf(601), vector.get(600));
+    }
+
+    @Test
+    public void iterator_walksEveryElementOnce() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.append(i);
+        }
+        int expected = 0;
+        Iterator<Integer> iterator = vector.iterator();
+        while (iterator.hasNext()) {
+            assertEquals(Integer.valueOf(expected++), iterator.next());
+        }
+        assertEquals(2000, expected);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void listMethods_areReadOnly() {
+        PersistentVector.<Integer>empty().append(1).add(2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfRangeThrows() {
+        PersistentVector.<Integer>empty().append(1).get(1);
+    }
+
+    @Test
+    public void orderCopy_isIsolatedFromLaterEdits() {
+        Order order = new Order();
+        Donut glazed = Donut.ofDollars("glazed", 1.79);
+        glazed.setQuantity(1);
+        Coffee coffee = new Coffee("Tall", 0, 1);
+        order.addMenuItem(glazed);
+        order.addMenuItem(coffee);
+        List<MenuItem> items = order.getMenuItems();
+        Order copy = new Order(order);
+
+        order.removeMenuItem(glazed);
+        order.addMenuItem(new Sandwich("Fish", "Bagel"));
+        Donut jelly = Donut.ofDollars("jelly", 1.79);
+        jelly.setQuantity(1);
+        copy.addMenuItem(jelly);
+
+        assertEquals(2, items.size());
+        assertSame(glazed, items.get(0));
+        assertEquals(3, copy.getMenuItems().size());
+        assertSame(glazed, copy.getMenuItems().get(0));
+        assertEquals(179 + 249 + 179, copy.getOrderSubTotalCents());
+        assertEquals(2, order.getMenuItems().size());
+        assertSame(coffee, order.getMenuItems().get(0));
+        assertEquals(249 + 999, order.getOrderSubTotalCents());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the cents-based pricing of menu items and orders.
+ */
+public class PricingTest {
+    @Test
+    public void coffee_priceCents() {
+        Coffee coffee = new Coffee("Venti", 0, 2);
+        coffee.addAddIn("Mocha");
+        coffee.addAddIn("Caramel");
+        assertEquals((199 + 150 + 60) * 2, coffee.priceCents());
+        assertEquals(8.18, coffee.price(), 0.0);
+    }
+
+    @Test
+    public void sandwich_priceCents() {
+        Sandwich sandwich = new Sandwich("beef", "Bagel");
+        sandwich.addAddOn("Cheese");
+        sandwich.addAddOn("Lettuce");
+        assertEquals(1099 + 100 + 30, sandwich.priceCents());
+    }
+
+    @Test
+    public void donut_priceCents() {
+        Donut donut = Donut.ofDollars("glazed", 1.79);
+        donut.setQuantity(3);
+        assertEquals(179, donut.getBasePriceCents());
+        assertEquals(537, donut.priceCents());
+    }
+
+    @Test
+    public void order_totalsAreExact() {
+        Order order = new Order();
+        for (int i = 0; i < 10; i++) {
+            Donut donut = Donut.ofDollars("jelly holes", 0.39);
+            donut.setQuantity(1);
+            order.addMenuItem(donut);
+        }
+        assertEquals(390, order.getOrderSubTotalCents());
+        assertEquals(26, order.getSalesTaxCents());
+        assertEquals(416, order.getTotalCents());
+        assertEquals(order.getOrderSubTotalCents() + order.getSalesTaxCents(), order.getTotalCents());
+    }
+
+    @Test
+    public void salesTax_roundsHalfUp() {
+        assertEquals(0, Order.calculateSalesTaxCents(0));
+        assertEquals(1, Order.calculateSalesTaxCents(8));
+        assertEquals(73, Order.calculateSalesTaxCents(1099));
+    }
+
+    @Test
+    public void order_runningTotalsFollowAddAndRemove() {
+        Order order = new Order();
+        Sandwich sandwich = new Sandwich("Chicken", "Bagel");
+        Coffee coffee = new Coffee("Tall", 0, 1);
+        order.addMenuItem(sandwich);
+        order.addMenuItem(coffee);
+        assertEquals(899 + 249, order.getOrderSubTotalCents());
+        order.removeMenuItem(sandwich);
+        order.removeMenuItem(sandwich);
+        assertEquals(249, order.getOrderSubTotalCents());
+        assertEquals(Order.calculateSalesTaxCents(249), order.getSalesTaxCents());
+        order.removeMenuItem(coffee);
+        assertEquals(0, order.getTotalCents());
+    }
+
+    @Test
+    public void addIns_areCopiedNotShared() {
+        Coffee coffee = new Coffee("Short", 0, 1);
+        coffee.addAddIn(AddIn.MOCHA);
+        Coffee copy = new Coffee(coffee);
+        coffee.addAddIn("caramel");
+        assertEquals(1, copy.getNumberOfAddIns());
+        assertEquals(2, coffee.getNumberOfAddIns());
+        coffee.removeAddIn("Mocha");
+        coffee.removeAddIn("Mocha");
+        assertEquals(1, coffee.getNumberOfAddIns());
+
+        Sandwich sandwich = new Sandwich("Fish", "Bagel");
+        sandwich.addAddOn("Cheese");
+        Sandwich sandwichCopy = new Sandwich(sandwich);
+        sandwich.removeAddOn(AddIn.CHEESE);
+        assertEquals(999 + 100, sandwichCopy.priceCents());
+        assertEquals(999, sandwich.priceCents());
+    }
+
+    @Test
+    public void order_itemListenerSeesPositionsAndUpdatedTotals() {
+        final Order order = new Order();
+        final StringBuilder events = new StringBuilder();
+        order.setItemListener(new Order.ItemListener() {
+            @Override
+            public void onItemAdded(int position, MenuItem menuItem) {
+                events.append('+').append(position).append('=').append(order.getOrderSubTotalCents()).append(' ');
+            }
+
+            @Override
+            public void onItemRemoved(int position, MenuItem menuItem) {
+                events.append('-').append(position).append('=').append(order.getOrderSubTotalCents()).append(' ');
+            }
+        });
+        Coffee coffee = new Coffee("Short", 0, 1);
+        order.addMenuItem(coffee);
+        Donut donut = new Donut(DonutFlavor.GLAZED);
+        donut.setQuantity(1);
+        order.addMenuItem(donut);
+        order.removeMenuItem(coffee);
+        assertSame(order.getMenuItems().get(0), order.removeMenuItemAt(0));
+        assertEquals("+0=199 +1=378 -0=179 -0=0 ", events.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownAddIn_isRejected() {
+        new Coffee("Short", 0, 1).addAddIn("Ketchup");
+    }
+}
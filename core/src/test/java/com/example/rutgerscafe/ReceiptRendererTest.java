@@ -0,0 +1,91 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for rendering orders as rows and receipts.
+ */
+public class ReceiptRendererTest {
+
+    @Test
+    public void receipt_matchesTheFormattedOrderText() {
+        Random random = new Random(17);
+        ReceiptRenderer renderer = new ReceiptRenderer();
+        for (int i = 0; i < 500; i++) {
+            Order order = randomOrder(random);
+            assertEquals(formatted(order), renderer.renderReceipt(order));
+            assertEquals(formatted(order), order.toString());
+        }
+    }
+
+    @Test
+    public void row_showsNumberItemCountAndTotal() {
+        Order order = new Order();
+        order.addMenuItem(new Coffee(CupSize.SHORT, 1));
+        ReceiptRenderer renderer = new ReceiptRenderer();
+        assertEquals("Order #" + order.getOrderNumber() + " - 1 item - Total=2.12", renderer.renderRow(order));
+        order.addMenuItem(new Sandwich(Protein.BEEF, Bread.BAGEL));
+        assertEquals("Order #" + order.getOrderNumber() + " - 2 items - Total=13.84", renderer.renderRow(order));
+    }
+
+    @Test
+    public void unchangedOrder_reusesTheRenderedText() {
+        Order order = new Order();
+        order.addMenuItem(new Coffee(CupSize.VENTI, 2));
+        ReceiptRenderer renderer = new ReceiptRenderer(2);
+        String row = renderer.renderRow(order);
+        String receipt = renderer.renderReceipt(order);
+        assertSame(row, renderer.renderRow(order));
+        assertSame(receipt, renderer.renderReceipt(order));
+
+        Donut donut = new Donut(DonutFlavor.JELLY);
+        donut.setQuantity(2);
+        order.addMenuItem(donut);
+        assertNotSame(receipt, renderer.renderReceipt(order));
+        assertEquals(formatted(order), renderer.renderReceipt(order));
+        order.removeMenuItem(donut);
+        assertEquals(receipt, renderer.renderReceipt(order));
+
+        receipt = renderer.renderReceipt(order);
+        renderer.renderReceipt(new Order());
+        renderer.renderReceipt(new Order());
+        assertNotSame(receipt, renderer.renderReceipt(order));
+    }
+
+    private static String formatted(Order order) {
+        return "Order #" + order.getOrderNumber()
+                + "\n Price=" + String.format(Locale.US, "%1$.2f", order.getOrderSubTotal())
+                + ";\n Tax=" + String.format(Locale.US, "%1$.2f", order.getSalesTax())
+                + ";\n Total=" + String.format(Locale.US, "%1$.2f", order.getTotal())
+                + ";\n Items=" + order.getMenuItems();
+    }
+
+    private static Order randomOrder(Random random) {
+        Order order = new Order();
+        int items = random.nextInt(5);
+        for (int i = 0; i < items; i++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    Coffee coffee = new Coffee(CupSize.values()[random.nextInt(4)], 1 + random.nextInt(5));
+                    coffee.addAddIn(AddIn.MOCHA);
+                    order.addMenuItem(coffee);
+                    break;
+                case 1:
+                    Sandwich sandwich = new Sandwich(Protein.values()[random.nextInt(3)], Bread.values()[random.nextInt(3)]);
+                    if (random.nextBoolean()) sandwich.addAddOn(AddIn.CHEESE);
+                    order.addMenuItem(sandwich);
+                    break;
+                default:
+                    Donut donut = new Donut(DonutFlavor.values()[random.nextInt(12)]);
+                    donut.setQuantity(1 + random.nextInt(6));
+                    order.addMenuItem(donut);
+            }
+        }
+        return order;
+    }
+}
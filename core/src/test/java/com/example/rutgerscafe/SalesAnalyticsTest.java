@@ -0,0 +1,166 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the sales totals kept over the order history.
+ */
+public class SalesAnalyticsTest {
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long HOUR = 60 * 60 * 1000;
+
+    @Test
+    public void totals_countUnitsAndRevenuePerItemKindAndHour() {
+        SalesAnalytics analytics = new SalesAnalytics(UTC);
+        Order order = new Order();
+        order.setPlacedAtMillis(3 * 24 * HOUR + 9 * HOUR + 5);
+        order.addMenuItem(new Coffee(CupSize.VENTI, 2));
+        Donut glazed = new Donut(DonutFlavor.GLAZED);
+        glazed.setQuantity(6);
+        order.addMenuItem(glazed);
+        order.addMenuItem(new Sandwich(Protein.FISH, Bread.BAGEL));
+        analytics.orderAdded(order);
+
+        SalesAnalytics.Snapshot totals = analytics.snapshot();
+        assertEquals(1, totals.getOrderCount());
+        assertEquals(2, totals.getUnits(CupSize.VENTI));
+        assertEquals(2 * (199 + 150), totals.getRevenueCents(CupSize.VENTI));
+        assertEquals(6, totals.getUnits(DonutFlavor.GLAZED));
+        assertEquals(6 * 179, totals.getRevenueCents(ItemKind.DONUT));
+        assertEquals(1, totals.getUnits(Protein.FISH));
+        assertEquals(9, totals.getUnits(ItemKind.DONUT) + totals.getUnits(ItemKind.COFFEE) + totals.getUnits(ItemKind.SANDWICH));
+        assertEquals(order.getOrderSubTotalCents(), totals.getRevenueCents());
+        assertEquals(1, totals.getOrderCount(9));
+        assertEquals(order.getOrderSubTotalCents(), totals.getRevenueCents(9));
+
+        analytics.orderRemoved(order);
+        totals = analytics.snapshot();
+        assertEquals(0, totals.getOrderCount());
+        assertEquals(0, totals.getUnits(DonutFlavor.GLAZED));
+        assertEquals(0, totals.getRevenueCents(9));
+    }
+
+    @Test
+    public void parallelRecompute_matchesIncrementalTotals() {
+        Random random = new Random(14);
+        List<Order> history = new ArrayList<>();
+        SalesAnalytics incremental = new SalesAnalytics(UTC);
+        for (int i = 0; i < 50000; i++) {
+            Order order = randomOrder(random);
+            history.add(order);
+            incremental.orderAdded(order);
+        }
+        for (int i = 0; i < history.size(); i += 7) {
+            incremental.orderRemoved(history.get(i));
+            history.set(i, null);
+        }
+        List<Order> live = new ArrayList<>();
+        for (Order order : history) {
+            if (order != null) live.add(order);
+        }
+        SalesAnalytics recomputed = new SalesAnalytics(UTC);
+        recomputed.recompute(live);
+        assertSameTotals(incremental.snapshot(), recomputed.snapshot());
+    }
+
+    @Test
+    public void attachedAnalytics_followTheStore() throws Exception {
+        OrderSingleton store = new OrderSingleton();
+        Random random = new Random(15);
+        for (int i = 0; i < 1000; i++) {
+            store.addOrder(randomOrder(random));
+        }
+        final SalesAnalytics analytics = SalesAnalytics.attach(store);
+        Order cancelled = store.getOrders().iterator().next();
+        store.removeOrder(cancelled);
+        for (int i = 0; i < 100; i++) {
+            store.addOrder(randomOrder(random));
+        }
+        SalesAnalytics fresh = new SalesAnalytics();
+        fresh.recompute(store.getOrders());
+        assertSameTotals(fresh.snapshot(), analytics.snapshot());
+        assertEquals(1099, analytics.snapshot().getOrderCount());
+    }
+
+    @Test
+    public void changesDuringRecompute_areNeitherLostNorDoubled() throws Exception {
+        final OrderSingleton store = new OrderSingleton();
+        final Random random = new Random(16);
+        for (int i = 0; i < 100000; i++) {
+            store.addOrder(randomOrder(random));
+        }
+        final SalesAnalytics analytics = new SalesAnalytics();
+        store.addListener(analytics);
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Random local = new Random(17);
+                for (int i = 0; i < 20000; i++) {
+                    Order order = randomOrder(local);
+                    store.addOrder(order);
+                    if (i % 3 == 0) {
+                        store.removeOrder(order);
+                    }
+                }
+            }
+        });
+        writer.start();
+        analytics.recompute(store);
+        writer.join();
+        SalesAnalytics expected = new SalesAnalytics();
+        expected.recompute(store.getOrders());
+        assertSameTotals(expected.snapshot(), analytics.snapshot());
+    }
+
+    private static void assertSameTotals(SalesAnalytics.Snapshot expected, SalesAnalytics.Snapshot actual) {
+        assertEquals(expected.getOrderCount(), actual.getOrderCount());
+        assertEquals(expected.getRevenueCents(), actual.getRevenueCents());
+        for (ItemKind kind : ItemKind.values()) {
+            assertEquals(expected.getUnits(kind), actual.getUnits(kind));
+            assertEquals(expected.getRevenueCents(kind), actual.getRevenueCents(kind));
+        }
+        for (CupSize size : CupSize.values()) {
+            assertEquals(expected.getUnits(size), actual.getUnits(size));
+            assertEquals(expected.getRevenueCents(size), actual.getRevenueCents(size));
+        }
+        for (Protein protein : Protein.values()) {
+            assertEquals(expected.getUnits(protein), actual.getUnits(protein));
+        }
+        for (DonutFlavor flavor : DonutFlavor.values()) {
+            assertEquals(expected.getUnits(flavor), actual.getUnits(flavor));
+            assertEquals(expected.getRevenueCents(flavor), actual.getRevenueCents(flavor));
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            assertEquals(expected.getOrderCount(hour), actual.getOrderCount(hour));
+            assertEquals(expected.getRevenueCents(hour), actual.getRevenueCents(hour));
+        }
+    }
+
+    private static Order randomOrder(Random random) {
+        Order order = new Order();
+        order.setPlacedAtMillis(1700000000000L + random.nextInt(7 * 24) * HOUR);
+        int items = 1 + random.nextInt(4);
+        for (int i = 0; i < items; i++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    order.addMenuItem(new Coffee(CupSize.values()[random.nextInt(4)], 1 + random.nextInt(5)));
+                    break;
+                case 1:
+                    order.addMenuItem(new Sandwich(Protein.values()[random.nextInt(3)], Bread.values()[random.nextInt(3)]));
+                    break;
+                default:
+                    Donut donut = new Donut(DonutFlavor.values()[random.nextInt(12)]);
+                    donut.setQuantity(1 + random.nextInt(6));
+                    order.addMenuItem(donut);
+            }
+        }
+        return order;
+    }
+}
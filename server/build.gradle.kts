@@ -0,0 +1,20 @@
+plugins {
+    `java-library`
+    application
+}
+
+// The HTTP order intake for kiosks and online channels, on the JDK's built-in server. It runs the
+// order engine from core on a plain JVM: ./gradlew :server:run --args="--port 8080 --journal orders.journal"
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+application {
+    mainClass.set("com.example.rutgerscafe.OrderIntakeServer")
+}
+
+dependencies {
+    api(project(":core"))
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,210 @@
+package com.example.rutgerscafe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class turns carts submitted by kiosks and online channels into menu items, priced by the
+ * same Coffee, Sandwich and Donut classes the registers use.
+ * A JSON cart is an object with an items array, for example
+ * {"items": [{"kind": "coffee", "size": "Grande", "quantity": 2, "addIns": ["Mocha"]},
+ * {"kind": "sandwich", "protein": "Chicken", "bread": "Bagel", "addOns": ["Cheese"]},
+ * {"kind": "donut", "flavor": "glazed", "quantity": 6}]}.
+ * Names are matched to the menu ignoring case and quantities default to one. A binary cart is a cart
+ * encoded by OrderCodec.encodeCart.
+ * Prices sent by the client are never trusted: donuts are priced from the menu, and a cart with an
+ * unknown option, an add-in the item cannot have or an out of range quantity is rejected.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public final class CartReader {
+    public static final int MAX_ITEMS = 100;
+    public static final int MAX_QUANTITY = 99;
+    private static final AddIn[] ADD_INS = AddIn.values();
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private CartReader() {
+    }
+
+    /**
+     * Reads a JSON cart.
+     *
+     * @param json The cart as JSON text.
+     * @return The priced items of the cart.
+     * @throws IllegalArgumentException If the text is not a valid cart.
+     */
+    public static List<MenuItem> fromJson(String json) {
+        Object cart = Json.parse(json);
+        if (!(cart instanceof Map)) {
+            throw new IllegalArgumentException("A cart must be a JSON object");
+        }
+        List<?> entries = list((Map<?, ?>) cart, "items");
+        checkSize(entries.size());
+        List<MenuItem> items = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            if (!(entry instanceof Map)) {
+                throw new IllegalArgumentException("A cart item must be a JSON object");
+            }
+            items.add(item((Map<?, ?>) entry));
+        }
+        return items;
+    }
+
+    /**
+     * Reads a binary cart.
+     *
+     * @param bytes The cart encoded by OrderCodec.encodeCart.
+     * @return The priced items of the cart.
+     * @throws IllegalArgumentException If the bytes are not a valid cart.
+     */
+    public static List<MenuItem> fromBinary(byte[] bytes) {
+        List<MenuItem> decoded = OrderCodec.decodeCart(bytes);
+        checkSize(decoded.size());
+        List<MenuItem> items = new ArrayList<>(decoded.size());
+        for (MenuItem item : decoded) {
+            if (item instanceof Donut) {
+                Donut sent = (Donut) item;
+                Donut donut = new Donut(sent.getDonutFlavor());
+                donut.setQuantity(sent.getQuantity());
+                item = donut;
+            }
+            items.add(checked(item));
+        }
+        return items;
+    }
+
+    /**
+     * Builds a menu item from a JSON cart item.
+     *
+     * @param entry The cart item.
+     * @return The menu item.
+     */
+    private static MenuItem item(Map<?, ?> entry) {
+        ItemKind kind = ItemKind.fromName(string(entry, "kind"));
+        switch (kind) {
+            case COFFEE: {
+                Coffee coffee = new Coffee(CupSize.fromName(string(entry, "size")), quantity(entry));
+                for (String addIn : strings(entry, "addIns")) {
+                    coffee.addAddIn(AddIn.fromName(addIn));
+                }
+                return checked(coffee);
+            }
+            case SANDWICH: {
+                Sandwich sandwich = new Sandwich(Protein.fromName(string(entry, "protein")),
+                        Bread.fromName(string(entry, "bread")));
+                for (String addOn : strings(entry, "addOns")) {
+                    sandwich.addAddOn(AddIn.fromName(addOn));
+                }
+                return checked(sandwich);
+            }
+            default: {
+                Donut donut = new Donut(DonutFlavor.fromName(string(entry, "flavor")));
+                donut.setQuantity(quantity(entry));
+                return checked(donut);
+            }
+        }
+    }
+
+    /**
+     * Checks that an item's quantity is in range and that the menu offers its options and add-ins.
+     *
+     * @param item The item.
+     * @return The item.
+     */
+    private static MenuItem checked(MenuItem item) {
+        return checked(item, MenuCatalog.get());
+    }
+
+    /**
+     * Checks that an item's quantity is in range and that a menu offers its cup size, protein, bread
+     * or flavor and its add-ins. An option the menu does not list has no price and would be sold for
+     * nothing.
+     *
+     * @param item The item.
+     * @param menu The menu the item is sold from.
+     * @return The item.
+     * @throws IllegalArgumentException If the quantity is out of range or an option is not offered.
+     */
+    static MenuItem checked(MenuItem item, MenuCatalog menu) {
+        checkQuantity(item.getQuantity());
+        if (item instanceof Coffee) {
+            checkOffered(menu.getCupSizes(), ((Coffee) item).getSize(), "cup size");
+        } else if (item instanceof Sandwich) {
+            checkOffered(menu.getProteins(), ((Sandwich) item).getProteinType(), "protein");
+            checkOffered(menu.getBreads(), ((Sandwich) item).getBreadType(), "bread");
+        } else if (item instanceof Donut) {
+            checkOffered(menu.getDonutFlavors(), ((Donut) item).getDonutFlavor(), "donut flavor");
+        }
+        for (AddIn addIn : ADD_INS) {
+            if (item instanceof Coffee && (((Coffee) item).getAddInMask() & addIn.mask()) != 0
+                    && !menu.isCoffeeAddIn(addIn)) {
+                throw new IllegalArgumentException(addIn + " is not a coffee add-in");
+            }
+            if (item instanceof Sandwich && (((Sandwich) item).getAddOnMask() & addIn.mask()) != 0
+                    && !menu.isSandwichAddOn(addIn)) {
+                throw new IllegalArgumentException(addIn + " is not a sandwich add-on");
+            }
+        }
+        return item;
+    }
+
+    private static void checkOffered(List<?> offered, Object option, String what) {
+        if (option == null || !offered.contains(option)) {
+            throw new IllegalArgumentException(option + " is not a " + what + " on the menu");
+        }
+    }
+
+    private static void checkSize(int size) {
+        if (size == 0 || size > MAX_ITEMS) {
+            throw new IllegalArgumentException("A cart must have 1 to " + MAX_ITEMS + " items, not " + size);
+        }
+    }
+
+    private static void checkQuantity(long quantity) {
+        if (quantity < 1 || quantity > MAX_QUANTITY) {
+            throw new IllegalArgumentException("Quantity must be 1 to " + MAX_QUANTITY + ", not " + quantity);
+        }
+    }
+
+    private static String string(Map<?, ?> entry, String name) {
+        Object value = entry.get(name);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Missing text member " + name);
+        }
+        return (String) value;
+    }
+
+    private static int quantity(Map<?, ?> entry) {
+        Object value = entry.get("quantity");
+        if (value == null) return 1;
+        if (!(value instanceof Long)) {
+            throw new IllegalArgumentException("Quantity must be a whole number");
+        }
+        long quantity = (Long) value;
+        checkQuantity(quantity);
+        return (int) quantity;
+    }
+
+    private static List<?> list(Map<?, ?> entry, String name) {
+        Object value = entry.get(name);
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Missing array member " + name);
+        }
+        return (List<?>) value;
+    }
+
+    private static List<String> strings(Map<?, ?> entry, String name) {
+        if (entry.get(name) == null) return Collections.emptyList();
+        List<String> strings = new ArrayList<>();
+        for (Object value : list(entry, name)) {
+            if (!(value instanceof String)) {
+                throw new IllegalArgumentException(name + " must hold text");
+            }
+            strings.add((String) value);
+        }
+        return strings;
+    }
+}
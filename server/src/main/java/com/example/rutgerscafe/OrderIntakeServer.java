@@ -0,0 +1,335 @@
+package com.example.rutgerscafe;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class takes orders from kiosks and online channels over HTTP and places them in the same
+ * order store as the registers, using the JDK's built-in HTTP server.
+ * A cart is POSTed to /orders as JSON (Content-Type application/json) or in the binary cart format
+ * (application/octet-stream); see CartReader. The cart is priced by the menu items and placed
+ * through the order service's pipeline, and the response is sent once the order is durable:
+ * 201 with the order number and its totals as JSON. A cart that cannot be read gets 400, a body
+ * over MAX_BODY_BYTES 413, and a cart refused because too many orders are waiting 503 with
+ * Retry-After.
+ * Requests are handled by a fixed pool of worker threads. A worker only reads and prices the cart;
+ * the response is written by a worker too, once the pipeline reports the order durable, so no
+ * worker waits on the journal. Requests are spread over the pipeline lanes round robin. Responses
+ * are sent with TCP_NODELAY unless the sun.net.httpserver.nodelay property says otherwise.
+ * @author Priyansh Parikh, Siddarth Seloth
+ */
+public class OrderIntakeServer implements Closeable {
+    public static final String PATH = "/orders";
+    public static final int MAX_BODY_BYTES = 64 * 1024;
+    public static final int DEFAULT_WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final LatencyHistogram REQUEST_LATENCY =
+            MetricsRegistry.getInstance().histogram("intake.request");
+    private static final LongAdder REJECTED = MetricsRegistry.getInstance().counter("intake.rejected");
+
+    static {
+        // The JDK server writes the response headers and body separately; without TCP_NODELAY the
+        // body waits for the client's delayed ACK, about 40 ms per request. Read once, when the
+        // server classes load, so it is set before the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final OrderService service;
+    private final AtomicInteger nextRegister = new AtomicInteger();
+
+    /**
+     * Creates a server on an order store. The server is not started.
+     *
+     * @param store       The order store orders are placed in.
+     * @param address     The address to listen on; port 0 picks a free port.
+     * @param workerCount The number of worker threads, which is also the number of pipeline lanes.
+     * @throws IOException If the address cannot be bound.
+     */
+    public OrderIntakeServer(OrderSingleton store, InetSocketAddress address, int workerCount) throws IOException {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        final AtomicInteger threads = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "order-intake-" + threads.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        service = new OrderService(store, workers, workerCount);
+        server = HttpServer.create(address, 0);
+        server.setExecutor(workers);
+        server.createContext(PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                intake(exchange);
+            }
+        });
+    }
+
+    /**
+     * Starts a server from the command line: --port (default 8080), --workers (default one per
+     * processor) and --journal, a journal file that keeps the orders across restarts.
+     *
+     * @param args The command line options.
+     * @throws IOException If the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int workerCount = DEFAULT_WORKERS;
+        File journal = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--port")) {
+                port = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--workers")) {
+                workerCount = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--journal")) {
+                journal = new File(args[i + 1]);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final OrderIntakeServer intake = new OrderIntakeServer(OrderSingleton.getInstance(),
+                new InetSocketAddress(port), workerCount);
+        if (journal != null) {
+            intake.getService().openJournal(journal);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    intake.close();
+                } catch (IOException e) {
+                    System.err.println("Orders could not be closed: " + e);
+                }
+            }
+        }, "order-intake-shutdown"));
+        intake.start();
+        System.out.println("Taking orders on http://localhost:" + intake.getPort() + PATH
+                + " with " + workerCount + " workers");
+    }
+
+    /**
+     * Starts taking requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the order service the server places orders through, for example to open its journal.
+     *
+     * @return The order service.
+     */
+    public OrderService getService() {
+        return service;
+    }
+
+    /**
+     * Stops taking requests, waits for the accepted orders to be placed and answered, then closes
+     * the order service and the workers.
+     *
+     * @throws IOException If the order service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+        try {
+            service.close();
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Reads, prices and places one submitted cart. The response is sent by the placement callback
+     * unless the cart is rejected here.
+     *
+     * @param exchange The request.
+     * @throws IOException If the request cannot be read or answered.
+     */
+    private void intake(final HttpExchange exchange) throws IOException {
+        final long start = System.nanoTime();
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            respond(exchange, 405, error("Use POST"), start);
+            return;
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            respond(exchange, 413, error("A cart must be under " + MAX_BODY_BYTES + " bytes"), start);
+            return;
+        }
+        List<MenuItem> items;
+        try {
+            if (contentType != null && contentType.startsWith("application/json")) {
+                items = CartReader.fromJson(new String(body, UTF_8));
+            } else if (contentType != null && contentType.startsWith("application/octet-stream")) {
+                items = CartReader.fromBinary(body);
+            } else {
+                respond(exchange, 415, error("Send application/json or application/octet-stream"), start);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, error(e.getMessage()), start);
+            return;
+        }
+        Order order = new Order();
+        for (MenuItem item : items) {
+            order.addMenuItem(item);
+        }
+        int register = nextRegister.getAndIncrement();
+        boolean accepted = service.placeOrder(register, order, new OrderPipeline.Callback() {
+            @Override
+            public void onPlaced(Order placed, long latencyNanos) {
+                respondQuietly(exchange, 201, receipt(placed), start);
+            }
+
+            @Override
+            public void onFailed(Order failed, Throwable error) {
+                respondQuietly(exchange, 500, error(String.valueOf(error.getMessage())), start);
+            }
+        });
+        if (!accepted) {
+            REJECTED.increment();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respond(exchange, 503, error("Too many orders waiting, try again"), start);
+        }
+    }
+
+    /**
+     * Reads a request body up to MAX_BODY_BYTES.
+     *
+     * @param in The request body.
+     * @return The body, or null if it is larger than MAX_BODY_BYTES.
+     * @throws IOException If the body cannot be read.
+     */
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (body.size() + read > MAX_BODY_BYTES) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * Sends a JSON response and ends the exchange.
+     *
+     * @param exchange The request.
+     * @param status   The HTTP status.
+     * @param json     The response body.
+     * @param start    The time the request was received, from System.nanoTime.
+     * @throws IOException If the response cannot be sent.
+     */
+    private static void respond(HttpExchange exchange, int status, String json, long start) throws IOException {
+        try {
+            byte[] body = json.getBytes(UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            OutputStream out = exchange.getResponseBody();
+            out.write(body);
+            out.close();
+        } finally {
+            exchange.close();
+            REQUEST_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Sends a JSON response from a placement callback, where a client that went away is not an
+     * error of the server.
+     *
+     * @param exchange The request.
+     * @param status   The HTTP status.
+     * @param json     The response body.
+     * @param start    The time the request was received, from System.nanoTime.
+     */
+    private static void respondQuietly(HttpExchange exchange, int status, String json, long start) {
+        try {
+            respond(exchange, status, json, start);
+        } catch (IOException e) {
+            // the client closed the connection; the order stays placed
+        }
+    }
+
+    /**
+     * Writes the response for a placed order.
+     *
+     * @param order The placed order.
+     * @return The order number, item count and totals as JSON.
+     */
+    private static String receipt(Order order) {
+        return new StringBuilder(96)
+                .append("{\"orderNumber\":").append(order.getOrderNumber())
+                .append(",\"items\":").append(order.getMenuItems().size())
+                .append(",\"subtotalCents\":").append(order.getOrderSubTotalCents())
+                .append(",\"taxCents\":").append(order.getSalesTaxCents())
+                .append(",\"totalCents\":").append(order.getTotalCents())
+                .append('}').toString();
+    }
+
+    /**
+     * Writes an error response.
+     *
+     * @param message The reason.
+     * @return The reason as JSON.
+     */
+    private static String error(String message) {
+        StringBuilder sb = new StringBuilder(message.length() + 16).append("{\"error\":\"");
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(' ');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append("\"}").toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.rutgerscafe;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for reading and pricing submitted carts.
+ */
+public class CartReaderTest {
+
+    @Test
+    public void jsonCart_isPricedLikeTheRegisters() {
+        List<MenuItem> items = CartReader.fromJson("{\"items\": ["
+                + "{\"kind\": \"coffee\", \"size\": \"grande\", \"quantity\": 2, \"addIns\": [\"Mocha\", \"Caramel\"]},"
+                + "{\"kind\": \"Sandwich\", \"protein\": \"Chicken\", \"bread\": \"Bagel\", \"addOns\": [\"Cheese\"]},"
+                + "{\"kind\": \"donut\", \"flavor\": \"glazed\", \"quantity\": 6}]}");
+
+        Coffee coffee = new Coffee(CupSize.GRANDE, 2);
+        coffee.addAddIn(AddIn.MOCHA);
+        coffee.addAddIn(AddIn.CARAMEL);
+        Sandwich sandwich = new Sandwich(Protein.CHICKEN, Bread.BAGEL);
+        sandwich.addAddOn(AddIn.CHEESE);
+        Donut donut = new Donut(DonutFlavor.GLAZED);
+        donut.setQuantity(6);
+        List<MenuItem> expected = Arrays.<MenuItem>asList(coffee, sandwich, donut);
+
+        assertEquals(expected.size(), items.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), items.get(i).toString());
+            assertEquals(expected.get(i).priceCents(), items.get(i).priceCents());
+        }
+    }
+
+    @Test
+    public void binaryCart_isRepricedFromTheMenu() {
+        Donut underpriced = new Donut(DonutFlavor.JELLY, 1L);
+        underpriced.setQuantity(3);
+        List<MenuItem> items = CartReader.fromBinary(OrderCodec.encodeCart(Arrays.<MenuItem>asList(underpriced)));
+
+        Donut donut = new Donut(DonutFlavor.JELLY);
+        donut.setQuantity(3);
+        assertEquals(donut.priceCents(), items.get(0).priceCents());
+    }
+
+    @Test
+    public void invalidCarts_areRejected() {
+        String[] carts = {
+                "[]",
+                "{\"items\": []}",
+                "{\"items\": [{\"kind\": \"bagel\"}]}",
+                "{\"items\": [{\"kind\": \"coffee\", \"size\": \"Huge\"}]}",
+                "{\"items\": [{\"kind\": \"coffee\", \"size\": \"Tall\", \"addIns\": [\"Onion\"]}]}",
+                "{\"items\": [{\"kind\": \"donut\", \"flavor\": \"glazed\", \"quantity\": 0}]}",
+                "{\"items\": [{\"kind\": \"donut\", \"flavor\": \"glazed\", \"quantity\": 1.5}]}",
+                "{\"items\": [{\"kind\": \"sandwich\", \"protein\": \"Fish\"}]}",
+                "{\"items\": [{\"kind\": \"donut\", \"flavor\": \"glazed\"}]",
+        };
+        for (String cart : carts) {
+            try {
+                CartReader.fromJson(cart);
+                fail("Accepted " + cart);
+            } catch (IllegalArgumentException expected) {
+                // rejected as it should be
+            }
+        }
+    }
+
+    @Test
+    public void optionsTheMenuDoesNotList_areRejected() throws IOException {
+        MenuCatalog menu = MenuCatalog.parse(new ByteArrayInputStream(("coffee.basePrice=250\n"
+                + "coffee.sizes=TALL:20\n"
+                + "coffee.addIns=MOCHA:45\n"
+                + "sandwich.proteins=FISH:1200\n"
+                + "sandwich.breads=SOUR_DOUGH\n"
+                + "sandwich.addOns=TOMATO:10\n"
+                + "donut.flavors=GLAZED:99:glazed\n").getBytes("UTF-8")));
+        assertNotNull(CartReader.checked(new Coffee(CupSize.TALL, 1), menu));
+        assertNotNull(CartReader.checked(new Sandwich(Protein.FISH, Bread.SOUR_DOUGH), menu));
+        MenuItem[] unlisted = {
+                new Coffee(CupSize.VENTI, 1),
+                new Sandwich(Protein.BEEF, Bread.SOUR_DOUGH),
+                new Sandwich(Protein.FISH, Bread.BAGEL),
+                new Donut(DonutFlavor.JELLY),
+        };
+        for (MenuItem item : unlisted) {
+            try {
+                CartReader.checked(item, menu);
+                fail("Accepted " + item);
+            } catch (IllegalArgumentException expected) {
+                // not on this menu
+            }
+        }
+    }
+
+    @Test
+    public void jsonEscapesAndNumbers_areRead() {
+        Object value = Json.parse("{\"a\": [\"q\\\"\\u0041\", -12, 2.5e1, true, null]}");
+        assertEquals("{a=[q\"A, -12, 25.0, true, null]}", value.toString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.rutgerscafe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for taking orders over HTTP.
+ */
+public class OrderIntakeServerTest {
+    private OrderSingleton store;
+    private OrderIntakeServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        store = new OrderSingleton();
+        server = new OrderIntakeServer(store, new InetSocketAddress("localhost", 0), 2);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void jsonAndBinaryCarts_arePlacedInTheStore() throws Exception {
+        String[] response = new String[1];
+        assertEquals(201, post("application/json",
+                "{\"items\": [{\"kind\": \"donut\", \"flavor\": \"glazed\", \"quantity\": 2}]}".getBytes("UTF-8"),
+                response));
+        Donut donut = new Donut(DonutFlavor.GLAZED);
+        donut.setQuantity(2);
+        Order expected = new Order();
+        expected.addMenuItem(donut);
+        assertTrue(response[0], response[0].contains("\"totalCents\":" + expected.getTotalCents()));
+
+        byte[] cart = OrderCodec.encodeCart(Arrays.<MenuItem>asList(new Coffee(CupSize.TALL, 1),
+                new Sandwich(Protein.BEEF, Bread.WHEAT_BREAD)));
+        assertEquals(201, post("application/octet-stream", cart, response));
+        assertTrue(response[0], response[0].contains("\"items\":2"));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void badRequests_areRefusedWithoutPlacingAnything() throws Exception {
+        String[] response = new String[1];
+        assertEquals(400, post("application/json", "{\"items\": [{\"kind\": \"pizza\"}]}".getBytes("UTF-8"), response));
+        assertTrue(response[0], response[0].startsWith("{\"error\":"));
+        assertEquals(415, post("text/plain", "coffee".getBytes("UTF-8"), response));
+        assertEquals(413, post("application/json", new byte[OrderIntakeServer.MAX_BODY_BYTES + 1], response));
+        assertEquals(0, store.size());
+    }
+
+    private int post(String contentType, byte[] body, String[] response) throws IOException {
+        URL url = new URL("http://localhost:" + server.getPort() + OrderIntakeServer.PATH);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", contentType);
+        connection.setFixedLengthStreamingMode(body.length);
+        OutputStream out = connection.getOutputStream();
+        try {
+            out.write(body);
+            out.close();
+        } catch (IOException e) {
+            // the server may answer and close before reading a body it refuses
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (in != null) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            in.close();
+        }
+        response[0] = bytes.toString("UTF-8");
+        return status;
+    }
+}
@@ -21,3 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "RutgersCafe"
 include(":app")
+include(":core")
+include(":server")
+include(":benchmarks")